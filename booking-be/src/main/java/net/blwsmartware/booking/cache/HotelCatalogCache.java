@@ -0,0 +1,125 @@
+package net.blwsmartware.booking.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import net.blwsmartware.booking.datasource.ReadWriteRoutingDataSource;
+import net.blwsmartware.booking.dto.response.CacheStatsResponse;
+import net.blwsmartware.booking.dto.response.DataResponse;
+import net.blwsmartware.booking.dto.response.HotelResponse;
+import net.blwsmartware.booking.event.CatalogImportedEvent;
+import net.blwsmartware.booking.event.HotelChangedEvent;
+import net.blwsmartware.booking.event.HotelsChangedEvent;
+import net.blwsmartware.booking.event.ReviewChangedEvent;
+import net.blwsmartware.booking.event.ReviewsModeratedEvent;
+import net.blwsmartware.booking.event.RoomTypeChangedEvent;
+import net.blwsmartware.booking.util.BoundedCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for the public hotel catalog: single hotels by id and whole listing pages.
+ * Entries are dropped after the writing transaction commits, so readers never re-cache old rows. Entries have no
+ * expiry, so with a replica configured the loaders read from the primary: the first reader after a write is
+ * usually not the writer and would otherwise cache the replica's lagging row indefinitely.
+ */
+@Component
+@Slf4j
+public class HotelCatalogCache {
+
+    private final BoundedCache<UUID, HotelResponse> hotels;
+    private final BoundedCache<String, DataResponse<HotelResponse>> pages;
+    // Null without a replica, loaders then simply join the caller's transaction
+    private final TransactionTemplate primaryLoads;
+
+    public HotelCatalogCache(@Value("${config.cache.hotel.max-hotels}") int maxHotels,
+                             @Value("${config.cache.hotel.max-pages}") int maxPages,
+                             @Value("${config.datasource.replica.url:}") String replicaUrl,
+                             PlatformTransactionManager transactionManager) {
+        this.hotels = new BoundedCache<>("hotels", maxHotels);
+        this.pages = new BoundedCache<>("hotel-pages", maxPages);
+        if (replicaUrl.isBlank()) {
+            this.primaryLoads = null;
+        } else {
+            // A new transaction, so its connection is picked while the primary is forced
+            this.primaryLoads = new TransactionTemplate(transactionManager);
+            this.primaryLoads.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            this.primaryLoads.setReadOnly(true);
+        }
+    }
+
+    public HotelResponse getHotel(UUID id, Supplier<HotelResponse> loader) {
+        return hotels.get(id, onPrimary(loader));
+    }
+
+    public DataResponse<HotelResponse> getPage(String listing, Integer pageNumber, Integer pageSize, String sortBy,
+                                               Supplier<DataResponse<HotelResponse>> loader) {
+        String key = String.join("|", listing, String.valueOf(pageNumber), String.valueOf(pageSize), sortBy);
+        return pages.get(key, onPrimary(loader));
+    }
+
+    // Any hotel write can move hotels in or out of a listing, so every page goes
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHotelChanged(HotelChangedEvent event) {
+        log.debug("Evicting hotel {} and all cached pages", event.getHotelId());
+        hotels.invalidate(event.getHotelId());
+        pages.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHotelsChanged(HotelsChangedEvent event) {
+        log.debug("Evicting {} hotels and all cached pages", event.getHotelIds().size());
+        event.getHotelIds().forEach(hotels::invalidate);
+        pages.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomTypeChanged(RoomTypeChangedEvent event) {
+        evictEmbedding(event.getHotelId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        evictEmbedding(event.getHotelId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewsModerated(ReviewsModeratedEvent event) {
+        event.getHotelIds().forEach(hotels::invalidate);
+        pages.invalidateIf((key, page) -> page.getContent().stream()
+                .anyMatch(hotel -> event.getHotelIds().contains(hotel.getId())));
+    }
+
+    // Imported room types belong to many hotels, cheaper to start over than to evict one by one
+    @EventListener
+    public void onCatalogImported(CatalogImportedEvent event) {
+        log.debug("Clearing hotel cache after import {}", event.getJobId());
+        hotels.clear();
+        pages.clear();
+    }
+
+    public List<CacheStatsResponse> getStats() {
+        return List.of(CacheStatsResponse.from(hotels), CacheStatsResponse.from(pages));
+    }
+
+    private <T> Supplier<T> onPrimary(Supplier<T> loader) {
+        if (primaryLoads == null) {
+            return loader;
+        }
+        return () -> ReadWriteRoutingDataSource.readFromPrimary(() -> primaryLoads.execute(status -> loader.get()));
+    }
+
+    // Room types and reviews are embedded in the hotel response, membership of listings is unchanged
+    private void evictEmbedding(UUID hotelId) {
+        hotels.invalidate(hotelId);
+        pages.invalidateIf((key, page) -> page.getContent().stream()
+                .anyMatch(hotel -> hotelId.equals(hotel.getId())));
+    }
+}
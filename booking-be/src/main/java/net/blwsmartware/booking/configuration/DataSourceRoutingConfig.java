@@ -0,0 +1,67 @@
+package net.blwsmartware.booking.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import net.blwsmartware.booking.datasource.ReadWriteRoutingDataSource;
+import net.blwsmartware.booking.datasource.ReadYourWritesTracker;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+// Only active when a replica URL is configured, otherwise Spring Boot's single datasource is used
+@Configuration
+@ConditionalOnProperty(name = "config.datasource.replica.url")
+@Slf4j
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                       @Value("${config.datasource.replica.url}") String url,
+                                       @Value("${config.datasource.replica.username}") String username,
+                                       @Value("${config.datasource.replica.password}") String password,
+                                       @Value("${config.datasource.replica.pool-size}") int poolSize,
+                                       @Value("${spring.datasource.hikari.connection-timeout}") long connectionTimeout) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMaximumPoolSize(poolSize);
+        dataSource.setConnectionTimeout(connectionTimeout);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                          @Qualifier("replicaDataSource") DataSource replica,
+                          @Value("${config.datasource.replica.read-your-writes-ms}") long readYourWritesMillis) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(new ReadYourWritesTracker(readYourWritesMillis));
+        routing.setTargetDataSources(Map.of(
+                ReadWriteRoutingDataSource.PRIMARY, primary,
+                ReadWriteRoutingDataSource.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        log.info("Read-only transactions are routed to the replica datasource");
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -0,0 +1,10 @@
+package net.blwsmartware.booking.constant;
+
+public interface BookingStatus {
+    // Rooms are taken from inventory but the guest has not confirmed yet
+    String HELD = "HELD";
+    String CONFIRMED = "CONFIRMED";
+    String CANCELLED = "CANCELLED";
+    // Hold ran out before confirmation, rooms went back to inventory
+    String EXPIRED = "EXPIRED";
+}
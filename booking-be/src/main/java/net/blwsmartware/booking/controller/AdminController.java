@@ -4,17 +4,32 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import jakarta.validation.Valid;
+import net.blwsmartware.booking.cache.HotelCatalogCache;
+import net.blwsmartware.booking.dto.request.JwtKeyRequest;
 import net.blwsmartware.booking.dto.response.AdminDashboardResponse;
+import net.blwsmartware.booking.dto.response.CacheStatsResponse;
+import net.blwsmartware.booking.dto.response.JwtKeysResponse;
+import net.blwsmartware.booking.dto.response.MailQueueStatsResponse;
+import net.blwsmartware.booking.dto.response.PasswordHashingStatsResponse;
+import net.blwsmartware.booking.mail.EmailOutboxDispatcher;
 import net.blwsmartware.booking.dto.response.MessageResponse;
-import net.blwsmartware.booking.service.HotelService;
-import net.blwsmartware.booking.service.ReviewService;
-import net.blwsmartware.booking.service.RoomTypeService;
-import net.blwsmartware.booking.service.UserService;
+import net.blwsmartware.booking.search.HotelFacetIndex;
+import net.blwsmartware.booking.security.JwtClaimsCache;
+import net.blwsmartware.booking.security.JwtTokenProvider;
+import net.blwsmartware.booking.security.LoginAttemptThrottle;
+import net.blwsmartware.booking.security.PasswordHashingService;
+import net.blwsmartware.booking.security.UserDetailsCache;
+import net.blwsmartware.booking.service.AdminDashboardService;
+import net.blwsmartware.booking.service.HotelStatisticsService;
 import net.blwsmartware.booking.validator.IsAdmin;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @RestController
 @RequestMapping("/admin")
 @RequiredArgsConstructor
@@ -22,49 +37,26 @@ import org.springframework.web.bind.annotation.*;
 @Slf4j
 public class AdminController {
     
-    HotelService hotelService;
-    RoomTypeService roomTypeService;
-    ReviewService reviewService;
-    UserService userService;
+    AdminDashboardService adminDashboardService;
+    HotelCatalogCache hotelCatalogCache;
+    JwtClaimsCache jwtClaimsCache;
+    UserDetailsCache userDetailsCache;
+    HotelFacetIndex hotelFacetIndex;
+    JwtTokenProvider jwtTokenProvider;
+    EmailOutboxDispatcher emailOutboxDispatcher;
+    PasswordHashingService passwordHashingService;
+    LoginAttemptThrottle loginAttemptThrottle;
+    HotelStatisticsService hotelStatisticsService;
     
     @GetMapping("/dashboard")
     @IsAdmin
     public ResponseEntity<MessageResponse<AdminDashboardResponse>> getDashboardStats() {
         log.info("Getting admin dashboard statistics");
         
-        // Get all statistics
-        Long totalHotels = hotelService.getTotalHotelsCount();
-        Long activeHotels = hotelService.getActiveHotelsCount();
-        Long featuredHotels = hotelService.getFeaturedHotelsCount();
-        
-        Long totalRoomTypes = roomTypeService.getTotalRoomTypesCount();
-        Long activeRoomTypes = roomTypeService.getActiveRoomTypesCount();
-        
-        Long totalReviews = reviewService.getTotalReviewsCount();
-        Long approvedReviews = reviewService.getApprovedReviewsCount();
-        Long verifiedReviews = reviewService.getVerifiedReviewsCount();
-        
-        Long totalUsers = userService.getTotalUsersCount();
-        
-        AdminDashboardResponse dashboard = AdminDashboardResponse.builder()
-                .totalHotels(totalHotels)
-                .activeHotels(activeHotels)
-                .featuredHotels(featuredHotels)
-                .inactiveHotels(totalHotels - activeHotels)
-                .totalRoomTypes(totalRoomTypes)
-                .activeRoomTypes(activeRoomTypes)
-                .inactiveRoomTypes(totalRoomTypes - activeRoomTypes)
-                .totalReviews(totalReviews)
-                .approvedReviews(approvedReviews)
-                .verifiedReviews(verifiedReviews)
-                .pendingReviews(totalReviews - approvedReviews)
-                .totalUsers(totalUsers)
-                .build();
-        
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body(MessageResponse.<AdminDashboardResponse>builder()
-                        .result(dashboard)
+                        .result(adminDashboardService.getDashboard())
                         .build());
     }
     
@@ -73,21 +65,10 @@ public class AdminController {
     public ResponseEntity<MessageResponse<AdminDashboardResponse.HotelStats>> getHotelStats() {
         log.info("Getting hotel statistics");
         
-        Long totalHotels = hotelService.getTotalHotelsCount();
-        Long activeHotels = hotelService.getActiveHotelsCount();
-        Long featuredHotels = hotelService.getFeaturedHotelsCount();
-        
-        AdminDashboardResponse.HotelStats stats = AdminDashboardResponse.HotelStats.builder()
-                .totalHotels(totalHotels)
-                .activeHotels(activeHotels)
-                .featuredHotels(featuredHotels)
-                .inactiveHotels(totalHotels - activeHotels)
-                .build();
-        
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body(MessageResponse.<AdminDashboardResponse.HotelStats>builder()
-                        .result(stats)
+                        .result(adminDashboardService.getHotelStats())
                         .build());
     }
     
@@ -96,19 +77,10 @@ public class AdminController {
     public ResponseEntity<MessageResponse<AdminDashboardResponse.RoomTypeStats>> getRoomTypeStats() {
         log.info("Getting room type statistics");
         
-        Long totalRoomTypes = roomTypeService.getTotalRoomTypesCount();
-        Long activeRoomTypes = roomTypeService.getActiveRoomTypesCount();
-        
-        AdminDashboardResponse.RoomTypeStats stats = AdminDashboardResponse.RoomTypeStats.builder()
-                .totalRoomTypes(totalRoomTypes)
-                .activeRoomTypes(activeRoomTypes)
-                .inactiveRoomTypes(totalRoomTypes - activeRoomTypes)
-                .build();
-        
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body(MessageResponse.<AdminDashboardResponse.RoomTypeStats>builder()
-                        .result(stats)
+                        .result(adminDashboardService.getRoomTypeStats())
                         .build());
     }
     
@@ -117,21 +89,10 @@ public class AdminController {
     public ResponseEntity<MessageResponse<AdminDashboardResponse.ReviewStats>> getReviewStats() {
         log.info("Getting review statistics");
         
-        Long totalReviews = reviewService.getTotalReviewsCount();
-        Long approvedReviews = reviewService.getApprovedReviewsCount();
-        Long verifiedReviews = reviewService.getVerifiedReviewsCount();
-        
-        AdminDashboardResponse.ReviewStats stats = AdminDashboardResponse.ReviewStats.builder()
-                .totalReviews(totalReviews)
-                .approvedReviews(approvedReviews)
-                .verifiedReviews(verifiedReviews)
-                .pendingReviews(totalReviews - approvedReviews)
-                .build();
-        
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body(MessageResponse.<AdminDashboardResponse.ReviewStats>builder()
-                        .result(stats)
+                        .result(adminDashboardService.getReviewStats())
                         .build());
     }
     
@@ -140,16 +101,99 @@ public class AdminController {
     public ResponseEntity<MessageResponse<AdminDashboardResponse.UserStats>> getUserStats() {
         log.info("Getting user statistics");
         
-        Long totalUsers = userService.getTotalUsersCount();
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(MessageResponse.<AdminDashboardResponse.UserStats>builder()
+                        .result(adminDashboardService.getUserStats())
+                        .build());
+    }
+    
+    @GetMapping("/stats/cache")
+    @IsAdmin
+    public ResponseEntity<MessageResponse<List<CacheStatsResponse>>> getCacheStats() {
+        log.info("Getting cache statistics");
+        
+        List<CacheStatsResponse> stats = new ArrayList<>(hotelCatalogCache.getStats());
+        stats.add(jwtClaimsCache.getStats());
+        stats.add(userDetailsCache.getStats());
+        stats.add(hotelFacetIndex.getStats());
         
-        AdminDashboardResponse.UserStats stats = AdminDashboardResponse.UserStats.builder()
-                .totalUsers(totalUsers)
-                .build();
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(MessageResponse.<List<CacheStatsResponse>>builder()
+                        .result(stats)
+                        .build());
+    }
+    
+    @GetMapping("/stats/mail")
+    @IsAdmin
+    public ResponseEntity<MessageResponse<MailQueueStatsResponse>> getMailStats() {
+        log.info("Getting mail queue statistics");
         
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(MessageResponse.<AdminDashboardResponse.UserStats>builder()
+                .body(MessageResponse.<MailQueueStatsResponse>builder()
+                        .result(emailOutboxDispatcher.getStats())
+                        .build());
+    }
+    
+    @GetMapping("/stats/password-hashing")
+    @IsAdmin
+    public ResponseEntity<MessageResponse<PasswordHashingStatsResponse>> getPasswordHashingStats() {
+        log.info("Getting password hashing statistics");
+        
+        PasswordHashingStatsResponse stats = passwordHashingService.getStats();
+        stats.setThrottledLogins(loginAttemptThrottle.getThrottled());
+        
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(MessageResponse.<PasswordHashingStatsResponse>builder()
                         .result(stats)
                         .build());
     }
-} 
\ No newline at end of file
+    
+    // Runs the nightly review statistics repair now, returns the number of hotels fixed
+    @PostMapping("/stats/reviews/repair")
+    @IsAdmin
+    public ResponseEntity<MessageResponse<Integer>> repairReviewStatistics() {
+        log.info("Repairing review statistics");
+        
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(MessageResponse.<Integer>builder()
+                        .result(hotelStatisticsService.repairReviewStatistics())
+                        .build());
+    }
+    
+    @GetMapping("/jwt-keys")
+    @IsAdmin
+    public ResponseEntity<MessageResponse<JwtKeysResponse>> getJwtKeys() {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(MessageResponse.<JwtKeysResponse>builder()
+                        .result(jwtTokenProvider.getKeys())
+                        .build());
+    }
+    
+    @PostMapping("/jwt-keys")
+    @IsAdmin
+    public ResponseEntity<MessageResponse<JwtKeysResponse>> rotateJwtKey(@RequestBody @Valid JwtKeyRequest request) {
+        log.info("Rotating JWT signing key to {}", request.getKeyId());
+        
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(MessageResponse.<JwtKeysResponse>builder()
+                        .result(jwtTokenProvider.rotateKey(request))
+                        .build());
+    }
+    
+    @DeleteMapping("/jwt-keys/{keyId}")
+    @IsAdmin
+    public ResponseEntity<?> removeJwtKey(@PathVariable String keyId) {
+        log.info("Removing JWT verification key {}", keyId);
+        
+        jwtTokenProvider.removeKey(keyId);
+        
+        return ResponseEntity.noContent().build();
+    }
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package net.blwsmartware.booking.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -92,12 +93,13 @@ public class AuthenController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<MessageResponse<AuthenResponse>> authen(@RequestBody AuthenRequest authen) {
+    public ResponseEntity<MessageResponse<AuthenResponse>> authen(@RequestBody AuthenRequest authen,
+                                                                  HttpServletRequest httpRequest) {
                 return ResponseEntity
                 .status(HttpStatus.OK)
                 .body(MessageResponse.<AuthenResponse>
                                 builder()
-                        .result(authenService.authentication(authen))
+                        .result(authenService.authentication(authen, httpRequest.getRemoteAddr()))
                         .build()
                 );
 
@@ -0,0 +1,76 @@
+package net.blwsmartware.booking.controller;
+
+import jakarta.validation.Valid;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import net.blwsmartware.booking.constant.PagePrepare;
+import net.blwsmartware.booking.dto.request.BookingCreateRequest;
+import net.blwsmartware.booking.dto.response.BookingResponse;
+import net.blwsmartware.booking.dto.response.DataResponse;
+import net.blwsmartware.booking.dto.response.MessageResponse;
+import net.blwsmartware.booking.service.BookingService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/bookings")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class BookingController {
+
+    BookingService bookingService;
+
+    @PostMapping
+    public ResponseEntity<MessageResponse<BookingResponse>> holdBooking(@Valid @RequestBody BookingCreateRequest request) {
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(MessageResponse.<BookingResponse>builder()
+                        .result(bookingService.hold(request))
+                        .build());
+    }
+
+    @PostMapping("/{id}/confirm")
+    public ResponseEntity<MessageResponse<BookingResponse>> confirmBooking(@PathVariable UUID id) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(MessageResponse.<BookingResponse>builder()
+                        .result(bookingService.confirm(id))
+                        .build());
+    }
+
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<MessageResponse<BookingResponse>> cancelBooking(@PathVariable UUID id) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(MessageResponse.<BookingResponse>builder()
+                        .result(bookingService.cancel(id))
+                        .build());
+    }
+
+    @GetMapping("/my")
+    public ResponseEntity<MessageResponse<DataResponse<BookingResponse>>> getMyBookings(
+            @RequestParam(value = "pageNumber", defaultValue = PagePrepare.PAGE_NUMBER, required = false) Integer pageNumber,
+            @RequestParam(value = "pageSize", defaultValue = PagePrepare.PAGE_SIZE, required = false) Integer pageSize,
+            @RequestParam(value = "sortBy", defaultValue = "createdAt", required = false) String sortBy) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(MessageResponse.<DataResponse<BookingResponse>>builder()
+                        .result(bookingService.getMyBookings(pageNumber, pageSize, sortBy))
+                        .build());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<MessageResponse<BookingResponse>> getBookingById(@PathVariable UUID id) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(MessageResponse.<BookingResponse>builder()
+                        .result(bookingService.getBookingById(id))
+                        .build());
+    }
+}
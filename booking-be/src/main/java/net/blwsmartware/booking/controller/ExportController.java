@@ -0,0 +1,82 @@
+package net.blwsmartware.booking.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import net.blwsmartware.booking.exception.AppException;
+import net.blwsmartware.booking.exception.ErrorCode;
+import net.blwsmartware.booking.exporter.ExportWriter;
+import net.blwsmartware.booking.service.CatalogExportService;
+import net.blwsmartware.booking.validator.IsAdmin;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+// Full-table downloads for admins, written to the response while the rows are read
+@RestController
+@RequestMapping("/admin/exports")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class ExportController {
+
+    CatalogExportService catalogExportService;
+
+    @GetMapping("/hotels")
+    @IsAdmin
+    public void exportHotels(@RequestParam(value = "format", defaultValue = "ndjson") String format,
+                             @RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+                             HttpServletResponse response) throws IOException {
+        export("hotels", format, gzip, response, catalogExportService::exportHotels);
+    }
+
+    @GetMapping("/room-types")
+    @IsAdmin
+    public void exportRoomTypes(@RequestParam(value = "format", defaultValue = "ndjson") String format,
+                                @RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+                                HttpServletResponse response) throws IOException {
+        export("room-types", format, gzip, response, catalogExportService::exportRoomTypes);
+    }
+
+    @GetMapping("/reviews")
+    @IsAdmin
+    public void exportReviews(@RequestParam(value = "format", defaultValue = "ndjson") String format,
+                              @RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+                              HttpServletResponse response) throws IOException {
+        export("reviews", format, gzip, response, catalogExportService::exportReviews);
+    }
+
+    // Written on the request thread rather than as an async StreamingResponseBody, so the async request timeout
+    // never cuts off a long export
+    private void export(String name, String format, boolean gzip, HttpServletResponse response, Exporter exporter)
+            throws IOException {
+        String normalizedFormat = format.trim().toLowerCase(Locale.ROOT);
+        if (!ExportWriter.isSupported(normalizedFormat)) {
+            throw new AppException(ErrorCode.EXPORT_FORMAT_UNSUPPORTED);
+        }
+        String fileName = name + "." + normalizedFormat + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? "application/gzip" : ExportWriter.contentType(normalizedFormat));
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+
+        OutputStream out = response.getOutputStream();
+        if (gzip) {
+            GZIPOutputStream compressed = new GZIPOutputStream(out, 8192);
+            exporter.export(compressed, normalizedFormat);
+            compressed.finish();
+        } else {
+            exporter.export(out, normalizedFormat);
+        }
+        out.flush();
+    }
+
+    @FunctionalInterface
+    private interface Exporter {
+        long export(OutputStream out, String format) throws IOException;
+    }
+}
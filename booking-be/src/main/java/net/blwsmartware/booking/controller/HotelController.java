@@ -6,19 +6,25 @@ import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import net.blwsmartware.booking.constant.PagePrepare;
+import net.blwsmartware.booking.dto.request.BulkHotelFlagRequest;
 import net.blwsmartware.booking.dto.request.HotelCreateRequest;
 import net.blwsmartware.booking.dto.request.HotelUpdateRequest;
+import net.blwsmartware.booking.dto.response.BulkUpdateResponse;
 import net.blwsmartware.booking.dto.response.DataResponse;
 import net.blwsmartware.booking.dto.response.HotelResponse;
 import net.blwsmartware.booking.dto.response.MessageResponse;
+import net.blwsmartware.booking.dto.response.SuggestionResponse;
 import net.blwsmartware.booking.service.HotelService;
 import net.blwsmartware.booking.validator.IsAdmin;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -36,9 +42,11 @@ public class HotelController {
     public ResponseEntity<MessageResponse<DataResponse<HotelResponse>>> getAllHotels(
             @RequestParam(defaultValue = PagePrepare.PAGE_NUMBER) Integer pageNumber,
             @RequestParam(defaultValue = PagePrepare.PAGE_SIZE) Integer pageSize,
-            @RequestParam(defaultValue = PagePrepare.SORT_BY) String sortBy) {
+            @RequestParam(defaultValue = PagePrepare.SORT_BY) String sortBy,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") Boolean skipCount) {
         
-        DataResponse<HotelResponse> response = hotelService.getAllHotels(pageNumber, pageSize, sortBy);
+        DataResponse<HotelResponse> response = hotelService.getAllHotels(pageNumber, pageSize, sortBy, cursor, skipCount);
         
         // Debug logging
         log.info("=== HOTEL RESPONSE DEBUG ===");
@@ -71,10 +79,12 @@ public class HotelController {
             @RequestParam(required = false) BigDecimal maxPrice,
             @RequestParam(defaultValue = PagePrepare.PAGE_NUMBER) Integer pageNumber,
             @RequestParam(defaultValue = PagePrepare.PAGE_SIZE) Integer pageSize,
-            @RequestParam(defaultValue = PagePrepare.SORT_BY) String sortBy) {
+            @RequestParam(defaultValue = PagePrepare.SORT_BY) String sortBy,
+            @RequestParam(defaultValue = "false") Boolean facets) {
         
         DataResponse<HotelResponse> response = hotelService.getAllHotelsWithFilters(
-                city, country, starRating, isActive, isFeatured, minPrice, maxPrice, pageNumber, pageSize, sortBy);
+                city, country, starRating, isActive, isFeatured, minPrice, maxPrice, pageNumber, pageSize, sortBy,
+                facets);
         
         return ResponseEntity.ok()
                 .contentType(MediaType.APPLICATION_JSON)
@@ -150,6 +160,30 @@ public class HotelController {
                         .build());
     }
     
+    @PostMapping("/admin/bulk/status")
+    @IsAdmin
+    public ResponseEntity<MessageResponse<BulkUpdateResponse>> bulkSetHotelStatus(
+            @Valid @RequestBody BulkHotelFlagRequest request) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(MessageResponse.<BulkUpdateResponse>builder()
+                        .message("Hotel status updated")
+                        .result(hotelService.bulkSetHotelStatus(request))
+                        .build());
+    }
+    
+    @PostMapping("/admin/bulk/featured")
+    @IsAdmin
+    public ResponseEntity<MessageResponse<BulkUpdateResponse>> bulkSetHotelFeatured(
+            @Valid @RequestBody BulkHotelFlagRequest request) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(MessageResponse.<BulkUpdateResponse>builder()
+                        .message("Hotel featured status updated")
+                        .result(hotelService.bulkSetHotelFeatured(request))
+                        .build());
+    }
+    
     @GetMapping("/admin/owner/{ownerId}")
     @IsAdmin
     public ResponseEntity<MessageResponse<DataResponse<HotelResponse>>> getHotelsByOwner(
@@ -239,9 +273,10 @@ public class HotelController {
             @RequestParam String keyword,
             @RequestParam(defaultValue = PagePrepare.PAGE_NUMBER) Integer pageNumber,
             @RequestParam(defaultValue = PagePrepare.PAGE_SIZE) Integer pageSize,
-            @RequestParam(defaultValue = "name") String sortBy) {
+            @RequestParam(defaultValue = "relevance") String sortBy,
+            @RequestParam(defaultValue = "false") Boolean facets) {
         
-        DataResponse<HotelResponse> response = hotelService.searchHotels(keyword, pageNumber, pageSize, sortBy);
+        DataResponse<HotelResponse> response = hotelService.searchHotels(keyword, pageNumber, pageSize, sortBy, facets);
         
         return ResponseEntity.ok()
                 .contentType(MediaType.APPLICATION_JSON)
@@ -251,6 +286,20 @@ public class HotelController {
                         .build());
     }
     
+    @GetMapping("/suggest")
+    public ResponseEntity<MessageResponse<List<SuggestionResponse>>> getSuggestions(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") Integer limit) {
+        
+        List<SuggestionResponse> response = hotelService.getSuggestions(prefix, limit);
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(MessageResponse.<List<SuggestionResponse>>builder()
+                        .result(response)
+                        .build());
+    }
+    
     @GetMapping("/city/{city}")
     public ResponseEntity<MessageResponse<DataResponse<HotelResponse>>> getHotelsByCity(
             @PathVariable String city,
@@ -357,7 +406,7 @@ public class HotelController {
             @RequestParam(defaultValue = "10.0") Double radiusKm,
             @RequestParam(defaultValue = PagePrepare.PAGE_NUMBER) Integer pageNumber,
             @RequestParam(defaultValue = PagePrepare.PAGE_SIZE) Integer pageSize,
-            @RequestParam(defaultValue = "name") String sortBy) {
+            @RequestParam(defaultValue = "distance") String sortBy) {
         
         DataResponse<HotelResponse> response = hotelService.getHotelsNearLocation(
                 latitude, longitude, radiusKm, pageNumber, pageSize, sortBy);
@@ -369,4 +418,41 @@ public class HotelController {
                         .result(response)
                         .build());
     }
-} 
\ No newline at end of file
+    
+    @GetMapping("/nearest")
+    public ResponseEntity<MessageResponse<List<HotelResponse>>> getNearestHotels(
+            @RequestParam Double latitude,
+            @RequestParam Double longitude,
+            @RequestParam(defaultValue = "10") Integer k) {
+        
+        List<HotelResponse> response = hotelService.getNearestHotels(latitude, longitude, k);
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(MessageResponse.<List<HotelResponse>>builder()
+                        .message("Nearest hotels retrieved successfully")
+                        .result(response)
+                        .build());
+    }
+    
+    @GetMapping("/available")
+    public ResponseEntity<MessageResponse<DataResponse<HotelResponse>>> getAvailableHotels(
+            @RequestParam(required = false) String city,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut,
+            @RequestParam(defaultValue = "1") Integer guests,
+            @RequestParam(defaultValue = PagePrepare.PAGE_NUMBER) Integer pageNumber,
+            @RequestParam(defaultValue = PagePrepare.PAGE_SIZE) Integer pageSize,
+            @RequestParam(defaultValue = "name") String sortBy) {
+        
+        DataResponse<HotelResponse> response = hotelService.getAvailableHotels(
+                city, checkIn, checkOut, guests, pageNumber, pageSize, sortBy);
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(MessageResponse.<DataResponse<HotelResponse>>builder()
+                        .message("Available hotels retrieved successfully")
+                        .result(response)
+                        .build());
+    }
+}
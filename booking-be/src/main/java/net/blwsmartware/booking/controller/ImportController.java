@@ -0,0 +1,85 @@
+package net.blwsmartware.booking.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import net.blwsmartware.booking.dto.response.ImportJobResponse;
+import net.blwsmartware.booking.dto.response.MessageResponse;
+import net.blwsmartware.booking.exception.AppException;
+import net.blwsmartware.booking.exception.ErrorCode;
+import net.blwsmartware.booking.service.CatalogImportService;
+import net.blwsmartware.booking.validator.IsAdmin;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.UUID;
+
+// Bulk catalog imports; the file is the raw request body, not a multipart upload
+@RestController
+@RequestMapping("/admin/imports")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class ImportController {
+
+    CatalogImportService catalogImportService;
+
+    @PostMapping("/hotels")
+    @IsAdmin
+    public ResponseEntity<MessageResponse<ImportJobResponse>> importHotels(
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            HttpServletRequest request) {
+        try (InputStream body = request.getInputStream()) {
+            return accepted(catalogImportService.startHotelImport(body, format));
+        } catch (IOException e) {
+            throw new AppException(ErrorCode.FILE_UPLOAD_FAILED);
+        }
+    }
+
+    @PostMapping("/room-types")
+    @IsAdmin
+    public ResponseEntity<MessageResponse<ImportJobResponse>> importRoomTypes(
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            HttpServletRequest request) {
+        try (InputStream body = request.getInputStream()) {
+            return accepted(catalogImportService.startRoomTypeImport(body, format));
+        } catch (IOException e) {
+            throw new AppException(ErrorCode.FILE_UPLOAD_FAILED);
+        }
+    }
+
+    @GetMapping
+    @IsAdmin
+    public ResponseEntity<MessageResponse<List<ImportJobResponse>>> getImports() {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(MessageResponse.<List<ImportJobResponse>>builder()
+                        .result(catalogImportService.getJobs())
+                        .build());
+    }
+
+    @GetMapping("/{id}")
+    @IsAdmin
+    public ResponseEntity<MessageResponse<ImportJobResponse>> getImport(@PathVariable UUID id) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(MessageResponse.<ImportJobResponse>builder()
+                        .result(catalogImportService.getJob(id))
+                        .build());
+    }
+
+    private ResponseEntity<MessageResponse<ImportJobResponse>> accepted(ImportJobResponse job) {
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(MessageResponse.<ImportJobResponse>builder()
+                        .message("Import queued")
+                        .result(job)
+                        .build());
+    }
+}
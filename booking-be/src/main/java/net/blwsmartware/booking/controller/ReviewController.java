@@ -6,9 +6,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import net.blwsmartware.booking.constant.PagePrepare;
+import net.blwsmartware.booking.dto.request.BulkReviewRequest;
 import net.blwsmartware.booking.dto.request.ReviewCreateRequest;
+import net.blwsmartware.booking.dto.response.BulkUpdateResponse;
 import net.blwsmartware.booking.dto.response.DataResponse;
+import net.blwsmartware.booking.dto.response.ReviewHelpfulResponse;
 import net.blwsmartware.booking.dto.response.MessageResponse;
+import net.blwsmartware.booking.dto.response.RatingDistributionResponse;
 import net.blwsmartware.booking.dto.response.ReviewResponse;
 import net.blwsmartware.booking.service.ReviewService;
 import net.blwsmartware.booking.validator.IsAdmin;
@@ -34,13 +38,15 @@ public class ReviewController {
     public ResponseEntity<MessageResponse<DataResponse<ReviewResponse>>> getAllReviews(
             @RequestParam(value = "pageNumber", defaultValue = PagePrepare.PAGE_NUMBER, required = false) Integer pageNumber,
             @RequestParam(value = "pageSize", defaultValue = PagePrepare.PAGE_SIZE, required = false) Integer pageSize,
-            @RequestParam(value = "sortBy", defaultValue = "createdAt", required = false) String sortBy) {
+            @RequestParam(value = "sortBy", defaultValue = "createdAt", required = false) String sortBy,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "skipCount", defaultValue = "false", required = false) Boolean skipCount) {
         
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(MessageResponse.<DataResponse<ReviewResponse>>builder()
-                        .result(reviewService.getAllReviews(pageNumber, pageSize, sortBy))
+                        .result(reviewService.getAllReviews(pageNumber, pageSize, sortBy, cursor, skipCount))
                         .build());
     }
     
@@ -101,6 +107,39 @@ public class ReviewController {
                         .build());
     }
     
+    @PostMapping("/admin/bulk/approve")
+    @IsAdmin
+    public ResponseEntity<MessageResponse<BulkUpdateResponse>> bulkApproveReviews(
+            @Valid @RequestBody BulkReviewRequest request) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(MessageResponse.<BulkUpdateResponse>builder()
+                        .result(reviewService.bulkApproveReviews(request))
+                        .build());
+    }
+    
+    @PostMapping("/admin/bulk/disapprove")
+    @IsAdmin
+    public ResponseEntity<MessageResponse<BulkUpdateResponse>> bulkDisapproveReviews(
+            @Valid @RequestBody BulkReviewRequest request) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(MessageResponse.<BulkUpdateResponse>builder()
+                        .result(reviewService.bulkDisapproveReviews(request))
+                        .build());
+    }
+    
+    @PostMapping("/admin/bulk/verify")
+    @IsAdmin
+    public ResponseEntity<MessageResponse<BulkUpdateResponse>> bulkVerifyReviews(
+            @Valid @RequestBody BulkReviewRequest request) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(MessageResponse.<BulkUpdateResponse>builder()
+                        .result(reviewService.bulkVerifyReviews(request))
+                        .build());
+    }
+    
     @GetMapping("/admin/user/{userId}")
     @IsAdmin
     public ResponseEntity<MessageResponse<DataResponse<ReviewResponse>>> getReviewsByUser(
@@ -183,13 +222,15 @@ public class ReviewController {
             @PathVariable UUID hotelId,
             @RequestParam(value = "pageNumber", defaultValue = PagePrepare.PAGE_NUMBER, required = false) Integer pageNumber,
             @RequestParam(value = "pageSize", defaultValue = PagePrepare.PAGE_SIZE, required = false) Integer pageSize,
-            @RequestParam(value = "sortBy", defaultValue = "createdAt", required = false) String sortBy) {
+            @RequestParam(value = "sortBy", defaultValue = "createdAt", required = false) String sortBy,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "skipCount", defaultValue = "false", required = false) Boolean skipCount) {
         
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(MessageResponse.<DataResponse<ReviewResponse>>builder()
-                        .result(reviewService.getReviewsByHotel(hotelId, pageNumber, pageSize, sortBy))
+                        .result(reviewService.getReviewsByHotel(hotelId, pageNumber, pageSize, sortBy, cursor, skipCount))
                         .build());
     }
     
@@ -198,13 +239,15 @@ public class ReviewController {
             @PathVariable UUID hotelId,
             @RequestParam(value = "pageNumber", defaultValue = PagePrepare.PAGE_NUMBER, required = false) Integer pageNumber,
             @RequestParam(value = "pageSize", defaultValue = PagePrepare.PAGE_SIZE, required = false) Integer pageSize,
-            @RequestParam(value = "sortBy", defaultValue = "createdAt", required = false) String sortBy) {
+            @RequestParam(value = "sortBy", defaultValue = "createdAt", required = false) String sortBy,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "skipCount", defaultValue = "false", required = false) Boolean skipCount) {
         
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(MessageResponse.<DataResponse<ReviewResponse>>builder()
-                        .result(reviewService.getApprovedReviewsByHotel(hotelId, pageNumber, pageSize, sortBy))
+                        .result(reviewService.getApprovedReviewsByHotel(hotelId, pageNumber, pageSize, sortBy, cursor, skipCount))
                         .build());
     }
     
@@ -232,6 +275,15 @@ public class ReviewController {
                         .build());
     }
     
+    @GetMapping("/hotel/{hotelId}/rating-distribution")
+    public ResponseEntity<MessageResponse<RatingDistributionResponse>> getRatingDistribution(@PathVariable UUID hotelId) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(MessageResponse.<RatingDistributionResponse>builder()
+                        .result(reviewService.getRatingDistribution(hotelId))
+                        .build());
+    }
+    
     @GetMapping("/rating/{rating}")
     public ResponseEntity<MessageResponse<DataResponse<ReviewResponse>>> getReviewsByRating(
             @PathVariable Integer rating,
@@ -252,7 +304,7 @@ public class ReviewController {
             @RequestParam String keyword,
             @RequestParam(value = "pageNumber", defaultValue = PagePrepare.PAGE_NUMBER, required = false) Integer pageNumber,
             @RequestParam(value = "pageSize", defaultValue = PagePrepare.PAGE_SIZE, required = false) Integer pageSize,
-            @RequestParam(value = "sortBy", defaultValue = "createdAt", required = false) String sortBy) {
+            @RequestParam(value = "sortBy", defaultValue = "relevance", required = false) String sortBy) {
         
         return ResponseEntity
                 .status(HttpStatus.OK)
@@ -283,6 +335,15 @@ public class ReviewController {
                         .build());
     }
     
+    @PostMapping("/{id}/helpful")
+    public ResponseEntity<MessageResponse<ReviewHelpfulResponse>> markHelpful(@PathVariable UUID id) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(MessageResponse.<ReviewHelpfulResponse>builder()
+                        .result(reviewService.markHelpful(id))
+                        .build());
+    }
+    
     @GetMapping("/my")
     public ResponseEntity<MessageResponse<DataResponse<ReviewResponse>>> getMyReviews(
             @RequestParam(value = "pageNumber", defaultValue = PagePrepare.PAGE_NUMBER, required = false) Integer pageNumber,
@@ -35,9 +35,11 @@ public class RoomTypeController {
     public ResponseEntity<MessageResponse<DataResponse<RoomTypeResponse>>> getAllRoomTypes(
             @RequestParam(defaultValue = PagePrepare.PAGE_NUMBER) Integer pageNumber,
             @RequestParam(defaultValue = PagePrepare.PAGE_SIZE) Integer pageSize,
-            @RequestParam(defaultValue = PagePrepare.SORT_BY) String sortBy) {
+            @RequestParam(defaultValue = PagePrepare.SORT_BY) String sortBy,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") Boolean skipCount) {
         
-        DataResponse<RoomTypeResponse> response = roomTypeService.getAllRoomTypes(pageNumber, pageSize, sortBy);
+        DataResponse<RoomTypeResponse> response = roomTypeService.getAllRoomTypes(pageNumber, pageSize, sortBy, cursor, skipCount);
         
         return ResponseEntity.ok()
                 .contentType(MediaType.APPLICATION_JSON)
@@ -233,7 +235,7 @@ public class RoomTypeController {
             @RequestParam String keyword,
             @RequestParam(defaultValue = PagePrepare.PAGE_NUMBER) Integer pageNumber,
             @RequestParam(defaultValue = PagePrepare.PAGE_SIZE) Integer pageSize,
-            @RequestParam(defaultValue = "name") String sortBy) {
+            @RequestParam(defaultValue = "relevance") String sortBy) {
         
         DataResponse<RoomTypeResponse> response = roomTypeService.searchRoomTypes(keyword, pageNumber, pageSize, sortBy);
         
@@ -15,12 +15,12 @@ import net.blwsmartware.booking.dto.response.MessageResponse;
 import net.blwsmartware.booking.dto.request.UserRequest;
 import net.blwsmartware.booking.dto.request.UserUpdate;
 import net.blwsmartware.booking.dto.response.UserResponse;
+import net.blwsmartware.booking.security.CurrentUserResolver;
 import net.blwsmartware.booking.service.UserService;
 import net.blwsmartware.booking.validator.IsAdmin;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.UUID;
@@ -33,6 +33,7 @@ import java.util.UUID;
 public class UserController {
 
     UserService userService;
+    CurrentUserResolver currentUserResolver;
 
     @PostMapping
     public ResponseEntity<MessageResponse<UserResponse>> createUser(@RequestBody @Valid  UserRequest request) {
@@ -48,12 +49,14 @@ public class UserController {
     public ResponseEntity<MessageResponse<DataResponse<UserResponse>>> getAllPageable(
             @RequestParam(value = "pageNumber",defaultValue = PagePrepare.PAGE_NUMBER,required = false) Integer pageNumber,
             @RequestParam(value = "pageSize", defaultValue = PagePrepare.PAGE_SIZE, required = false) Integer pageSize,
-            @RequestParam(value = "sortBy",defaultValue = PagePrepare.SORT_BY, required = false) String sortBy) {
+            @RequestParam(value = "sortBy",defaultValue = PagePrepare.SORT_BY, required = false) String sortBy,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "skipCount", defaultValue = "false", required = false) Boolean skipCount) {
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(MessageResponse.<DataResponse<UserResponse>>builder()
-                    .result(userService.getAll(pageNumber,pageSize,sortBy))
+                    .result(userService.getAll(pageNumber,pageSize,sortBy,cursor,skipCount))
                     .build()
                 );
     }
@@ -71,20 +74,17 @@ public class UserController {
 
     @GetMapping("/me")
     public ResponseEntity<MessageResponse<UserResponse>> me(){
-        var authentication = SecurityContextHolder.getContext().getAuthentication();
-
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body(MessageResponse.<UserResponse>builder()
-                    .result(userService.getUserByID(UUID.fromString(authentication.getName())))
+                    .result(userService.getUserByID(currentUserResolver.getUserId()))
                     .build()
                 );
     }
 
     @PutMapping("/profile")
     public ResponseEntity<MessageResponse<UserResponse>> updateMyProfile(@RequestBody @Valid ProfileUpdateRequest request) {
-        var authentication = SecurityContextHolder.getContext().getAuthentication();
-        UUID userId = UUID.fromString(authentication.getName());
+        UUID userId = currentUserResolver.getUserId();
         
         return ResponseEntity
                 .status(HttpStatus.OK)
@@ -107,8 +107,7 @@ public class UserController {
 
     @PutMapping("/me/password")
     public ResponseEntity<MessageResponse<UserResponse>> updateMyPassword(@RequestBody @Valid PasswordUpdateRequest request) {
-        var authentication = SecurityContextHolder.getContext().getAuthentication();
-        UUID userId = UUID.fromString(authentication.getName());
+        UUID userId = currentUserResolver.getUserId();
         
         return ResponseEntity
                 .status(HttpStatus.OK)
@@ -120,8 +119,7 @@ public class UserController {
 
     @PutMapping("/password")
     public ResponseEntity<MessageResponse<UserResponse>> updateMyPasswordAlternative(@RequestBody @Valid PasswordUpdateRequest request) {
-        var authentication = SecurityContextHolder.getContext().getAuthentication();
-        UUID userId = UUID.fromString(authentication.getName());
+        UUID userId = currentUserResolver.getUserId();
         
         return ResponseEntity
                 .status(HttpStatus.OK)
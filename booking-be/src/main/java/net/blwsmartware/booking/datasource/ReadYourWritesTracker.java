@@ -0,0 +1,40 @@
+package net.blwsmartware.booking.datasource;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers who wrote recently, so their reads stay on the primary until the replica has caught up.
+ * Per instance; a client bouncing between instances can still read a lagging replica.
+ */
+public class ReadYourWritesTracker {
+
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final long windowMillis;
+    private final Map<String, Long> recentWriters = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    public void wrote(String principal) {
+        long now = System.currentTimeMillis();
+        recentWriters.put(principal, now + windowMillis);
+        if (recentWriters.size() > PURGE_THRESHOLD) {
+            recentWriters.values().removeIf(until -> until <= now);
+        }
+    }
+
+    public boolean wroteRecently(String principal) {
+        Long until = recentWriters.get(principal);
+        if (until == null) {
+            return false;
+        }
+        if (until <= System.currentTimeMillis()) {
+            recentWriters.remove(principal, until);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,31 @@
+package net.blwsmartware.booking.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BookingCreateRequest {
+
+    @NotNull(message = "Room type ID is required")
+    UUID roomTypeId;
+
+    @NotNull(message = "Check-in date is required")
+    @FutureOrPresent(message = "Check-in date cannot be in the past")
+    LocalDate checkIn;
+
+    @NotNull(message = "Check-out date is required")
+    LocalDate checkOut;
+
+    @NotNull(message = "Number of rooms is required")
+    @Min(value = 1, message = "At least one room must be booked")
+    @Max(value = 10, message = "At most 10 rooms can be booked at once")
+    Integer rooms;
+}
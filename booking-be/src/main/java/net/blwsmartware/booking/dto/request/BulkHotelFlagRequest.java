@@ -0,0 +1,27 @@
+package net.blwsmartware.booking.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+import java.util.UUID;
+
+// Sets a flag to a value (rather than toggling it) on the listed hotels, or on all hotels matching the filters
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BulkHotelFlagRequest {
+
+    @Size(max = 10000, message = "At most 10000 ids per request")
+    List<UUID> ids;
+
+    UUID ownerId;
+
+    String city;
+
+    @NotNull(message = "Value is required")
+    Boolean value;
+}
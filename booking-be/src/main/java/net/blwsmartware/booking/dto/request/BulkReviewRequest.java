@@ -0,0 +1,30 @@
+package net.blwsmartware.booking.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+import java.util.UUID;
+
+// Either ids, or filters matched against all reviews; the flag being set is never a filter of its own action
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BulkReviewRequest {
+
+    @Size(max = 10000, message = "At most 10000 ids per request")
+    List<UUID> ids;
+
+    UUID hotelId;
+
+    @Min(value = 1, message = "Rating must be at least 1")
+    @Max(value = 5, message = "Rating cannot exceed 5")
+    Integer rating;
+
+    Boolean isApproved;
+
+    Boolean isVerified;
+}
@@ -0,0 +1,21 @@
+package net.blwsmartware.booking.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+public class JwtKeyRequest {
+
+    @NotBlank(message = "JWT_KEY_INVALID")
+    String keyId;
+
+    @NotBlank(message = "JWT_KEY_INVALID")
+    @Size(min = 32, message = "JWT_KEY_INVALID")
+    String secret;
+}
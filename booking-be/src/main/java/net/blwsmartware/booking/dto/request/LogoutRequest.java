@@ -10,4 +10,6 @@ import lombok.experimental.FieldDefaults;
 @AllArgsConstructor
 public class LogoutRequest {
     String refreshToken;
+    // Optional access token to revoke with the refresh token
+    String token;
 }
@@ -29,6 +29,8 @@ public class AdminDashboardResponse {
     
     // User statistics
     Long totalUsers;
+    Long activeUsers;
+    Long inactiveUsers;
     
     // Nested classes for specific statistics
     @Data
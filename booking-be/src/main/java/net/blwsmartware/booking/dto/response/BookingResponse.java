@@ -0,0 +1,35 @@
+package net.blwsmartware.booking.dto.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BookingResponse {
+    UUID id;
+    String status;
+    LocalDate checkIn;
+    LocalDate checkOut;
+    Integer rooms;
+    BigDecimal totalPrice;
+    // Only while the booking is held
+    Instant holdExpiresAt;
+
+    UUID roomTypeId;
+    String roomTypeName;
+    UUID hotelId;
+    String hotelName;
+    UUID userId;
+
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+}
@@ -0,0 +1,16 @@
+package net.blwsmartware.booking.dto.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BulkUpdateResponse {
+    // Number of ids sent, null when filters were used
+    Integer requested;
+    // Rows actually changed; rows already in the wanted state are not counted
+    long updated;
+}
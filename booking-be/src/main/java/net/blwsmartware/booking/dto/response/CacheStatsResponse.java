@@ -0,0 +1,35 @@
+package net.blwsmartware.booking.dto.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import net.blwsmartware.booking.util.BoundedCache;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class CacheStatsResponse {
+    String name;
+    int size;
+    int maxEntries;
+    long hits;
+    long misses;
+    long evictions;
+    double hitRate;
+
+    public static CacheStatsResponse from(BoundedCache<?, ?> cache) {
+        long hits = cache.getHits();
+        long misses = cache.getMisses();
+        long requests = hits + misses;
+        return CacheStatsResponse.builder()
+                .name(cache.getName())
+                .size(cache.size())
+                .maxEntries(cache.getMaxEntries())
+                .hits(hits)
+                .misses(misses)
+                .evictions(cache.getEvictions())
+                .hitRate(requests == 0 ? 0.0 : (double) hits / requests)
+                .build();
+    }
+}
@@ -1,9 +1,11 @@
 package net.blwsmartware.booking.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
 
 import java.util.List;
+import java.util.Map;
 
 @Getter
 @Setter
@@ -17,5 +19,11 @@ public class DataResponse<T> {
     int totalPages;
     boolean isLastPage;
     List<T> content;
+    // Cursor mode only: token for the next page
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    String nextCursor;
+    // Only when facets were requested: facet name -> value -> number of matching hotels
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    Map<String, Map<String, Long>> facets;
 
 }
@@ -1,5 +1,6 @@
 package net.blwsmartware.booking.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
 
@@ -46,6 +47,12 @@ public class HotelResponse {
     Integer availableRooms;
     Double averageRating;
     Integer totalReviews;
+    BigDecimal minRoomPrice;
+    BigDecimal maxRoomPrice;
+    
+    // Only set by location searches
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    Double distanceKm;
     
     // Room types (optional, for detailed view)
     List<RoomTypeResponse> roomTypes;
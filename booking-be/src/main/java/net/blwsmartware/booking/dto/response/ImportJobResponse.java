@@ -0,0 +1,42 @@
+package net.blwsmartware.booking.dto.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ImportJobResponse {
+    UUID id;
+    // "hotels" or "room-types"
+    String type;
+    String format;
+    // QUEUED, RUNNING, COMPLETED or FAILED
+    String status;
+    long processedRows;
+    long importedRows;
+    // Already in the database or earlier in the same file
+    long duplicateRows;
+    long failedRows;
+    // First errors only, see config.import.max-errors
+    List<RowError> errors;
+    String failureMessage;
+    Instant createdAt;
+    Instant startedAt;
+    Instant finishedAt;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class RowError {
+        long line;
+        String message;
+    }
+}
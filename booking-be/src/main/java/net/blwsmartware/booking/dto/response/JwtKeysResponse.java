@@ -0,0 +1,16 @@
+package net.blwsmartware.booking.dto.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.Set;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class JwtKeysResponse {
+    String activeKeyId;
+    Set<String> keyIds;
+}
@@ -0,0 +1,22 @@
+package net.blwsmartware.booking.dto.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class MailQueueStatsResponse {
+    // Outbox rows by status
+    long pending;
+    long failed;
+    long sent;
+    // Since this instance started
+    long sentSinceStart;
+    long retriesSinceStart;
+    long failedSinceStart;
+    int activeWorkers;
+    int maxWorkers;
+}
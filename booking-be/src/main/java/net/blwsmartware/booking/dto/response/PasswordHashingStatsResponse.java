@@ -0,0 +1,24 @@
+package net.blwsmartware.booking.dto.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class PasswordHashingStatsResponse {
+    long hashes;
+    long rejected;
+    double avgHashMillis;
+    double maxHashMillis;
+    // Time spent queued before a hashing thread picked the job up
+    double avgWaitMillis;
+    int activeThreads;
+    int poolSize;
+    int queued;
+    int queueCapacity;
+    // Logins refused by LoginAttemptThrottle before hashing
+    long throttledLogins;
+}
@@ -0,0 +1,22 @@
+package net.blwsmartware.booking.dto.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RatingDistributionResponse {
+    UUID hotelId;
+    // Approved reviews only
+    long totalReviews;
+    // Null when the hotel has no approved reviews
+    Double averageRating;
+    // Star (5 down to 1) -> approved reviews, every star present
+    Map<Integer, Long> distribution;
+}
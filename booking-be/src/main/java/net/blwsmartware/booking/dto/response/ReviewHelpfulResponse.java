@@ -0,0 +1,17 @@
+package net.blwsmartware.booking.dto.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ReviewHelpfulResponse {
+    UUID reviewId;
+    // Stored count plus votes not yet flushed
+    long helpfulCount;
+}
@@ -0,0 +1,23 @@
+package net.blwsmartware.booking.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class SuggestionResponse {
+    String text;
+    // "hotel", "city" or "country"
+    String type;
+    // Hotels only: where the hotel is, to tell same-named hotels apart
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    UUID hotelId;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    String city;
+}
@@ -0,0 +1,68 @@
+package net.blwsmartware.booking.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_status_hold", columnList = "status, hold_expires_at"),
+        @Index(name = "idx_bookings_user", columnList = "user_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class Booking {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "room_type_id", nullable = false)
+    RoomType roomType;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "hotel_id", nullable = false)
+    Hotel hotel;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    User user;
+
+    @Column(name = "check_in", nullable = false)
+    LocalDate checkIn;
+
+    // Exclusive, the guest leaves that morning
+    @Column(name = "check_out", nullable = false)
+    LocalDate checkOut;
+
+    @Column(nullable = false)
+    int rooms;
+
+    @Column(name = "total_price", precision = 12, scale = 2)
+    BigDecimal totalPrice;
+
+    @Column(nullable = false, length = 16)
+    String status;
+
+    @Column(name = "hold_expires_at")
+    Instant holdExpiresAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    LocalDateTime updatedAt;
+}
@@ -0,0 +1,63 @@
+package net.blwsmartware.booking.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Mail waiting to be sent, written in the same transaction as the change that triggers it
+@Entity
+@Table(name = "email_outbox", indexes = {
+        @Index(name = "idx_email_outbox_status_next", columnList = "status, next_attempt_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class EmailOutbox {
+    public static final String PENDING = "PENDING";
+    public static final String SENT = "SENT";
+    public static final String FAILED = "FAILED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    UUID id;
+
+    @Column(nullable = false)
+    String recipient;
+
+    String name;
+
+    @Column(nullable = false)
+    String subject;
+
+    @Column(columnDefinition = "TEXT")
+    String content;
+
+    @Column(nullable = false)
+    String template;
+
+    @Column(nullable = false, length = 16)
+    String status;
+
+    @Column(nullable = false)
+    int attempts;
+
+    // Also the claim lease: a worker pushes it forward before sending
+    @Column(name = "next_attempt_at", nullable = false)
+    Instant nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    Instant createdAt;
+
+    @Column(name = "sent_at")
+    Instant sentAt;
+}
@@ -12,7 +12,16 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "hotels")
+@Table(name = "hotels", indexes = {
+        @Index(name = "idx_hotels_lat_lng", columnList = "latitude, longitude")
+})
+// Fetch plans: list views need the owner only, the detail view also needs room types.
+// Remaining lazy associations are loaded in batches (hibernate.default_batch_fetch_size).
+@NamedEntityGraph(name = "Hotel.list", attributeNodes = @NamedAttributeNode("owner"))
+@NamedEntityGraph(name = "Hotel.detail", attributeNodes = {
+        @NamedAttributeNode("owner"),
+        @NamedAttributeNode("roomTypes")
+})
 @Data
 @Builder
 @NoArgsConstructor
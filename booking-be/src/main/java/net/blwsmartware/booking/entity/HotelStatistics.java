@@ -0,0 +1,67 @@
+package net.blwsmartware.booking.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Per-hotel aggregates kept up to date by review and room type writes
+@Entity
+@Table(name = "hotel_stats")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class HotelStatistics {
+    @Id
+    @Column(name = "hotel_id")
+    UUID hotelId;
+
+    // Approved reviews only
+    @Column(name = "review_count", nullable = false)
+    long reviewCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    long ratingSum;
+
+    // Approved reviews per star, together they add up to reviewCount
+    @Column(name = "rating_1", nullable = false)
+    long rating1;
+
+    @Column(name = "rating_2", nullable = false)
+    long rating2;
+
+    @Column(name = "rating_3", nullable = false)
+    long rating3;
+
+    @Column(name = "rating_4", nullable = false)
+    long rating4;
+
+    @Column(name = "rating_5", nullable = false)
+    long rating5;
+
+    // Active room types only
+    @Column(name = "total_room_types", nullable = false)
+    long totalRoomTypes;
+
+    @Column(name = "total_rooms", nullable = false)
+    long totalRooms;
+
+    @Column(name = "available_rooms", nullable = false)
+    long availableRooms;
+
+    @Column(name = "min_price", precision = 10, scale = 2)
+    BigDecimal minPrice;
+
+    @Column(name = "max_price", precision = 10, scale = 2)
+    BigDecimal maxPrice;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    LocalDateTime updatedAt;
+}
@@ -2,6 +2,8 @@ package net.blwsmartware.booking.entity;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
 
@@ -14,6 +16,9 @@ import java.util.UUID;
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_invalid_token_expr", columnList = "expr")
+})
 public class InvalidToken {
     @Id
     UUID id;
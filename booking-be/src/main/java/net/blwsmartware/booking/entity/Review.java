@@ -10,7 +10,10 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = {
+        // "Most helpful first" within a hotel's approved reviews, id breaks ties for keyset paging
+        @Index(name = "idx_reviews_hotel_approved_helpful", columnList = "hotel_id, is_approved, helpful_count, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -33,7 +36,8 @@ public class Review {
     @Column(name = "is_approved")
     boolean isApproved = true;
 
-    @Column(name = "helpful_count")
+    // Only written by ReviewRepository.addHelpfulVotes, so saving a loaded review never overwrites flushed votes
+    @Column(name = "helpful_count", updatable = false)
     Integer helpfulCount = 0;
 
     // Relationships
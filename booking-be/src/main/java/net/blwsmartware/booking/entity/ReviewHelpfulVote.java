@@ -0,0 +1,34 @@
+package net.blwsmartware.booking.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// One "helpful" vote per user and review; written in batches by HelpfulVoteBuffer
+@Entity
+@Table(name = "review_helpful_votes", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_review_helpful_votes_review_user", columnNames = {"review_id", "user_id"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ReviewHelpfulVote {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    UUID id;
+
+    // Plain ids, not relations: votes are inserted without loading reviews or users
+    @Column(name = "review_id", nullable = false)
+    UUID reviewId;
+
+    @Column(name = "user_id", nullable = false)
+    UUID userId;
+
+    @Column(name = "created_at", nullable = false)
+    LocalDateTime createdAt;
+}
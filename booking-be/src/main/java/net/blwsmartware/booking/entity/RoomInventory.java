@@ -0,0 +1,37 @@
+package net.blwsmartware.booking.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Rooms of one room type for one night; a row is created the first time the night is booked
+@Entity
+@Table(name = "room_inventory", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_room_inventory_night", columnNames = {"room_type_id", "night"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RoomInventory {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    UUID id;
+
+    @Column(name = "room_type_id", nullable = false)
+    UUID roomTypeId;
+
+    @Column(nullable = false)
+    LocalDate night;
+
+    @Column(nullable = false)
+    int capacity;
+
+    // Held and confirmed rooms, only ever changed by conditional updates
+    @Column(nullable = false)
+    int reserved;
+}
@@ -14,6 +14,7 @@ public enum ErrorResponse {
     UNIQUE_EXISTED(8002, "Data of unique field already exists!", HttpStatus.CONFLICT),
     NAME_EXISTED(8003, "Name already exists!", HttpStatus.CONFLICT),
     QUERY_KEY_INVALID(8004, "Your ID in the request has conflicted!", HttpStatus.CONFLICT),
+    TOO_MANY_REQUESTS(8005, "Too many requests, please try again later!", HttpStatus.TOO_MANY_REQUESTS),
 
     ROLE_NOT_EXISTED(3200, "Role not found in database!", HttpStatus.NOT_FOUND),
     ROLE_EXISTED(3201, "Name of role already exists!", HttpStatus.CONFLICT),
@@ -47,6 +48,9 @@ public enum ErrorResponse {
     JWT_INVALID(7011, "Token is invalid!", HttpStatus.UNAUTHORIZED),
     JWT_EXPIRED(7012, "Token has expired!", HttpStatus.UNAUTHORIZED),
     JWT_NOT_NULL(7015, "Token cannot be null!", HttpStatus.UNAUTHORIZED),
+    JWT_KEY_INVALID(7016, "Signing key needs an id and a secret of at least 32 bytes!", HttpStatus.BAD_REQUEST),
+    JWT_KEY_IN_USE(7017, "The active signing key cannot be removed!", HttpStatus.BAD_REQUEST),
+    JWT_KEY_NOT_FOUND(7018, "Signing key not found!", HttpStatus.NOT_FOUND),
     ACCESS_DENIED(7030, "Access denied!", HttpStatus.FORBIDDEN),
 
 
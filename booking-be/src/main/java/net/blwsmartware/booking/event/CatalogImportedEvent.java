@@ -0,0 +1,18 @@
+package net.blwsmartware.booking.event;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.util.UUID;
+
+// Published once after a bulk import wrote rows, instead of one change event per imported hotel or room type
+@Getter
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class CatalogImportedEvent {
+    UUID jobId;
+    String type;
+    long importedRows;
+}
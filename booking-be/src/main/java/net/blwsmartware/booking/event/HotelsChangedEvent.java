@@ -0,0 +1,17 @@
+package net.blwsmartware.booking.event;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.util.Set;
+import java.util.UUID;
+
+// Published once per bulk flag update chunk with the hotels it touched
+@Getter
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class HotelsChangedEvent {
+    Set<UUID> hotelIds;
+}
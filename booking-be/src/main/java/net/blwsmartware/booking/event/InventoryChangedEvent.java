@@ -0,0 +1,19 @@
+package net.blwsmartware.booking.event;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Published when rooms of a room type are taken or given back for the nights [from, to); a null "to" means open-ended
+@Getter
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class InventoryChangedEvent {
+    UUID roomTypeId;
+    LocalDate from;
+    LocalDate to;
+}
@@ -0,0 +1,17 @@
+package net.blwsmartware.booking.event;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.util.UUID;
+
+// Published after a review is created, updated, moderated or deleted
+@Getter
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ReviewChangedEvent {
+    UUID reviewId;
+    UUID hotelId;
+}
@@ -0,0 +1,17 @@
+package net.blwsmartware.booking.event;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.util.Set;
+import java.util.UUID;
+
+// Published once per bulk moderation chunk with the hotels whose reviews changed approval or verification
+@Getter
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ReviewsModeratedEvent {
+    Set<UUID> hotelIds;
+}
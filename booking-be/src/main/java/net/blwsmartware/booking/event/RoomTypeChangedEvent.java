@@ -0,0 +1,17 @@
+package net.blwsmartware.booking.event;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.util.UUID;
+
+// Published after a room type is created, updated, toggled or deleted
+@Getter
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RoomTypeChangedEvent {
+    UUID roomTypeId;
+    UUID hotelId;
+}
@@ -36,12 +36,19 @@ public enum ErrorCode {
     REVIEW_NOT_FOUND(4001, "Review not found", HttpStatus.NOT_FOUND),
     REVIEW_ALREADY_EXISTS(4002, "User has already reviewed this hotel", HttpStatus.BAD_REQUEST),
     REVIEW_NOT_ALLOWED(4003, "User is not allowed to review this hotel", HttpStatus.FORBIDDEN),
+    REVIEW_ALREADY_VOTED(4004, "User has already marked this review helpful", HttpStatus.BAD_REQUEST),
+    REVIEW_OWN_VOTE(4005, "Users cannot mark their own review helpful", HttpStatus.BAD_REQUEST),
+    REVIEW_VOTES_BUSY(4006, "Too many helpful votes waiting to be saved, try again later", HttpStatus.TOO_MANY_REQUESTS),
     
     // Booking-related errors
     BOOKING_NOT_FOUND(5001, "Booking not found", HttpStatus.NOT_FOUND),
     BOOKING_ALREADY_CANCELLED(5002, "Booking is already cancelled", HttpStatus.BAD_REQUEST),
     BOOKING_CANNOT_BE_CANCELLED(5003, "Booking cannot be cancelled", HttpStatus.BAD_REQUEST),
     INVALID_BOOKING_DATES(5004, "Invalid booking dates", HttpStatus.BAD_REQUEST),
+    BOOKING_HOLD_EXPIRED(5005, "Booking hold has expired", HttpStatus.CONFLICT),
+    BOOKING_NOT_HELD(5006, "Booking is not waiting for confirmation", HttpStatus.BAD_REQUEST),
+    BOOKING_STAY_TOO_LONG(5007, "Stay is longer than the maximum number of nights", HttpStatus.BAD_REQUEST),
+    BOOKING_BEYOND_HORIZON(5008, "Check-in date is too far in the future", HttpStatus.BAD_REQUEST),
     
     // Role-related errors
     ROLE_NOT_FOUND(6001, "Role not found", HttpStatus.NOT_FOUND),
@@ -58,11 +65,20 @@ public enum ErrorCode {
     INVALID_DATE_FORMAT(8003, "Invalid date format", HttpStatus.BAD_REQUEST),
     INVALID_PRICE(8004, "Invalid price value", HttpStatus.BAD_REQUEST),
     INVALID_RATING(8005, "Rating must be between 1 and 5", HttpStatus.BAD_REQUEST),
+    INVALID_COORDINATES(8006, "Invalid coordinates or search radius", HttpStatus.BAD_REQUEST),
+    INVALID_CURSOR(8007, "Invalid pagination cursor", HttpStatus.BAD_REQUEST),
+    BULK_CRITERIA_REQUIRED(8008, "Bulk update needs ids or at least one filter", HttpStatus.BAD_REQUEST),
     
     // File upload errors
     FILE_TOO_LARGE(9001, "File size exceeds maximum limit", HttpStatus.BAD_REQUEST),
     INVALID_FILE_TYPE(9002, "Invalid file type", HttpStatus.BAD_REQUEST),
     FILE_UPLOAD_FAILED(9003, "File upload failed", HttpStatus.INTERNAL_SERVER_ERROR),
+    
+    // Bulk import errors
+    IMPORT_JOB_NOT_FOUND(9101, "Import job not found", HttpStatus.NOT_FOUND),
+    IMPORT_FORMAT_UNSUPPORTED(9102, "Import format must be csv or ndjson", HttpStatus.BAD_REQUEST),
+    IMPORT_BUSY(9103, "Too many imports queued, try again later", HttpStatus.TOO_MANY_REQUESTS),
+    EXPORT_FORMAT_UNSUPPORTED(9104, "Export format must be csv or ndjson", HttpStatus.BAD_REQUEST),
     ;
 
     ErrorCode(int code, String message, HttpStatusCode statusCode) {
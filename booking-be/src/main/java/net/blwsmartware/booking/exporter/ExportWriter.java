@@ -0,0 +1,125 @@
+package net.blwsmartware.booking.exporter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes export rows one at a time. NDJSON is the JSON of each row on its own line; CSV has a header line and one
+ * column per scalar field of the first row (nested lists and objects are left out), quoted per RFC 4180.
+ */
+public abstract class ExportWriter {
+
+    public static final String CSV = "csv";
+    public static final String NDJSON = "ndjson";
+
+    protected final Writer writer;
+    protected final ObjectMapper objectMapper;
+
+    protected ExportWriter(OutputStream out, ObjectMapper objectMapper) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        this.objectMapper = objectMapper;
+    }
+
+    public static boolean isSupported(String format) {
+        return CSV.equals(format) || NDJSON.equals(format);
+    }
+
+    public static String contentType(String format) {
+        return CSV.equals(format) ? "text/csv; charset=UTF-8" : "application/x-ndjson";
+    }
+
+    public static ExportWriter open(String format, OutputStream out, ObjectMapper objectMapper) {
+        return switch (format) {
+            case CSV -> new Csv(out, objectMapper);
+            case NDJSON -> new Ndjson(out, objectMapper);
+            default -> throw new IllegalArgumentException("Unsupported export format: " + format);
+        };
+    }
+
+    public abstract void write(Object row) throws IOException;
+
+    // Pushes buffered rows to the client, does not close the response stream
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private static final class Ndjson extends ExportWriter {
+
+        Ndjson(OutputStream out, ObjectMapper objectMapper) {
+            super(out, objectMapper);
+        }
+
+        @Override
+        public void write(Object row) throws IOException {
+            writer.write(objectMapper.writeValueAsString(row));
+            writer.write('\n');
+        }
+    }
+
+    private static final class Csv extends ExportWriter {
+
+        private List<String> columns;
+
+        Csv(OutputStream out, ObjectMapper objectMapper) {
+            super(out, objectMapper);
+        }
+
+        @Override
+        public void write(Object row) throws IOException {
+            JsonNode node = objectMapper.valueToTree(row);
+            if (columns == null) {
+                columns = new ArrayList<>();
+                for (Iterator<Map.Entry<String, JsonNode>> fields = node.fields(); fields.hasNext(); ) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    if (field.getValue().isValueNode()) {
+                        columns.add(field.getKey());
+                    }
+                }
+                writeLine(columns);
+            }
+            List<String> values = new ArrayList<>(columns.size());
+            for (String column : columns) {
+                JsonNode value = node.get(column);
+                values.add(value == null || value.isNull() ? "" : cell(value));
+            }
+            writeLine(values);
+        }
+
+        private void writeLine(List<String> values) throws IOException {
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(quote(values.get(i)));
+            }
+            writer.write("\r\n");
+        }
+
+        private static String cell(JsonNode value) {
+            String text = value.asText();
+            // Review and hotel texts are user input; a leading = + - @ would run as a formula in a spreadsheet
+            if (value.isTextual() && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+                return "'" + text;
+            }
+            return text;
+        }
+
+        private static String quote(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
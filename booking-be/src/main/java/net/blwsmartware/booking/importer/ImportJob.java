@@ -0,0 +1,136 @@
+package net.blwsmartware.booking.importer;
+
+import net.blwsmartware.booking.dto.response.ImportJobResponse;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Progress of one import, updated by the import worker and read by status requests
+public class ImportJob {
+
+    public static final String QUEUED = "QUEUED";
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    private final UUID id = UUID.randomUUID();
+    private final String type;
+    private final String format;
+    private final Path file;
+    private final UUID requestedBy;
+    private final int maxErrors;
+    private final Instant createdAt = Instant.now();
+
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final List<ImportJobResponse.RowError> errors = new ArrayList<>();
+
+    private volatile String status = QUEUED;
+    private volatile String failureMessage;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+
+    public ImportJob(String type, String format, Path file, UUID requestedBy, int maxErrors) {
+        this.type = type;
+        this.format = format;
+        this.file = file;
+        this.requestedBy = requestedBy;
+        this.maxErrors = maxErrors;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public UUID getRequestedBy() {
+        return requestedBy;
+    }
+
+    public boolean isFinished() {
+        return COMPLETED.equals(status) || FAILED.equals(status);
+    }
+
+    public void started() {
+        startedAt = Instant.now();
+        status = RUNNING;
+    }
+
+    public void completed() {
+        finishedAt = Instant.now();
+        status = COMPLETED;
+    }
+
+    public void failed(String message) {
+        failureMessage = message;
+        finishedAt = Instant.now();
+        status = FAILED;
+    }
+
+    public void rowProcessed() {
+        processed.incrementAndGet();
+    }
+
+    public void rowsImported(int count) {
+        imported.addAndGet(count);
+    }
+
+    public void rowDuplicate() {
+        duplicates.incrementAndGet();
+    }
+
+    public void rowFailed(long line, String message) {
+        failed.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportJobResponse.RowError(line, truncate(message)));
+            }
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+
+    public ImportJobResponse toResponse() {
+        List<ImportJobResponse.RowError> errorsCopy;
+        synchronized (errors) {
+            errorsCopy = List.copyOf(errors);
+        }
+        return ImportJobResponse.builder()
+                .id(id)
+                .type(type)
+                .format(format)
+                .status(status)
+                .processedRows(processed.get())
+                .importedRows(imported.get())
+                .duplicateRows(duplicates.get())
+                .failedRows(failed.get())
+                .errors(errorsCopy)
+                .failureMessage(failureMessage)
+                .createdAt(createdAt)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .build();
+    }
+}
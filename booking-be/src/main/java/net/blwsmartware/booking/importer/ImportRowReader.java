@@ -0,0 +1,196 @@
+package net.blwsmartware.booking.importer;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads an import file one row at a time, so memory does not grow with the file.
+ * CSV needs a header line and follows RFC 4180 quoting (quoted fields may contain commas, quotes and newlines);
+ * NDJSON is one JSON object per line. Blank lines are skipped in both.
+ * A row longer than MAX_ROW_CHARS fails and reading goes on after the line where it hit the limit, so a stray
+ * quote cannot buffer the rest of the file as one field.
+ */
+public abstract class ImportRowReader implements Closeable {
+
+    public static final String CSV = "csv";
+    public static final String NDJSON = "ndjson";
+    public static final int MAX_ROW_CHARS = 1 << 20;
+
+    protected final BufferedReader reader;
+    // Line the current row started on, for error reports
+    protected long rowLine;
+    protected long line;
+
+    protected ImportRowReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    public static ImportRowReader open(String format, BufferedReader reader, ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case CSV -> new Csv(reader);
+            case NDJSON -> new Ndjson(reader, objectMapper);
+            default -> throw new IllegalArgumentException("Unsupported import format: " + format);
+        };
+    }
+
+    // Next row as column -> value, null at the end of the file
+    public abstract Map<String, Object> next() throws IOException;
+
+    public long getRowLine() {
+        return rowLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // Drops the rest of the current line, then reports the row
+    protected IllegalArgumentException tooLong() throws IOException {
+        int c;
+        do {
+            c = reader.read();
+        } while (c != -1 && c != '\n');
+        return new IllegalArgumentException("Row is longer than " + MAX_ROW_CHARS + " characters");
+    }
+
+    private static final class Ndjson extends ImportRowReader {
+
+        private static final TypeReference<LinkedHashMap<String, Object>> ROW = new TypeReference<>() {
+        };
+
+        private final ObjectMapper objectMapper;
+
+        Ndjson(BufferedReader reader, ObjectMapper objectMapper) {
+            super(reader);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public Map<String, Object> next() throws IOException {
+            String text;
+            do {
+                line++;
+                rowLine = line;
+                text = readLine();
+                if (text == null) {
+                    return null;
+                }
+            } while (text.isBlank());
+            return objectMapper.readValue(text, ROW);
+        }
+
+        // BufferedReader.readLine with the row limit
+        private String readLine() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            StringBuilder text = new StringBuilder();
+            while (c != -1 && c != '\n') {
+                if (text.length() == MAX_ROW_CHARS) {
+                    throw tooLong();
+                }
+                text.append((char) c);
+                c = reader.read();
+            }
+            int end = text.length();
+            return end > 0 && text.charAt(end - 1) == '\r' ? text.substring(0, end - 1) : text.toString();
+        }
+    }
+
+    private static final class Csv extends ImportRowReader {
+
+        private final List<String> header;
+
+        Csv(BufferedReader reader) throws IOException {
+            super(reader);
+            List<String> columns = readRecord();
+            if (columns == null) {
+                throw new IllegalArgumentException("CSV file has no header line");
+            }
+            // Spreadsheet exports often start with a byte order mark
+            this.header = columns.stream().map(column -> column.replace("\uFEFF", "").trim()).toList();
+        }
+
+        @Override
+        public Map<String, Object> next() throws IOException {
+            List<String> values;
+            do {
+                values = readRecord();
+                if (values == null) {
+                    return null;
+                }
+            } while (values.size() == 1 && values.get(0).isBlank());
+
+            if (values.size() > header.size()) {
+                throw new IllegalArgumentException("Row has " + values.size() + " fields, header has " + header.size());
+            }
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < values.size(); i++) {
+                // Empty cells are absent values, not empty strings, so optional fields pass validation
+                if (!values.get(i).isEmpty()) {
+                    row.put(header.get(i), values.get(i));
+                }
+            }
+            return row;
+        }
+
+        private List<String> readRecord() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            line++;
+            rowLine = line;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int length = 0;
+            while (true) {
+                if (++length > MAX_ROW_CHARS && c != '\n' && c != -1) {
+                    throw tooLong();
+                }
+                if (quoted) {
+                    if (c == -1) {
+                        throw new IllegalArgumentException("Unterminated quoted field");
+                    }
+                    if (c == '"') {
+                        reader.mark(1);
+                        int following = reader.read();
+                        if (following == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            reader.reset();
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == -1) {
+                    fields.add(field.toString());
+                    return fields;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package net.blwsmartware.booking.mail;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import net.blwsmartware.booking.dto.response.MailQueueStatsResponse;
+import net.blwsmartware.booking.entity.EmailOutbox;
+import net.blwsmartware.booking.event.EmailQueuedEvent;
+import net.blwsmartware.booking.repository.EmailOutboxRepository;
+import net.blwsmartware.booking.service.EmailService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drains the email outbox on a small fixed pool. Each worker claims a batch of due rows and sends it over one
+ * SMTP connection, so the TLS handshake is paid per batch rather than per mail. Failed sends are retried with
+ * exponential backoff up to max-attempts. Claims are leases on next_attempt_at, so a crashed worker's batch
+ * becomes due again and several instances can drain the same table. Workers stay on platform threads even in
+ * virtual-thread mode: Jakarta Mail holds monitors around socket I/O, which would pin carrier threads.
+ * Sent and failed rows are deleted after the retention period, they hold verification codes.
+ */
+@Component
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    private static final int PURGE_CHUNK_SIZE = 500;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailService emailService;
+    private final JavaMailSender mailSender;
+    private final ThreadPoolExecutor workers;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final Duration retention;
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public EmailOutboxDispatcher(EmailOutboxRepository emailOutboxRepository,
+                                 EmailService emailService,
+                                 JavaMailSender mailSender,
+                                 @Value("${config.mail.workers}") int workerCount,
+                                 @Value("${config.mail.batch-size}") int batchSize,
+                                 @Value("${config.mail.max-attempts}") int maxAttempts,
+                                 @Value("${config.mail.backoff-seconds}") long backoffSeconds,
+                                 @Value("${config.mail.max-backoff-seconds}") long maxBackoffSeconds,
+                                 @Value("${config.mail.lease-seconds}") long leaseSeconds,
+                                 @Value("${config.mail.retention-hours}") long retentionHours) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailService = emailService;
+        this.mailSender = mailSender;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoff = Duration.ofSeconds(backoffSeconds);
+        this.maxBackoff = Duration.ofSeconds(maxBackoffSeconds);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.retention = Duration.ofHours(retentionHours);
+
+        // No queue: when every worker is busy the wake-up is dropped, a busy worker keeps draining anyway
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "mail-sender-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.workers.allowCoreThreadTimeOut(true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmailQueued(EmailQueuedEvent event) {
+        wake();
+    }
+
+    // Picks up retries, mails queued on other instances and wake-ups dropped while all workers were busy
+    @Scheduled(fixedDelayString = "${config.mail.poll-interval-ms}")
+    public void poll() {
+        for (int i = 0; i < workers.getMaximumPoolSize(); i++) {
+            wake();
+        }
+    }
+
+    // Small chunks, each DELETE commits on its own and holds its row locks briefly
+    @Scheduled(cron = "${config.mail.purge-cron}")
+    public void purgeFinished() {
+        Instant cutoff = Instant.now().minus(retention);
+        long purged = 0;
+        List<UUID> ids;
+        while (!(ids = emailOutboxRepository.findFinishedBefore(cutoff, PageRequest.of(0, PURGE_CHUNK_SIZE))).isEmpty()) {
+            purged += emailOutboxRepository.deleteByIdIn(ids);
+        }
+        if (purged > 0) {
+            log.info("Purged {} sent or failed emails older than {}", purged, retention);
+        }
+    }
+
+    public MailQueueStatsResponse getStats() {
+        return MailQueueStatsResponse.builder()
+                .pending(emailOutboxRepository.countByStatus(EmailOutbox.PENDING))
+                .failed(emailOutboxRepository.countByStatus(EmailOutbox.FAILED))
+                .sent(emailOutboxRepository.countByStatus(EmailOutbox.SENT))
+                .sentSinceStart(sent.sum())
+                .retriesSinceStart(retries.sum())
+                .failedSinceStart(failed.sum())
+                .activeWorkers(workers.getActiveCount())
+                .maxWorkers(workers.getMaximumPoolSize())
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private void wake() {
+        try {
+            workers.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            // Every worker is busy or the pool is shutting down
+        }
+    }
+
+    private void drain() {
+        try {
+            List<EmailOutbox> batch;
+            while (!(batch = claimBatch()).isEmpty()) {
+                send(batch);
+            }
+        } catch (RuntimeException e) {
+            log.error("Email outbox drain failed: {}", e.getMessage());
+        }
+    }
+
+    private List<EmailOutbox> claimBatch() {
+        Instant now = Instant.now();
+        Instant leaseUntil = now.plus(lease);
+        List<EmailOutbox> claimed = new ArrayList<>();
+        for (EmailOutbox email : emailOutboxRepository.findDue(now, PageRequest.of(0, batchSize))) {
+            if (emailOutboxRepository.claim(email.getId(), email.getNextAttemptAt(), leaseUntil) == 1) {
+                claimed.add(email);
+            }
+        }
+        return claimed;
+    }
+
+    private void send(List<EmailOutbox> batch) {
+        Map<MimeMessage, EmailOutbox> messages = new LinkedHashMap<>();
+        List<EmailOutbox> done = new ArrayList<>();
+        for (EmailOutbox email : batch) {
+            try {
+                messages.put(emailService.toMessage(email), email);
+            } catch (MessagingException e) {
+                // A malformed address will not get better on retry
+                done.add(giveUp(email, e));
+            }
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        if (!messages.isEmpty()) {
+            try {
+                mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                failures = e.getFailedMessages();
+            } catch (MailException e) {
+                Map<Object, Exception> all = new HashMap<>();
+                messages.keySet().forEach(message -> all.put(message, e));
+                failures = all;
+            }
+        }
+
+        Instant now = Instant.now();
+        for (Map.Entry<MimeMessage, EmailOutbox> entry : messages.entrySet()) {
+            EmailOutbox email = entry.getValue();
+            Exception failure = failures.get(entry.getKey());
+            if (failure == null) {
+                email.setStatus(EmailOutbox.SENT);
+                email.setSentAt(now);
+                email.setAttempts(email.getAttempts() + 1);
+                email.setLastError(null);
+                sent.increment();
+                done.add(email);
+            } else {
+                done.add(retryOrGiveUp(email, failure, now));
+            }
+        }
+        emailOutboxRepository.saveAll(done);
+        log.info("Email batch of {} processed, {} failed", batch.size(), failures.size());
+    }
+
+    private EmailOutbox retryOrGiveUp(EmailOutbox email, Exception failure, Instant now) {
+        int attempts = email.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            email.setAttempts(attempts);
+            return giveUp(email, failure);
+        }
+        email.setAttempts(attempts);
+        email.setLastError(truncate(failure.getMessage()));
+        email.setNextAttemptAt(now.plus(backoffFor(attempts)));
+        retries.increment();
+        log.warn("Email to {} failed (attempt {}), retrying: {}", email.getRecipient(), attempts, failure.getMessage());
+        return email;
+    }
+
+    private EmailOutbox giveUp(EmailOutbox email, Exception failure) {
+        email.setStatus(EmailOutbox.FAILED);
+        email.setLastError(truncate(failure.getMessage()));
+        failed.increment();
+        log.error("Email to {} failed permanently: {}", email.getRecipient(), failure.getMessage());
+        return email;
+    }
+
+    // backoff, 2 x backoff, 4 x backoff ... capped at max-backoff
+    private Duration backoffFor(int attempts) {
+        Duration delay = backoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+}
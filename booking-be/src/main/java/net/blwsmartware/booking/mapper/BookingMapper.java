@@ -0,0 +1,17 @@
+package net.blwsmartware.booking.mapper;
+
+import net.blwsmartware.booking.dto.response.BookingResponse;
+import net.blwsmartware.booking.entity.Booking;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface BookingMapper {
+
+    @Mapping(target = "roomTypeId", source = "roomType.id")
+    @Mapping(target = "roomTypeName", source = "roomType.name")
+    @Mapping(target = "hotelId", source = "hotel.id")
+    @Mapping(target = "hotelName", source = "hotel.name")
+    @Mapping(target = "userId", source = "user.id")
+    BookingResponse toResponse(Booking booking);
+}
@@ -23,6 +23,9 @@ public interface HotelMapper {
     @Mapping(target = "availableRooms", ignore = true) // Will be set manually
     @Mapping(target = "averageRating", ignore = true) // Will be set manually
     @Mapping(target = "totalReviews", ignore = true) // Will be set manually
+    @Mapping(target = "minRoomPrice", ignore = true) // Will be set manually
+    @Mapping(target = "maxRoomPrice", ignore = true) // Will be set manually
+    @Mapping(target = "distanceKm", ignore = true) // Will be set manually
     @Mapping(target = "roomTypes", source = "roomTypes", qualifiedByName = "toResponse")
     @Mapping(target = "recentReviews", source = "reviews", qualifiedByName = "toResponseWithoutHotel")
     HotelResponse toResponse(Hotel hotel);
@@ -39,6 +42,9 @@ public interface HotelMapper {
     @Mapping(target = "availableRooms", ignore = true)
     @Mapping(target = "averageRating", ignore = true)
     @Mapping(target = "totalReviews", ignore = true)
+    @Mapping(target = "minRoomPrice", ignore = true)
+    @Mapping(target = "maxRoomPrice", ignore = true)
+    @Mapping(target = "distanceKm", ignore = true)
     @Mapping(target = "roomTypes", ignore = true)
     @Mapping(target = "recentReviews", ignore = true)
     HotelResponse toResponseWithoutRelations(Hotel hotel);
@@ -0,0 +1,48 @@
+package net.blwsmartware.booking.repository;
+
+import net.blwsmartware.booking.entity.Booking;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface BookingRepository extends JpaRepository<Booking, UUID> {
+
+    @EntityGraph(attributePaths = {"roomType", "hotel"})
+    Page<Booking> findByUserId(UUID userId, Pageable pageable);
+
+    @Query("SELECT b.id FROM Booking b WHERE b.status = 'HELD' AND b.holdExpiresAt <= :now")
+    List<UUID> findExpiredHoldIds(@Param("now") Instant now, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b WHERE b.status = 'HELD'")
+    List<Booking> findAllHeld();
+
+    // Status transitions are conditional so a confirm racing an expiry can only have one winner
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = 'CONFIRMED', b.holdExpiresAt = null " +
+           "WHERE b.id = :id AND b.status = 'HELD' AND b.holdExpiresAt > :now")
+    int confirmHeld(@Param("id") UUID id, @Param("now") Instant now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = 'EXPIRED', b.holdExpiresAt = null " +
+           "WHERE b.id = :id AND b.status = 'HELD' AND b.holdExpiresAt <= :now")
+    int expireHeld(@Param("id") UUID id, @Param("now") Instant now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = 'CANCELLED', b.holdExpiresAt = null " +
+           "WHERE b.id = :id AND b.status IN ('HELD', 'CONFIRMED')")
+    int cancelActive(@Param("id") UUID id);
+
+    boolean existsByHotelId(UUID hotelId);
+
+    boolean existsByRoomTypeId(UUID roomTypeId);
+}
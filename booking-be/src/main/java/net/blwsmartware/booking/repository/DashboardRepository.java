@@ -0,0 +1,33 @@
+package net.blwsmartware.booking.repository;
+
+import net.blwsmartware.booking.entity.Hotel;
+import net.blwsmartware.booking.repository.projection.DashboardCounters;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+
+import java.util.UUID;
+
+public interface DashboardRepository extends Repository<Hotel, UUID> {
+
+    // Every dashboard figure in one round trip, one scan per table
+    @Query(value = "SELECT h.total AS totalHotels, h.active AS activeHotels, h.featured AS featuredHotels, " +
+            "rt.total AS totalRoomTypes, rt.active AS activeRoomTypes, " +
+            "r.total AS totalReviews, r.approved AS approvedReviews, r.verified AS verifiedReviews, " +
+            "u.total AS totalUsers, u.active AS activeUsers " +
+            "FROM (SELECT COUNT(*) AS total, " +
+            "        COALESCE(SUM(CASE WHEN is_active = TRUE THEN 1 ELSE 0 END), 0) AS active, " +
+            "        COALESCE(SUM(CASE WHEN is_featured = TRUE THEN 1 ELSE 0 END), 0) AS featured " +
+            "      FROM hotels) h " +
+            "CROSS JOIN (SELECT COUNT(*) AS total, " +
+            "        COALESCE(SUM(CASE WHEN is_active = TRUE THEN 1 ELSE 0 END), 0) AS active " +
+            "      FROM room_types) rt " +
+            "CROSS JOIN (SELECT COUNT(*) AS total, " +
+            "        COALESCE(SUM(CASE WHEN is_approved = TRUE THEN 1 ELSE 0 END), 0) AS approved, " +
+            "        COALESCE(SUM(CASE WHEN is_verified = TRUE THEN 1 ELSE 0 END), 0) AS verified " +
+            "      FROM reviews) r " +
+            "CROSS JOIN (SELECT COUNT(*) AS total, " +
+            "        COALESCE(SUM(CASE WHEN is_active = TRUE THEN 1 ELSE 0 END), 0) AS active " +
+            "      FROM users) u",
+            nativeQuery = true)
+    DashboardCounters loadCounters();
+}
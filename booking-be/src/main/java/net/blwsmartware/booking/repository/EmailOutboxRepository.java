@@ -0,0 +1,39 @@
+package net.blwsmartware.booking.repository;
+
+import net.blwsmartware.booking.entity.EmailOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, UUID> {
+
+    @Query("SELECT m FROM EmailOutbox m WHERE m.status = 'PENDING' AND m.nextAttemptAt <= :now " +
+           "ORDER BY m.nextAttemptAt")
+    List<EmailOutbox> findDue(@Param("now") Instant now, Pageable pageable);
+
+    // Moves the lease forward only if nobody claimed the row since it was read, returns 0 when lost
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutbox m SET m.nextAttemptAt = :leaseUntil " +
+           "WHERE m.id = :id AND m.status = 'PENDING' AND m.nextAttemptAt = :seen")
+    int claim(@Param("id") UUID id, @Param("seen") Instant seen, @Param("leaseUntil") Instant leaseUntil);
+
+    long countByStatus(String status);
+
+    @Query("SELECT m.id FROM EmailOutbox m WHERE m.status <> 'PENDING' AND m.createdAt < :cutoff")
+    List<UUID> findFinishedBefore(@Param("cutoff") Instant cutoff, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM EmailOutbox m WHERE m.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<UUID> ids);
+}
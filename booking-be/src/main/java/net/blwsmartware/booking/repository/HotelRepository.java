@@ -1,53 +1,108 @@
 package net.blwsmartware.booking.repository;
 
+import jakarta.persistence.QueryHint;
 import net.blwsmartware.booking.entity.Hotel;
 import net.blwsmartware.booking.entity.User;
+import net.blwsmartware.booking.repository.projection.HotelCity;
+import net.blwsmartware.booking.repository.projection.HotelFacetRow;
+import net.blwsmartware.booking.repository.projection.HotelKey;
+import net.blwsmartware.booking.repository.projection.HotelLocation;
+import net.blwsmartware.booking.repository.projection.HotelSuggestRow;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface HotelRepository extends JpaRepository<Hotel, UUID> {
     
+    // Fetch plans for listing and detail views
+    @Override
+    @EntityGraph("Hotel.list")
+    Page<Hotel> findAll(Pageable pageable);
+    
+    @EntityGraph("Hotel.detail")
+    Optional<Hotel> findDetailById(UUID id);
+    
+    // Load search hits by id
+    @EntityGraph("Hotel.list")
+    List<Hotel> findByIdIn(Collection<UUID> ids);
+    
+    @EntityGraph("Hotel.list")
+    Page<Hotel> findByIdIn(Collection<UUID> ids, Pageable pageable);
+    
+    // Same filter as RoomTypeRepository.findAvailableHotelIds, sorted and paged by the database
+    String AVAILABLE_HOTELS = "FROM Hotel h WHERE h.isActive = true " +
+           "AND (:city IS NULL OR LOWER(h.city) = LOWER(:city)) " +
+           "AND EXISTS (SELECT rt.id FROM RoomType rt WHERE rt.hotel = h AND rt.isActive = true " +
+           "AND rt.maxOccupancy >= :guests AND rt.totalRooms > 0 " +
+           "AND NOT EXISTS (SELECT i.id FROM RoomInventory i WHERE i.roomTypeId = rt.id " +
+           "AND i.night >= :checkIn AND i.night < :checkOut AND i.reserved >= i.capacity))";
+    
+    @EntityGraph("Hotel.list")
+    @Query(value = "SELECT h " + AVAILABLE_HOTELS, countQuery = "SELECT COUNT(h) " + AVAILABLE_HOTELS)
+    Page<Hotel> findAvailable(@Param("city") String city,
+                              @Param("guests") int guests,
+                              @Param("checkIn") LocalDate checkIn,
+                              @Param("checkOut") LocalDate checkOut,
+                              Pageable pageable);
+    
     // Find hotels by owner
+    @EntityGraph("Hotel.list")
     Page<Hotel> findByOwner(User owner, Pageable pageable);
     List<Hotel> findByOwner(User owner);
     
     // Find hotels by owner ID
+    @EntityGraph("Hotel.list")
     Page<Hotel> findByOwnerId(UUID ownerId, Pageable pageable);
     List<Hotel> findByOwnerId(UUID ownerId);
     
     // Find active hotels
+    @EntityGraph("Hotel.list")
     Page<Hotel> findByIsActiveTrue(Pageable pageable);
     List<Hotel> findByIsActiveTrue();
     
     // Find featured hotels
+    @EntityGraph("Hotel.list")
     Page<Hotel> findByIsFeaturedTrue(Pageable pageable);
     List<Hotel> findByIsFeaturedTrue();
     
     // Find hotels by city
+    @EntityGraph("Hotel.list")
     Page<Hotel> findByCity(String city, Pageable pageable);
+    @EntityGraph("Hotel.list")
     Page<Hotel> findByCityIgnoreCase(String city, Pageable pageable);
     List<Hotel> findByCityIgnoreCase(String city);
     
     // Find hotels by country
+    @EntityGraph("Hotel.list")
     Page<Hotel> findByCountry(String country, Pageable pageable);
+    @EntityGraph("Hotel.list")
     Page<Hotel> findByCountryIgnoreCase(String country, Pageable pageable);
     List<Hotel> findByCountryIgnoreCase(String country);
     
     // Find hotels by star rating
+    @EntityGraph("Hotel.list")
     Page<Hotel> findByStarRating(Integer starRating, Pageable pageable);
     List<Hotel> findByStarRating(Integer starRating);
     
     // Search hotels by name, city or country
+    @EntityGraph("Hotel.list")
     @Query("SELECT h FROM Hotel h WHERE " +
            "LOWER(h.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(h.address) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
@@ -55,6 +110,7 @@ public interface HotelRepository extends JpaRepository<Hotel, UUID> {
            "LOWER(h.country) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     Page<Hotel> searchByNameOrCityOrCountry(@Param("keyword") String keyword, Pageable pageable);
     
+    @EntityGraph("Hotel.list")
     @Query("SELECT h FROM Hotel h WHERE " +
            "LOWER(h.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(h.address) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
@@ -62,6 +118,7 @@ public interface HotelRepository extends JpaRepository<Hotel, UUID> {
     Page<Hotel> searchByKeyword(@Param("keyword") String keyword, Pageable pageable);
     
     // Find hotels with comprehensive filters
+    @EntityGraph("Hotel.list")
     @Query("SELECT h FROM Hotel h WHERE " +
            "(:city IS NULL OR LOWER(h.city) = LOWER(:city)) AND " +
            "(:country IS NULL OR LOWER(h.country) = LOWER(:country)) AND " +
@@ -80,6 +137,7 @@ public interface HotelRepository extends JpaRepository<Hotel, UUID> {
                                Pageable pageable);
     
     // Legacy method for backward compatibility (if needed)
+    @EntityGraph("Hotel.list")
     @Query("SELECT h FROM Hotel h WHERE " +
            "(:isActive IS NULL OR h.isActive = :isActive) AND " +
            "(:isFeatured IS NULL OR h.isFeatured = :isFeatured) AND " +
@@ -93,26 +151,77 @@ public interface HotelRepository extends JpaRepository<Hotel, UUID> {
                                     @Param("ownerId") UUID ownerId,
                                     Pageable pageable);
     
-    // Find hotels near location
-    @Query("SELECT h FROM Hotel h WHERE " +
-           "h.latitude IS NOT NULL AND h.longitude IS NOT NULL AND " +
-           "(6371 * acos(cos(radians(:lat)) * cos(radians(h.latitude)) * " +
-           "cos(radians(h.longitude) - radians(:lng)) + " +
-           "sin(radians(:lat)) * sin(radians(h.latitude)))) <= :radius")
-    Page<Hotel> findNearLocation(@Param("lat") Double latitude,
-                                @Param("lng") Double longitude,
-                                @Param("radius") Double radiusKm,
-                                Pageable pageable);
+    // Coordinates inside a bounding box, served by idx_hotels_lat_lng; exact distance is computed by the caller
+    @Query("SELECT h.id AS id, h.latitude AS latitude, h.longitude AS longitude FROM Hotel h WHERE " +
+           "h.latitude BETWEEN :minLat AND :maxLat AND " +
+           "h.longitude BETWEEN :minLng AND :maxLng")
+    List<HotelLocation> findLocationsWithinBox(@Param("minLat") double minLat,
+                                               @Param("maxLat") double maxLat,
+                                               @Param("minLng") double minLng,
+                                               @Param("maxLng") double maxLng);
     
-    @Query("SELECT h FROM Hotel h WHERE " +
-           "h.latitude IS NOT NULL AND h.longitude IS NOT NULL AND " +
-           "(6371 * acos(cos(radians(:lat)) * cos(radians(h.latitude)) * " +
-           "cos(radians(h.longitude) - radians(:lng)) + " +
-           "sin(radians(:lat)) * sin(radians(h.latitude)))) <= :radius")
-    Page<Hotel> findByLocationWithinRadius(@Param("lat") Double latitude,
-                                          @Param("lng") Double longitude,
-                                          @Param("radius") Double radiusKm,
-                                          Pageable pageable);
+    @Query("SELECT COUNT(h) FROM Hotel h WHERE " +
+           "h.latitude BETWEEN :minLat AND :maxLat AND " +
+           "h.longitude BETWEEN :minLng AND :maxLng")
+    long countLocationsWithinBox(@Param("minLat") double minLat,
+                                 @Param("maxLat") double maxLat,
+                                 @Param("minLng") double minLng,
+                                 @Param("maxLng") double maxLng);
+    
+    // Haversine term of the distance to (:lat, :lng); it grows with the distance, so comparing and ordering by it
+    // needs no asin
+    String HAVERSINE = "(power(sin(radians(h.latitude - :lat) / 2), 2) + cos(radians(:lat)) * cos(radians(h.latitude)) " +
+           "* power(sin(radians(h.longitude - :lng) / 2), 2))";
+    String WITHIN_RADIUS = "FROM Hotel h WHERE h.latitude BETWEEN :minLat AND :maxLat " +
+           "AND h.longitude BETWEEN :minLng AND :maxLng AND " + HAVERSINE + " <= :maxHaversine";
+    
+    // Radius searches with too many hits for an id list, filtered and paged by the database
+    @EntityGraph("Hotel.list")
+    @Query(value = "SELECT h " + WITHIN_RADIUS, countQuery = "SELECT COUNT(h) " + WITHIN_RADIUS)
+    Page<Hotel> findWithinRadius(@Param("lat") double lat, @Param("lng") double lng,
+                                 @Param("minLat") double minLat, @Param("maxLat") double maxLat,
+                                 @Param("minLng") double minLng, @Param("maxLng") double maxLng,
+                                 @Param("maxHaversine") double maxHaversine, Pageable pageable);
+    
+    // Nearest first, the pageable must be unsorted
+    @EntityGraph("Hotel.list")
+    @Query(value = "SELECT h " + WITHIN_RADIUS + " ORDER BY " + HAVERSINE + ", h.id",
+           countQuery = "SELECT COUNT(h) " + WITHIN_RADIUS)
+    Page<Hotel> findWithinRadiusNearestFirst(@Param("lat") double lat, @Param("lng") double lng,
+                                             @Param("minLat") double minLat, @Param("maxLat") double maxLat,
+                                             @Param("minLng") double minLng, @Param("maxLng") double maxLng,
+                                             @Param("maxHaversine") double maxHaversine, Pageable pageable);
+    
+    // The filterable columns of every hotel, for the facet snapshot
+    @Query("SELECT h.id AS id, h.city AS city, h.country AS country, h.starRating AS starRating, " +
+           "h.isActive AS active, h.isFeatured AS featured, h.pricePerNight AS pricePerNight FROM Hotel h")
+    List<HotelFacetRow> findAllFacetRows();
+    
+    // Natural keys of every hotel, for duplicate checks during bulk imports
+    @Query("SELECT h.id AS id, h.name AS name, h.city AS city FROM Hotel h")
+    List<HotelKey> findAllKeys();
+    
+    // Names and places with their approved review count, for type-ahead suggestions
+    @Query("SELECT h.id AS id, h.name AS name, h.city AS city, h.country AS country, h.isActive AS active, " +
+           "COALESCE(s.reviewCount, 0) AS reviewCount FROM Hotel h LEFT JOIN HotelStatistics s ON s.hotelId = h.id")
+    List<HotelSuggestRow> findAllSuggestRows();
+    
+    @Query("SELECT h.id AS id, h.name AS name, h.city AS city, h.country AS country, h.isActive AS active, " +
+           "COALESCE(s.reviewCount, 0) AS reviewCount FROM Hotel h LEFT JOIN HotelStatistics s ON s.hotelId = h.id " +
+           "WHERE h.id = :id")
+    Optional<HotelSuggestRow> findSuggestRowById(@Param("id") UUID id);
+    
+    @Query("SELECT h.id FROM Hotel h")
+    List<UUID> findAllIds();
+    
+    @Query("SELECT h.id AS id, h.city AS city, h.isActive AS active FROM Hotel h")
+    List<HotelCity> findAllCities();
+    
+    @Query("SELECT h.id AS id, h.city AS city, h.isActive AS active FROM Hotel h WHERE h.id = :id")
+    Optional<HotelCity> findCityById(@Param("id") UUID id);
+    
+    @Query("SELECT h.id AS id, h.city AS city, h.isActive AS active FROM Hotel h WHERE h.id IN :ids")
+    List<HotelCity> findCitiesByIdIn(@Param("ids") Collection<UUID> ids);
     
     // Count hotels by owner
     long countByOwner(User owner);
@@ -141,4 +250,49 @@ public interface HotelRepository extends JpaRepository<Hotel, UUID> {
     
     @Query("SELECT COUNT(r) FROM Review r WHERE r.hotel.id = :hotelId AND r.isApproved = true")
     long getReviewCount(@Param("hotelId") UUID hotelId);
-} 
\ No newline at end of file
+    
+    // Forward-only read for exports in a read-only transaction. Integer.MIN_VALUE makes the MySQL driver stream rows
+    // whatever the URL; until the stream is closed its connection cannot run other statements
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT h FROM Hotel h JOIN FETCH h.owner")
+    Stream<Hotel> streamAllForExport();
+    
+    // Flag flips as single statements, so two admins toggling at once cannot both read the old value
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Hotel h SET h.isActive = CASE WHEN h.isActive = true THEN false ELSE true END, " +
+           "h.updatedBy = :updatedBy, h.updatedAt = :now WHERE h.id = :id")
+    int toggleActive(@Param("id") UUID id, @Param("updatedBy") UUID updatedBy, @Param("now") LocalDateTime now);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Hotel h SET h.isFeatured = CASE WHEN h.isFeatured = true THEN false ELSE true END, " +
+           "h.updatedBy = :updatedBy, h.updatedAt = :now WHERE h.id = :id")
+    int toggleFeatured(@Param("id") UUID id, @Param("updatedBy") UUID updatedBy, @Param("now") LocalDateTime now);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Hotel h SET h.isActive = :active, h.updatedBy = :updatedBy, h.updatedAt = :now " +
+           "WHERE h.id IN :ids AND h.isActive <> :active")
+    int updateActive(@Param("ids") Collection<UUID> ids, @Param("active") boolean active,
+                     @Param("updatedBy") UUID updatedBy, @Param("now") LocalDateTime now);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Hotel h SET h.isFeatured = :featured, h.updatedBy = :updatedBy, h.updatedAt = :now " +
+           "WHERE h.id IN :ids AND h.isFeatured <> :featured")
+    int updateFeatured(@Param("ids") Collection<UUID> ids, @Param("featured") boolean featured,
+                       @Param("updatedBy") UUID updatedBy, @Param("now") LocalDateTime now);
+    
+    @Query("SELECT h.id FROM Hotel h WHERE h.isActive <> :active " +
+           "AND (:ownerId IS NULL OR h.owner.id = :ownerId) AND (:city IS NULL OR LOWER(h.city) = LOWER(:city))")
+    List<UUID> findIdsToSetActive(@Param("active") boolean active, @Param("ownerId") UUID ownerId,
+                                  @Param("city") String city, Pageable pageable);
+    
+    @Query("SELECT h.id FROM Hotel h WHERE h.isFeatured <> :featured " +
+           "AND (:ownerId IS NULL OR h.owner.id = :ownerId) AND (:city IS NULL OR LOWER(h.city) = LOWER(:city))")
+    List<UUID> findIdsToSetFeatured(@Param("featured") boolean featured, @Param("ownerId") UUID ownerId,
+                                    @Param("city") String city, Pageable pageable);
+    
+    @Query("SELECT h.id AS id, h.name AS name, h.city AS city, h.country AS country, h.isActive AS active, " +
+           "COALESCE(s.reviewCount, 0) AS reviewCount FROM Hotel h LEFT JOIN HotelStatistics s ON s.hotelId = h.id " +
+           "WHERE h.id IN :ids")
+    List<HotelSuggestRow> findSuggestRowsByIdIn(@Param("ids") Collection<UUID> ids);
+}
@@ -0,0 +1,57 @@
+package net.blwsmartware.booking.repository;
+
+import jakarta.persistence.LockModeType;
+import net.blwsmartware.booking.entity.HotelStatistics;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface HotelStatisticsRepository extends JpaRepository<HotelStatistics, UUID> {
+
+    // Apply a review delta in place, returns 0 when the hotel has no statistics row yet
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE HotelStatistics s SET " +
+           "s.reviewCount = s.reviewCount + :countDelta, " +
+           "s.ratingSum = s.ratingSum + :ratingDelta, " +
+           "s.rating1 = s.rating1 + :one, s.rating2 = s.rating2 + :two, s.rating3 = s.rating3 + :three, " +
+           "s.rating4 = s.rating4 + :four, s.rating5 = s.rating5 + :five " +
+           "WHERE s.hotelId = :hotelId")
+    int applyReviewDelta(@Param("hotelId") UUID hotelId,
+                         @Param("countDelta") long countDelta,
+                         @Param("ratingDelta") long ratingDelta,
+                         @Param("one") long one,
+                         @Param("two") long two,
+                         @Param("three") long three,
+                         @Param("four") long four,
+                         @Param("five") long five);
+
+    // Room columns only, a review delta committed meanwhile on the same row is kept
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE HotelStatistics s SET " +
+           "s.totalRoomTypes = :totalRoomTypes, s.totalRooms = :totalRooms, s.availableRooms = :availableRooms, " +
+           "s.minPrice = :minPrice, s.maxPrice = :maxPrice " +
+           "WHERE s.hotelId = :hotelId")
+    int applyRoomTotals(@Param("hotelId") UUID hotelId,
+                        @Param("totalRoomTypes") long totalRoomTypes,
+                        @Param("totalRooms") long totalRooms,
+                        @Param("availableRooms") long availableRooms,
+                        @Param("minPrice") BigDecimal minPrice,
+                        @Param("maxPrice") BigDecimal maxPrice);
+
+    @Query("SELECT s.hotelId FROM HotelStatistics s")
+    List<UUID> findAllHotelIds();
+
+    // Drift repair: holds back review deltas of the hotel while it is recounted
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM HotelStatistics s WHERE s.hotelId = :hotelId")
+    Optional<HotelStatistics> lockById(@Param("hotelId") UUID hotelId);
+}
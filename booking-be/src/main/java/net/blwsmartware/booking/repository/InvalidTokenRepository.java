@@ -2,10 +2,21 @@ package net.blwsmartware.booking.repository;
 
 import net.blwsmartware.booking.entity.InvalidToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface InvalidTokenRepository extends JpaRepository<InvalidToken, UUID> {
+
+    List<InvalidToken> findAllByExprAfter(Instant now);
+
+    @Modifying
+    @Query("DELETE FROM InvalidToken t WHERE t.expr <= :now")
+    int deleteExpired(@Param("now") Instant now);
 }
@@ -0,0 +1,36 @@
+package net.blwsmartware.booking.repository;
+
+import net.blwsmartware.booking.entity.ReviewHelpfulVote;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ReviewHelpfulVoteRepository extends JpaRepository<ReviewHelpfulVote, UUID> {
+
+    boolean existsByReviewIdAndUserId(UUID reviewId, UUID userId);
+
+    // Superset of the stored votes among a batch; the caller matches exact pairs
+    List<ReviewHelpfulVote> findByReviewIdInAndUserIdIn(Collection<UUID> reviewIds, Collection<UUID> userIds);
+
+    @Modifying
+    @Query("DELETE FROM ReviewHelpfulVote v WHERE v.reviewId = :reviewId")
+    int deleteByReviewId(@Param("reviewId") UUID reviewId);
+
+    // Before the hotel's reviews go with it by cascade
+    @Modifying
+    @Query("DELETE FROM ReviewHelpfulVote v WHERE v.reviewId IN (SELECT r.id FROM Review r WHERE r.hotel.id = :hotelId)")
+    int deleteByHotelId(@Param("hotelId") UUID hotelId);
+
+    // Votes the user cast and votes on the user's reviews
+    @Modifying
+    @Query("DELETE FROM ReviewHelpfulVote v WHERE v.userId = :userId " +
+           "OR v.reviewId IN (SELECT r.id FROM Review r WHERE r.user.id = :userId)")
+    int deleteByUserId(@Param("userId") UUID userId);
+}
@@ -1,18 +1,29 @@
 package net.blwsmartware.booking.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import net.blwsmartware.booking.entity.Hotel;
 import net.blwsmartware.booking.entity.Review;
 import net.blwsmartware.booking.entity.User;
+import net.blwsmartware.booking.repository.projection.ReviewAggregate;
+import net.blwsmartware.booking.repository.projection.ReviewVoteTarget;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, UUID> {
@@ -21,6 +32,10 @@ public interface ReviewRepository extends JpaRepository<Review, UUID> {
     Page<Review> findByHotel(Hotel hotel, Pageable pageable);
     List<Review> findByHotel(Hotel hotel);
     
+    // Load search hits by id
+    List<Review> findByIdIn(Collection<UUID> ids);
+    Page<Review> findByIdIn(Collection<UUID> ids, Pageable pageable);
+    
     // Find reviews by hotel ID
     Page<Review> findByHotelId(UUID hotelId, Pageable pageable);
     List<Review> findByHotelId(UUID hotelId);
@@ -109,11 +124,78 @@ public interface ReviewRepository extends JpaRepository<Review, UUID> {
     // Count verified reviews
     long countByIsVerifiedTrue();
     
-    // Get average rating by hotel
-    @Query("SELECT AVG(r.rating) FROM Review r WHERE r.hotel.id = :hotelId AND r.isApproved = true")
-    Optional<Double> getAverageRatingByHotel(@Param("hotelId") UUID hotelId);
+    // Approved review count, rating sum and per-star counts per hotel (statistics rebuild and drift repair)
+    @Query("SELECT r.hotel.id AS hotelId, COUNT(r) AS reviewCount, COALESCE(SUM(r.rating), 0) AS ratingSum, " +
+           "SUM(CASE WHEN r.rating = 1 THEN 1 ELSE 0 END) AS oneStar, SUM(CASE WHEN r.rating = 2 THEN 1 ELSE 0 END) AS twoStar, " +
+           "SUM(CASE WHEN r.rating = 3 THEN 1 ELSE 0 END) AS threeStar, SUM(CASE WHEN r.rating = 4 THEN 1 ELSE 0 END) AS fourStar, " +
+           "SUM(CASE WHEN r.rating = 5 THEN 1 ELSE 0 END) AS fiveStar " +
+           "FROM Review r WHERE r.isApproved = true GROUP BY r.hotel.id")
+    List<ReviewAggregate> aggregateApprovedByHotel();
+    
+    @Query("SELECT r.hotel.id AS hotelId, COUNT(r) AS reviewCount, COALESCE(SUM(r.rating), 0) AS ratingSum, " +
+           "SUM(CASE WHEN r.rating = 1 THEN 1 ELSE 0 END) AS oneStar, SUM(CASE WHEN r.rating = 2 THEN 1 ELSE 0 END) AS twoStar, " +
+           "SUM(CASE WHEN r.rating = 3 THEN 1 ELSE 0 END) AS threeStar, SUM(CASE WHEN r.rating = 4 THEN 1 ELSE 0 END) AS fourStar, " +
+           "SUM(CASE WHEN r.rating = 5 THEN 1 ELSE 0 END) AS fiveStar " +
+           "FROM Review r WHERE r.hotel.id = :hotelId AND r.isApproved = true GROUP BY r.hotel.id")
+    Optional<ReviewAggregate> aggregateApprovedByHotel(@Param("hotelId") UUID hotelId);
     
     // Get recent reviews by hotel (limit 5)
     @Query("SELECT r FROM Review r WHERE r.hotel.id = :hotelId AND r.isApproved = true ORDER BY r.createdAt DESC")
     List<Review> findRecentReviewsByHotel(@Param("hotelId") UUID hotelId, Pageable pageable);
-} 
\ No newline at end of file
+    
+    // Forward-only read for exports, see HotelRepository.streamAllForExport
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT r FROM Review r JOIN FETCH r.hotel JOIN FETCH r.user")
+    Stream<Review> streamAllForExport();
+    
+    // Bulk moderation: the rows an approval change will touch, locked so statistics deltas match the update
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Review r WHERE r.id IN :ids AND r.isApproved <> :approved")
+    List<Review> lockForApproval(@Param("ids") Collection<UUID> ids, @Param("approved") boolean approved);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Review r WHERE r.isApproved <> :approved " +
+           "AND (:hotelId IS NULL OR r.hotel.id = :hotelId) AND (:rating IS NULL OR r.rating = :rating) " +
+           "AND (:verified IS NULL OR r.isVerified = :verified)")
+    List<Review> lockMatchingForApproval(@Param("approved") boolean approved,
+                                         @Param("hotelId") UUID hotelId,
+                                         @Param("rating") Integer rating,
+                                         @Param("verified") Boolean verified,
+                                         Pageable pageable);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Review r SET r.isApproved = :approved, r.updatedAt = :now " +
+           "WHERE r.id IN :ids AND r.isApproved <> :approved")
+    int updateApproval(@Param("ids") Collection<UUID> ids,
+                       @Param("approved") boolean approved,
+                       @Param("now") LocalDateTime now);
+    
+    @Query("SELECT r.id FROM Review r WHERE r.isVerified = false " +
+           "AND (:hotelId IS NULL OR r.hotel.id = :hotelId) AND (:rating IS NULL OR r.rating = :rating) " +
+           "AND (:approved IS NULL OR r.isApproved = :approved)")
+    List<UUID> findUnverifiedIds(@Param("hotelId") UUID hotelId,
+                                 @Param("rating") Integer rating,
+                                 @Param("approved") Boolean approved,
+                                 Pageable pageable);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Review r SET r.isVerified = true, r.updatedAt = :now WHERE r.id IN :ids AND r.isVerified = false")
+    int markVerified(@Param("ids") Collection<UUID> ids, @Param("now") LocalDateTime now);
+    
+    @Query("SELECT DISTINCT r.hotel.id FROM Review r WHERE r.id IN :ids")
+    List<UUID> findHotelIdsByIdIn(@Param("ids") Collection<UUID> ids);
+    
+    // Helpful votes: only approved reviews can be voted on
+    @Query("SELECT r.id AS id, r.user.id AS authorId, r.helpfulCount AS helpfulCount FROM Review r " +
+           "WHERE r.id = :id AND r.isApproved = true")
+    Optional<ReviewVoteTarget> findVoteTarget(@Param("id") UUID id);
+    
+    @Query("SELECT r.id FROM Review r WHERE r.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+    
+    // Write-behind flush: every review gaining the same number of votes in one statement, updatedAt left alone
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Review r SET r.helpfulCount = COALESCE(r.helpfulCount, 0) + :delta WHERE r.id IN :ids")
+    int addHelpfulVotes(@Param("ids") Collection<UUID> ids, @Param("delta") int delta);
+}
@@ -0,0 +1,62 @@
+package net.blwsmartware.booking.repository;
+
+import net.blwsmartware.booking.entity.RoomInventory;
+import net.blwsmartware.booking.repository.projection.SoldOutNight;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RoomInventoryRepository extends JpaRepository<RoomInventory, UUID> {
+
+    @Query("SELECT i.night FROM RoomInventory i WHERE i.roomTypeId = :roomTypeId " +
+           "AND i.night >= :from AND i.night < :to")
+    List<LocalDate> findNights(@Param("roomTypeId") UUID roomTypeId,
+                               @Param("from") LocalDate from,
+                               @Param("to") LocalDate to);
+
+    @Query("SELECT i.roomTypeId AS roomTypeId, i.night AS night FROM RoomInventory i " +
+           "WHERE i.night >= :from AND i.night < :to AND i.reserved >= i.capacity")
+    List<SoldOutNight> findSoldOut(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT i.roomTypeId AS roomTypeId, i.night AS night FROM RoomInventory i WHERE i.roomTypeId = :roomTypeId " +
+           "AND i.night >= :from AND i.night < :to AND i.reserved >= i.capacity")
+    List<SoldOutNight> findSoldOut(@Param("roomTypeId") UUID roomTypeId,
+                                   @Param("from") LocalDate from,
+                                   @Param("to") LocalDate to);
+
+    // Takes rooms from every night in [from, to) that still has them; fewer rows than nights means sold out
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE RoomInventory i SET i.reserved = i.reserved + :rooms " +
+           "WHERE i.roomTypeId = :roomTypeId AND i.night >= :from AND i.night < :to " +
+           "AND i.capacity - i.reserved >= :rooms")
+    int reserve(@Param("roomTypeId") UUID roomTypeId,
+                @Param("from") LocalDate from,
+                @Param("to") LocalDate to,
+                @Param("rooms") int rooms);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE RoomInventory i SET i.reserved = i.reserved - :rooms " +
+           "WHERE i.roomTypeId = :roomTypeId AND i.night >= :from AND i.night < :to AND i.reserved >= :rooms")
+    int release(@Param("roomTypeId") UUID roomTypeId,
+                @Param("from") LocalDate from,
+                @Param("to") LocalDate to,
+                @Param("rooms") int rooms);
+
+    // Follows a change of RoomType.totalRooms for nights that have not passed yet
+    @Modifying
+    @Query("UPDATE RoomInventory i SET i.capacity = :capacity WHERE i.roomTypeId = :roomTypeId AND i.night >= :from")
+    int resize(@Param("roomTypeId") UUID roomTypeId,
+               @Param("from") LocalDate from,
+               @Param("capacity") int capacity);
+
+    @Modifying
+    @Query("DELETE FROM RoomInventory i WHERE i.roomTypeId IN :roomTypeIds")
+    int deleteByRoomTypeIds(@Param("roomTypeIds") List<UUID> roomTypeIds);
+}
@@ -1,17 +1,27 @@
 package net.blwsmartware.booking.repository;
 
+import jakarta.persistence.QueryHint;
 import net.blwsmartware.booking.entity.Hotel;
 import net.blwsmartware.booking.entity.RoomType;
+import net.blwsmartware.booking.repository.projection.RoomTypeAggregate;
+import net.blwsmartware.booking.repository.projection.RoomTypeKey;
+import net.blwsmartware.booking.repository.projection.RoomTypeStock;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface RoomTypeRepository extends JpaRepository<RoomType, UUID> {
@@ -20,6 +30,10 @@ public interface RoomTypeRepository extends JpaRepository<RoomType, UUID> {
     Page<RoomType> findByHotel(Hotel hotel, Pageable pageable);
     List<RoomType> findByHotel(Hotel hotel);
     
+    // Load search hits by id
+    List<RoomType> findByIdIn(Collection<UUID> ids);
+    Page<RoomType> findByIdIn(Collection<UUID> ids, Pageable pageable);
+    
     // Find room types by hotel ID
     Page<RoomType> findByHotelId(UUID hotelId, Pageable pageable);
     List<RoomType> findByHotelId(UUID hotelId);
@@ -113,4 +127,52 @@ public interface RoomTypeRepository extends JpaRepository<RoomType, UUID> {
     
     @Query("SELECT MAX(rt.pricePerNight) FROM RoomType rt WHERE rt.hotel.id = :hotelId AND rt.isActive = true")
     BigDecimal getMaxPriceByHotel(@Param("hotelId") UUID hotelId);
-} 
\ No newline at end of file
+    
+    // All room aggregates for a hotel in one pass
+    @Query("SELECT COUNT(rt) AS totalRoomTypes, " +
+           "COALESCE(SUM(rt.totalRooms), 0) AS totalRooms, " +
+           "COALESCE(SUM(rt.availableRooms), 0) AS availableRooms, " +
+           "MIN(rt.pricePerNight) AS minPrice, " +
+           "MAX(rt.pricePerNight) AS maxPrice " +
+           "FROM RoomType rt WHERE rt.hotel.id = :hotelId AND rt.isActive = true")
+    RoomTypeAggregate aggregateByHotel(@Param("hotelId") UUID hotelId);
+    
+    // Same aggregate for every hotel with an active room type, in one query
+    @Query("SELECT rt.hotel.id AS hotelId, COUNT(rt) AS totalRoomTypes, " +
+           "COALESCE(SUM(rt.totalRooms), 0) AS totalRooms, " +
+           "COALESCE(SUM(rt.availableRooms), 0) AS availableRooms, " +
+           "MIN(rt.pricePerNight) AS minPrice, " +
+           "MAX(rt.pricePerNight) AS maxPrice " +
+           "FROM RoomType rt WHERE rt.isActive = true GROUP BY rt.hotel.id")
+    List<RoomTypeAggregate> aggregateAllByHotel();
+    
+    @Query("SELECT rt.hotel.id AS hotelId, rt.name AS name FROM RoomType rt")
+    List<RoomTypeKey> findAllKeys();
+    
+    // Booking-relevant facts only, for the availability index
+    @Query("SELECT rt.id AS id, rt.hotel.id AS hotelId, rt.maxOccupancy AS maxOccupancy, " +
+           "rt.totalRooms AS totalRooms, rt.isActive AS active FROM RoomType rt")
+    List<RoomTypeStock> findAllStock();
+    
+    @Query("SELECT rt.id AS id, rt.hotel.id AS hotelId, rt.maxOccupancy AS maxOccupancy, " +
+           "rt.totalRooms AS totalRooms, rt.isActive AS active FROM RoomType rt WHERE rt.id = :id")
+    Optional<RoomTypeStock> findStockById(@Param("id") UUID id);
+    
+    // Hotels with a room type that has a free room on every night of [checkIn, checkOut); nights without an
+    // inventory row have not been booked yet
+    @Query("SELECT DISTINCT rt.hotel.id FROM RoomType rt WHERE rt.isActive = true AND rt.hotel.isActive = true " +
+           "AND (:city IS NULL OR LOWER(rt.hotel.city) = LOWER(:city)) " +
+           "AND rt.maxOccupancy >= :guests AND rt.totalRooms > 0 " +
+           "AND NOT EXISTS (SELECT i.id FROM RoomInventory i WHERE i.roomTypeId = rt.id " +
+           "AND i.night >= :checkIn AND i.night < :checkOut AND i.reserved >= i.capacity)")
+    List<UUID> findAvailableHotelIds(@Param("city") String city,
+                                     @Param("guests") int guests,
+                                     @Param("checkIn") LocalDate checkIn,
+                                     @Param("checkOut") LocalDate checkOut);
+    
+    // Forward-only read for exports, see HotelRepository.streamAllForExport
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+                 @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT rt FROM RoomType rt JOIN FETCH rt.hotel")
+    Stream<RoomType> streamAllForExport();
+}
@@ -0,0 +1,42 @@
+package net.blwsmartware.booking.repository.keyset;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import net.blwsmartware.booking.exception.AppException;
+import net.blwsmartware.booking.exception.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque continuation token: the sort property, the id and the sort value of the last row returned.
+ * Values travel as strings and are converted back using the attribute's Java type.
+ */
+@Getter
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class KeysetCursor {
+    String sortBy;
+    UUID id;
+    // null when the row's sort value was null
+    String value;
+
+    public String encode() {
+        String raw = sortBy + "\n" + id + "\n" + (value == null ? "0" : "1" + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\n", 3);
+            String value = parts[2].startsWith("1") ? parts[2].substring(1) : null;
+            return new KeysetCursor(parts[0], UUID.fromString(parts[1]), value);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new AppException(ErrorCode.INVALID_CURSOR);
+        }
+    }
+}
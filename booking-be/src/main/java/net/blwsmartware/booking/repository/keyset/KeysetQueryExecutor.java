@@ -0,0 +1,146 @@
+package net.blwsmartware.booking.repository.keyset;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import net.blwsmartware.booking.exception.AppException;
+import net.blwsmartware.booking.exception.ErrorCode;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Runs list queries ordered by (sortBy, id) with LIMIT size + 1, either seeking past a cursor
+ * or at an offset, and only issues the COUNT(*) when asked to.
+ * Null sort values are treated as the lowest value, matching MySQL and H2 ordering.
+ */
+@Repository
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class KeysetQueryExecutor {
+
+    private static final String ID = "id";
+    private static final ConversionService CONVERSION = DefaultConversionService.getSharedInstance();
+    // java.time values are written ISO-8601 by toString(), which DefaultConversionService cannot read back
+    private static final Map<Class<?>, Function<String, Object>> PARSERS = Map.of(
+            LocalDateTime.class, LocalDateTime::parse,
+            LocalDate.class, LocalDate::parse,
+            Instant.class, Instant::parse);
+
+    EntityManager entityManager;
+
+    public <T> KeysetSlice<T> fetch(Class<T> type, Specification<T> spec, String entityGraph, KeysetRequest request) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(type);
+        Root<T> root = query.from(type);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (spec != null) {
+            Predicate filter = spec.toPredicate(root, query, cb);
+            if (filter != null) {
+                predicates.add(filter);
+            }
+        }
+        boolean ascending = request.getDirection().isAscending();
+        if (request.isCursorMode() && !request.getCursor().isEmpty()) {
+            KeysetCursor cursor = KeysetCursor.decode(request.getCursor());
+            if (!cursor.getSortBy().equals(request.getSortBy())) {
+                throw new AppException(ErrorCode.INVALID_CURSOR);
+            }
+            predicates.add(after(cb, root, request.getSortBy(), ascending, cursor));
+        }
+        query.select(root).where(predicates.toArray(Predicate[]::new));
+
+        Path<?> sortPath = root.get(request.getSortBy());
+        Path<?> idPath = root.get(ID);
+        query.orderBy(ascending
+                ? List.of(cb.asc(sortPath), cb.asc(idPath))
+                : List.of(cb.desc(sortPath), cb.desc(idPath)));
+
+        TypedQuery<T> typedQuery = entityManager.createQuery(query)
+                .setMaxResults(request.getPageSize() + 1);
+        if (!request.isCursorMode()) {
+            typedQuery.setFirstResult(request.getPageNumber() * request.getPageSize());
+        }
+        if (entityGraph != null) {
+            typedQuery.setHint("jakarta.persistence.fetchgraph", entityManager.getEntityGraph(entityGraph));
+        }
+
+        List<T> rows = typedQuery.getResultList();
+        boolean hasNext = rows.size() > request.getPageSize();
+        List<T> content = hasNext ? rows.subList(0, request.getPageSize()) : rows;
+        String nextCursor = hasNext ? cursorFor(content.get(content.size() - 1), request.getSortBy()) : null;
+        Long total = request.isSkipCount() ? null : count(type, spec);
+
+        return new KeysetSlice<>(content, request.isCursorMode() ? 0 : request.getPageNumber(),
+                request.getPageSize(), hasNext, nextCursor, total);
+    }
+
+    // Rows strictly after the cursor in (sortBy, id) order
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <T> Predicate after(CriteriaBuilder cb, Root<T> root, String sortBy, boolean ascending, KeysetCursor cursor) {
+        Path sortPath = root.get(sortBy);
+        Path<UUID> idPath = root.get(ID);
+        UUID id = cursor.getId();
+        Predicate idAfter = ascending ? cb.greaterThan(idPath, id) : cb.lessThan(idPath, id);
+
+        if (cursor.getValue() == null) {
+            Predicate sameNull = cb.and(cb.isNull(sortPath), idAfter);
+            return ascending ? cb.or(cb.isNotNull(sortPath), sameNull) : sameNull;
+        }
+
+        Comparable value = (Comparable) cursorValue(cursor.getValue(), sortPath.getJavaType());
+        Predicate tie = cb.and(cb.equal(sortPath, value), idAfter);
+        if (ascending) {
+            return cb.or(cb.greaterThan(sortPath, value), tie);
+        }
+        return cb.or(cb.lessThan(sortPath, value), tie, cb.isNull(sortPath));
+    }
+
+    static Object cursorValue(String value, Class<?> type) {
+        try {
+            Function<String, Object> parser = PARSERS.get(type);
+            return parser != null ? parser.apply(value) : CONVERSION.convert(value, type);
+        } catch (ConversionException | DateTimeParseException e) {
+            throw new AppException(ErrorCode.INVALID_CURSOR);
+        }
+    }
+
+    static String cursorFor(Object row, String sortBy) {
+        DirectFieldAccessor accessor = new DirectFieldAccessor(row);
+        Object value = accessor.getPropertyValue(sortBy);
+        UUID id = (UUID) accessor.getPropertyValue(ID);
+        return new KeysetCursor(sortBy, id, value == null ? null : value.toString()).encode();
+    }
+
+    private <T> long count(Class<T> type, Specification<T> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(type);
+        query.select(cb.count(root));
+        if (spec != null) {
+            Predicate filter = spec.toPredicate(root, query, cb);
+            if (filter != null) {
+                query.where(filter);
+            }
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -0,0 +1,42 @@
+package net.blwsmartware.booking.repository.keyset;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Value;
+import lombok.experimental.FieldDefaults;
+import org.springframework.data.domain.Sort;
+
+// Page request that can seek from a cursor and skip the COUNT(*)
+@Value
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class KeysetRequest {
+    String sortBy;
+    Sort.Direction direction;
+    // null = offset mode, "" = first page in cursor mode
+    String cursor;
+    int pageNumber;
+    int pageSize;
+    boolean skipCount;
+
+    public static KeysetRequest of(Integer pageNumber, Integer pageSize, String sortBy, Sort.Direction direction,
+                                   String cursor, Boolean skipCount) {
+        return KeysetRequest.builder()
+                .pageNumber(pageNumber)
+                .pageSize(pageSize)
+                .sortBy(sortBy)
+                .direction(direction)
+                .cursor(cursor)
+                .skipCount(Boolean.TRUE.equals(skipCount))
+                .build();
+    }
+
+    public boolean isCursorMode() {
+        return cursor != null;
+    }
+
+    // Offset queries that need the total keep going through Spring Data's Page
+    public boolean isPlainPage() {
+        return cursor == null && !skipCount;
+    }
+}
@@ -0,0 +1,22 @@
+package net.blwsmartware.booking.repository.keyset;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class KeysetSlice<T> {
+    List<T> content;
+    int pageNumber;
+    int pageSize;
+    boolean hasNext;
+    // Continuation token for the row after the last one, null on the last page
+    String nextCursor;
+    // null when the count was skipped
+    Long totalElements;
+}
@@ -0,0 +1,14 @@
+package net.blwsmartware.booking.repository.projection;
+
+public interface DashboardCounters {
+    Long getTotalHotels();
+    Long getActiveHotels();
+    Long getFeaturedHotels();
+    Long getTotalRoomTypes();
+    Long getActiveRoomTypes();
+    Long getTotalReviews();
+    Long getApprovedReviews();
+    Long getVerifiedReviews();
+    Long getTotalUsers();
+    Long getActiveUsers();
+}
@@ -0,0 +1,14 @@
+package net.blwsmartware.booking.repository.projection;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public interface HotelFacetRow {
+    UUID getId();
+    String getCity();
+    String getCountry();
+    Integer getStarRating();
+    Boolean getActive();
+    Boolean getFeatured();
+    BigDecimal getPricePerNight();
+}
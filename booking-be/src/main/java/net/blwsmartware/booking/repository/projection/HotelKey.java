@@ -0,0 +1,9 @@
+package net.blwsmartware.booking.repository.projection;
+
+import java.util.UUID;
+
+public interface HotelKey {
+    UUID getId();
+    String getName();
+    String getCity();
+}
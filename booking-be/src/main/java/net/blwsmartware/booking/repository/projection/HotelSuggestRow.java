@@ -0,0 +1,12 @@
+package net.blwsmartware.booking.repository.projection;
+
+import java.util.UUID;
+
+public interface HotelSuggestRow {
+    UUID getId();
+    String getName();
+    String getCity();
+    String getCountry();
+    Boolean getActive();
+    Long getReviewCount();
+}
@@ -0,0 +1,14 @@
+package net.blwsmartware.booking.repository.projection;
+
+import java.util.UUID;
+
+public interface ReviewAggregate {
+    UUID getHotelId();
+    Long getReviewCount();
+    Long getRatingSum();
+    Long getOneStar();
+    Long getTwoStar();
+    Long getThreeStar();
+    Long getFourStar();
+    Long getFiveStar();
+}
@@ -0,0 +1,14 @@
+package net.blwsmartware.booking.repository.projection;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public interface RoomTypeAggregate {
+    // Only set by the grouped query
+    UUID getHotelId();
+    Long getTotalRoomTypes();
+    Long getTotalRooms();
+    Long getAvailableRooms();
+    BigDecimal getMinPrice();
+    BigDecimal getMaxPrice();
+}
@@ -0,0 +1,8 @@
+package net.blwsmartware.booking.repository.projection;
+
+import java.util.UUID;
+
+public interface RoomTypeKey {
+    UUID getHotelId();
+    String getName();
+}
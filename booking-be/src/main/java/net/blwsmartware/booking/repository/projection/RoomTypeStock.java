@@ -0,0 +1,11 @@
+package net.blwsmartware.booking.repository.projection;
+
+import java.util.UUID;
+
+public interface RoomTypeStock {
+    UUID getId();
+    UUID getHotelId();
+    Integer getMaxOccupancy();
+    Integer getTotalRooms();
+    Boolean getActive();
+}
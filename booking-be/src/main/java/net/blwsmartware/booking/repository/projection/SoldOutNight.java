@@ -0,0 +1,9 @@
+package net.blwsmartware.booking.repository.projection;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface SoldOutNight {
+    UUID getRoomTypeId();
+    LocalDate getNight();
+}
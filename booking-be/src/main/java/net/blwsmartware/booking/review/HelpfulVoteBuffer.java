@@ -0,0 +1,216 @@
+package net.blwsmartware.booking.review;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.blwsmartware.booking.entity.ReviewHelpfulVote;
+import net.blwsmartware.booking.exception.AppException;
+import net.blwsmartware.booking.exception.ErrorCode;
+import net.blwsmartware.booking.repository.ReviewHelpfulVoteRepository;
+import net.blwsmartware.booking.repository.ReviewRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind "helpful" votes. Votes wait in memory and are flushed periodically, one transaction per batch that
+ * inserts the vote rows and adds the new votes to helpful_count. Reviews gaining the same number of votes share one
+ * UPDATE, so a popular review costs one row write per flush however many votes it gets.
+ * A vote is checked against the pending set and then the stored votes, and leaves the pending set only once its row
+ * is committed, so a repeated vote always meets one or the other. Flushes are serialized by a ReentrantLock rather
+ * than a monitor, so a virtual thread waiting on a flush does not pin its carrier.
+ */
+@Component
+@Slf4j
+public class HelpfulVoteBuffer {
+
+    private final ReviewRepository reviewRepository;
+    private final ReviewHelpfulVoteRepository voteRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxPending;
+
+    private final Set<Vote> pending = ConcurrentHashMap.newKeySet();
+    // Pending votes per review, dropped at zero; striped so votes on one hot review do not contend
+    private final Map<UUID, Counter> unflushed = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public HelpfulVoteBuffer(ReviewRepository reviewRepository,
+                             ReviewHelpfulVoteRepository voteRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${config.review-votes.batch-size}") int batchSize,
+                             @Value("${config.review-votes.max-pending}") int maxPending) {
+        this.reviewRepository = reviewRepository;
+        this.voteRepository = voteRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+    }
+
+    // False when the user has already voted for the review
+    public boolean vote(UUID reviewId, UUID userId) {
+        if (pending.size() >= maxPending) {
+            // Flushes are failing or far behind
+            throw new AppException(ErrorCode.REVIEW_VOTES_BUSY);
+        }
+        Vote vote = new Vote(reviewId, userId);
+        // Counted before a flush can see it; whoever takes the vote out of the pending set uncounts it
+        count(reviewId);
+        if (!pending.add(vote)) {
+            release(reviewId, 1);
+            return false;
+        }
+        boolean stored;
+        try {
+            // Own read-write transaction: runs on the primary and sees any flush committed after the add above
+            stored = Boolean.TRUE.equals(transactionTemplate.execute(
+                    status -> voteRepository.existsByReviewIdAndUserId(reviewId, userId)));
+        } catch (RuntimeException e) {
+            discard(vote);
+            throw e;
+        }
+        if (stored) {
+            discard(vote);
+            return false;
+        }
+        return true;
+    }
+
+    public long unflushed(UUID reviewId) {
+        Counter counter = unflushed.get(reviewId);
+        return counter == null ? 0 : counter.votes.sum();
+    }
+
+    // The review is being deleted, its pending votes are dropped instead of flushed
+    public void discardReview(UUID reviewId) {
+        pending.stream().filter(vote -> vote.reviewId().equals(reviewId)).toList().forEach(this::discard);
+    }
+
+    @Scheduled(fixedDelayString = "${config.review-votes.flush-interval-ms}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void flushPending() {
+        while (!pending.isEmpty()) {
+            List<Vote> batch = new ArrayList<>(batchSize);
+            for (Vote vote : pending) {
+                batch.add(vote);
+                if (batch.size() == batchSize) {
+                    break;
+                }
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(batch));
+            } catch (RuntimeException e) {
+                log.error("Helpful vote flush failed, {} votes kept for the next run: {}", pending.size(), e.getMessage());
+                return;
+            }
+            // Every vote of the batch is settled, written or skipped as already stored
+            Map<UUID, Long> settled = new HashMap<>();
+            for (Vote vote : batch) {
+                if (pending.remove(vote)) {
+                    settled.merge(vote.reviewId(), 1L, Long::sum);
+                }
+            }
+            settled.forEach(this::release);
+        }
+    }
+
+    private void discard(Vote vote) {
+        if (pending.remove(vote)) {
+            release(vote.reviewId(), 1);
+        }
+    }
+
+    private void count(UUID reviewId) {
+        while (true) {
+            Counter counter = unflushed.computeIfAbsent(reviewId, id -> new Counter());
+            counter.votes.increment();
+            if (!counter.retired) {
+                return;
+            }
+            // Dropped by a concurrent release, count on its replacement
+            counter.votes.decrement();
+        }
+    }
+
+    // Retired before the zero check and counted before the retired check, so one side always sees the other
+    private void release(UUID reviewId, long votes) {
+        unflushed.computeIfPresent(reviewId, (id, counter) -> {
+            counter.votes.add(-votes);
+            counter.retired = true;
+            if (counter.votes.sum() == 0) {
+                return null;
+            }
+            counter.retired = false;
+            return counter;
+        });
+    }
+
+    private void write(List<Vote> batch) {
+        Set<UUID> reviewIds = new HashSet<>();
+        Set<UUID> userIds = new HashSet<>();
+        batch.forEach(vote -> {
+            reviewIds.add(vote.reviewId());
+            userIds.add(vote.userId());
+        });
+        // Another instance may have stored the same vote since it was accepted here
+        Set<Vote> stored = new HashSet<>();
+        voteRepository.findByReviewIdInAndUserIdIn(reviewIds, userIds)
+                .forEach(row -> stored.add(new Vote(row.getReviewId(), row.getUserId())));
+        // Reviews deleted since the vote, review_id has no foreign key to stop the insert
+        Set<UUID> existing = new HashSet<>(reviewRepository.findExistingIds(reviewIds));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ReviewHelpfulVote> rows = new ArrayList<>(batch.size());
+        Map<UUID, Integer> added = new HashMap<>();
+        for (Vote vote : batch) {
+            if (!stored.contains(vote) && existing.contains(vote.reviewId())) {
+                rows.add(ReviewHelpfulVote.builder()
+                        .reviewId(vote.reviewId())
+                        .userId(vote.userId())
+                        .createdAt(now)
+                        .build());
+                added.merge(vote.reviewId(), 1, Integer::sum);
+            }
+        }
+        voteRepository.saveAll(rows);
+
+        // One UPDATE per distinct increment, usually a single "+ 1" for the whole batch
+        Map<Integer, List<UUID>> byDelta = new HashMap<>();
+        added.forEach((reviewId, delta) -> byDelta.computeIfAbsent(delta, d -> new ArrayList<>()).add(reviewId));
+        byDelta.forEach((delta, ids) -> reviewRepository.addHelpfulVotes(ids, delta));
+    }
+
+    private record Vote(UUID reviewId, UUID userId) {
+    }
+
+    private static final class Counter {
+        final LongAdder votes = new LongAdder();
+        volatile boolean retired;
+    }
+}
@@ -0,0 +1,319 @@
+package net.blwsmartware.booking.search;
+
+import lombok.extern.slf4j.Slf4j;
+import net.blwsmartware.booking.event.CatalogImportedEvent;
+import net.blwsmartware.booking.event.HotelChangedEvent;
+import net.blwsmartware.booking.event.HotelsChangedEvent;
+import net.blwsmartware.booking.event.InventoryChangedEvent;
+import net.blwsmartware.booking.event.RoomTypeChangedEvent;
+import net.blwsmartware.booking.repository.HotelRepository;
+import net.blwsmartware.booking.repository.RoomInventoryRepository;
+import net.blwsmartware.booking.repository.RoomTypeRepository;
+import net.blwsmartware.booking.repository.projection.HotelCity;
+import net.blwsmartware.booking.repository.projection.RoomTypeStock;
+import net.blwsmartware.booking.repository.projection.SoldOutNight;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Which room types still have a free room on which night, for a rolling window that starts today. Each room type
+ * keeps one bit per night, so checking a stay is a few masked word comparisons instead of an inventory scan.
+ * Rebuilt at startup and every night, and kept current from the inventory and catalog change events in between.
+ */
+@Component
+@Slf4j
+public class AvailabilityIndex {
+
+    static final int WINDOW_DAYS = 365;
+    private static final int WORDS = (WINDOW_DAYS + Long.SIZE - 1) / Long.SIZE;
+
+    private final RoomTypeRepository roomTypeRepository;
+    private final HotelRepository hotelRepository;
+    private final RoomInventoryRepository roomInventoryRepository;
+
+    private volatile Window window;
+
+    // Changes seen while a rebuild is reading the database, replayed on the new window once it is in place
+    private final Set<UUID> changedRoomTypes = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> changedHotels = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+
+    public AvailabilityIndex(RoomTypeRepository roomTypeRepository,
+                             HotelRepository hotelRepository,
+                             RoomInventoryRepository roomInventoryRepository) {
+        this.roomTypeRepository = roomTypeRepository;
+        this.hotelRepository = hotelRepository;
+        this.roomInventoryRepository = roomInventoryRepository;
+    }
+
+    // Hotels with a room type for the guests that is free every night of [checkIn, checkOut)
+    public List<UUID> findAvailableHotels(String city, LocalDate checkIn, LocalDate checkOut, int guests) {
+        String trimmedCity = city == null || city.isBlank() ? null : city.trim();
+        Window current = window;
+        if (current == null || checkIn.isBefore(current.start) || checkOut.isAfter(current.end())) {
+            // Not built yet or beyond the window, ask the database
+            return roomTypeRepository.findAvailableHotelIds(trimmedCity, guests, checkIn, checkOut);
+        }
+
+        String cityKey = trimmedCity == null ? null : TextNormalizer.fold(trimmedCity);
+        int from = current.offset(checkIn);
+        int to = current.offset(checkOut);
+        Set<UUID> hotelIds = new LinkedHashSet<>();
+        current.roomTypes.values().forEach(stock -> {
+            UUID hotelId = stock.hotelId;
+            if (hotelId == null || hotelIds.contains(hotelId)) {
+                return;
+            }
+            HotelFacts hotel = current.hotels.get(hotelId);
+            if (hotel != null && hotel.active() && (cityKey == null || cityKey.equals(hotel.cityKey()))
+                    && stock.isAvailable(guests, from, to)) {
+                hotelIds.add(hotelId);
+            }
+        });
+        return new ArrayList<>(hotelIds);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    // The window moves by a day at midnight
+    @Scheduled(cron = "${config.search.availability-rebuild-cron}")
+    public void rebuild() {
+        changedRoomTypes.clear();
+        changedHotels.clear();
+        rebuilding = true;
+        try {
+            Window next = new Window(LocalDate.now());
+            hotelRepository.findAllCities().forEach(hotel -> next.hotels.put(hotel.getId(), HotelFacts.of(hotel)));
+            roomTypeRepository.findAllStock().forEach(row -> {
+                Stock stock = new Stock();
+                stock.refresh(row);
+                next.roomTypes.put(row.getId(), stock);
+            });
+            List<SoldOutNight> soldOut = roomInventoryRepository.findSoldOut(next.start, next.end());
+            soldOut.forEach(night -> {
+                Stock stock = next.roomTypes.get(night.getRoomTypeId());
+                if (stock != null) {
+                    stock.close(next.offset(night.getNight()));
+                }
+            });
+            window = next;
+            log.info("Availability index built from {}: {} room types, {} sold-out nights",
+                    next.start, next.roomTypes.size(), soldOut.size());
+        } finally {
+            rebuilding = false;
+        }
+        reloadHotels(changedHotels);
+        changedRoomTypes.forEach(this::reloadRoomType);
+    }
+
+    @EventListener
+    public void onCatalogImported(CatalogImportedEvent event) {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInventoryChanged(InventoryChangedEvent event) {
+        UUID roomTypeId = event.getRoomTypeId();
+        if (rebuilding) {
+            changedRoomTypes.add(roomTypeId);
+        }
+        Window current = window;
+        Stock stock = current == null ? null : current.roomTypes.get(roomTypeId);
+        if (stock == null) {
+            return;
+        }
+        LocalDate from = event.getFrom().isBefore(current.start) ? current.start : event.getFrom();
+        LocalDate to = event.getTo() == null || event.getTo().isAfter(current.end()) ? current.end() : event.getTo();
+        if (!from.isBefore(to)) {
+            return;
+        }
+        // Read under the lock so a later change is never overwritten by an earlier read
+        stock.lock.lock();
+        try {
+            stock.reload(current, roomInventoryRepository.findSoldOut(roomTypeId, from, to), from, to);
+        } finally {
+            stock.lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomTypeChanged(RoomTypeChangedEvent event) {
+        if (rebuilding) {
+            changedRoomTypes.add(event.getRoomTypeId());
+        }
+        reloadRoomType(event.getRoomTypeId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHotelChanged(HotelChangedEvent event) {
+        if (rebuilding) {
+            changedHotels.add(event.getHotelId());
+        }
+        reloadHotel(event.getHotelId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHotelsChanged(HotelsChangedEvent event) {
+        if (rebuilding) {
+            changedHotels.addAll(event.getHotelIds());
+        }
+        reloadHotels(event.getHotelIds());
+    }
+
+    private void reloadRoomType(UUID roomTypeId) {
+        Window current = window;
+        if (current == null) {
+            return;
+        }
+        roomTypeRepository.findStockById(roomTypeId).ifPresentOrElse(row -> {
+            Stock stock = current.roomTypes.computeIfAbsent(roomTypeId, id -> new Stock());
+            stock.lock.lock();
+            try {
+                stock.refresh(row);
+                stock.reload(current, roomInventoryRepository.findSoldOut(roomTypeId, current.start, current.end()),
+                        current.start, current.end());
+            } finally {
+                stock.lock.unlock();
+            }
+        }, () -> current.roomTypes.remove(roomTypeId));
+    }
+
+    private void reloadHotel(UUID hotelId) {
+        Window current = window;
+        if (current == null) {
+            return;
+        }
+        hotelRepository.findCityById(hotelId).ifPresentOrElse(
+                hotel -> current.hotels.put(hotelId, HotelFacts.of(hotel)),
+                () -> removeHotel(current, hotelId));
+    }
+
+    private void reloadHotels(Collection<UUID> hotelIds) {
+        Window current = window;
+        if (current == null || hotelIds.isEmpty()) {
+            return;
+        }
+        Set<UUID> missing = new HashSet<>(hotelIds);
+        hotelRepository.findCitiesByIdIn(hotelIds).forEach(hotel -> {
+            current.hotels.put(hotel.getId(), HotelFacts.of(hotel));
+            missing.remove(hotel.getId());
+        });
+        missing.forEach(hotelId -> removeHotel(current, hotelId));
+    }
+
+    // Room types are removed with the hotel by cascade
+    private static void removeHotel(Window window, UUID hotelId) {
+        window.hotels.remove(hotelId);
+        window.roomTypes.values().removeIf(stock -> hotelId.equals(stock.hotelId));
+    }
+
+    private static final class Window {
+        final LocalDate start;
+        final Map<UUID, Stock> roomTypes = new ConcurrentHashMap<>();
+        final Map<UUID, HotelFacts> hotels = new ConcurrentHashMap<>();
+
+        Window(LocalDate start) {
+            this.start = start;
+        }
+
+        LocalDate end() {
+            return start.plusDays(WINDOW_DAYS);
+        }
+
+        int offset(LocalDate night) {
+            return (int) ChronoUnit.DAYS.between(start, night);
+        }
+    }
+
+    private record HotelFacts(String cityKey, boolean active) {
+        static HotelFacts of(HotelCity hotel) {
+            return new HotelFacts(TextNormalizer.fold(hotel.getCity()).trim(), Boolean.TRUE.equals(hotel.getActive()));
+        }
+    }
+
+    // One room type; a set bit means at least one room is free that night. Nights without an inventory row are free
+    private static final class Stock {
+        final ReentrantLock lock = new ReentrantLock();
+        final long[] open = new long[WORDS];
+        volatile UUID hotelId;
+        int maxOccupancy;
+        boolean bookable;
+
+        Stock() {
+            openRange(0, WINDOW_DAYS);
+        }
+
+        void refresh(RoomTypeStock row) {
+            hotelId = row.getHotelId();
+            maxOccupancy = row.getMaxOccupancy() != null ? row.getMaxOccupancy() : 0;
+            bookable = Boolean.TRUE.equals(row.getActive()) && row.getTotalRooms() != null && row.getTotalRooms() > 0;
+        }
+
+        // Caller holds the lock
+        void reload(Window window, List<SoldOutNight> soldOut, LocalDate from, LocalDate to) {
+            openRange(window.offset(from), window.offset(to));
+            soldOut.forEach(night -> close(window.offset(night.getNight())));
+        }
+
+        void close(int night) {
+            open[night >>> 6] &= ~(1L << (night & 63));
+        }
+
+        boolean isAvailable(int guests, int from, int to) {
+            lock.lock();
+            try {
+                return bookable && maxOccupancy >= guests && allSet(from, to);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean allSet(int from, int to) {
+            for (int night = from; night < to; ) {
+                int word = night >>> 6;
+                int end = Math.min(to, (word + 1) << 6);
+                long mask = mask(night, end);
+                if ((open[word] & mask) != mask) {
+                    return false;
+                }
+                night = end;
+            }
+            return true;
+        }
+
+        private void openRange(int from, int to) {
+            for (int night = from; night < to; ) {
+                int word = night >>> 6;
+                int end = Math.min(to, (word + 1) << 6);
+                long mask = mask(night, end);
+                open[word] |= mask;
+                night = end;
+            }
+        }
+
+        // Bits [from, end) of one word, both within the same word
+        private static long mask(int from, int end) {
+            int length = end - from;
+            return length == Long.SIZE ? -1L : ((1L << length) - 1) << (from & 63);
+        }
+    }
+}
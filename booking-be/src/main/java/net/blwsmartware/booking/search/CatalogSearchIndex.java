@@ -0,0 +1,249 @@
+package net.blwsmartware.booking.search;
+
+import lombok.extern.slf4j.Slf4j;
+import net.blwsmartware.booking.entity.Hotel;
+import net.blwsmartware.booking.entity.Review;
+import net.blwsmartware.booking.entity.RoomType;
+import net.blwsmartware.booking.event.CatalogImportedEvent;
+import net.blwsmartware.booking.event.HotelChangedEvent;
+import net.blwsmartware.booking.event.HotelsChangedEvent;
+import net.blwsmartware.booking.event.ReviewChangedEvent;
+import net.blwsmartware.booking.event.RoomTypeChangedEvent;
+import net.blwsmartware.booking.repository.HotelRepository;
+import net.blwsmartware.booking.repository.ReviewRepository;
+import net.blwsmartware.booking.repository.RoomTypeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Search indexes for hotels, room types and reviews.
+ * Built at startup and after imports, and kept current from the change events published by the services.
+ */
+@Component
+@Slf4j
+public class CatalogSearchIndex {
+
+    private static final int BUILD_PAGE_SIZE = 500;
+
+    private final HotelRepository hotelRepository;
+    private final RoomTypeRepository roomTypeRepository;
+    private final ReviewRepository reviewRepository;
+    private final int maxResults;
+
+    private volatile Snapshot snapshot = new Snapshot();
+
+    // Changes seen while a rebuild is reading the database, replayed on the new snapshot once it is in place
+    private final Set<UUID> changedHotels = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> changedRoomTypes = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> changedReviews = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    private volatile boolean ready;
+
+    public CatalogSearchIndex(HotelRepository hotelRepository,
+                              RoomTypeRepository roomTypeRepository,
+                              ReviewRepository reviewRepository,
+                              @Value("${config.search.max-results}") int maxResults) {
+        this.hotelRepository = hotelRepository;
+        this.roomTypeRepository = roomTypeRepository;
+        this.reviewRepository = reviewRepository;
+        this.maxResults = maxResults;
+    }
+
+    // Callers fall back to the database LIKE queries until this returns true
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<UUID> searchHotels(String keyword) {
+        return snapshot.hotels.search(keyword, maxResults);
+    }
+
+    public List<UUID> searchRoomTypes(String keyword) {
+        return snapshot.roomTypes.search(keyword, maxResults);
+    }
+
+    public List<UUID> searchReviews(String keyword) {
+        return snapshot.reviews.search(keyword, maxResults);
+    }
+
+    // Built aside and swapped in, searches keep using the previous snapshot meanwhile
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        changedHotels.clear();
+        changedRoomTypes.clear();
+        changedReviews.clear();
+        rebuilding = true;
+        try {
+            Snapshot next = new Snapshot();
+            indexAll(hotelRepository, hotel -> indexHotel(next, hotel));
+            indexAll(roomTypeRepository, roomType -> indexRoomType(next, roomType));
+            indexAll(reviewRepository, review -> indexReview(next, review));
+            snapshot = next;
+            ready = true;
+            log.info("Search index built: {} hotels, {} room types, {} reviews",
+                    next.hotels.size(), next.roomTypes.size(), next.reviews.size());
+        } finally {
+            rebuilding = false;
+        }
+        reloadHotels(changedHotels);
+        changedRoomTypes.forEach(this::reloadRoomType);
+        changedReviews.forEach(this::reloadReview);
+    }
+
+    // A bulk import publishes no per-row events, so everything is reindexed once
+    @EventListener
+    public void onCatalogImported(CatalogImportedEvent event) {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHotelChanged(HotelChangedEvent event) {
+        if (rebuilding) {
+            changedHotels.add(event.getHotelId());
+        }
+        reloadHotel(event.getHotelId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHotelsChanged(HotelsChangedEvent event) {
+        if (rebuilding) {
+            changedHotels.addAll(event.getHotelIds());
+        }
+        reloadHotels(event.getHotelIds());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomTypeChanged(RoomTypeChangedEvent event) {
+        if (rebuilding) {
+            changedRoomTypes.add(event.getRoomTypeId());
+        }
+        reloadRoomType(event.getRoomTypeId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        if (rebuilding) {
+            changedReviews.add(event.getReviewId());
+        }
+        reloadReview(event.getReviewId());
+    }
+
+    private void reloadHotel(UUID hotelId) {
+        Snapshot current = snapshot;
+        hotelRepository.findById(hotelId).ifPresentOrElse(hotel -> indexHotel(current, hotel),
+                () -> removeHotel(current, hotelId));
+    }
+
+    private void reloadHotels(Collection<UUID> hotelIds) {
+        if (hotelIds.isEmpty()) {
+            return;
+        }
+        Snapshot current = snapshot;
+        Set<UUID> missing = new HashSet<>(hotelIds);
+        hotelRepository.findAllById(hotelIds).forEach(hotel -> {
+            indexHotel(current, hotel);
+            missing.remove(hotel.getId());
+        });
+        missing.forEach(hotelId -> removeHotel(current, hotelId));
+    }
+
+    // Room types and reviews are removed with the hotel by cascade
+    private void removeHotel(Snapshot target, UUID hotelId) {
+        target.hotels.remove(hotelId);
+        removeChildren(target.roomTypeHotels, target.roomTypes, hotelId);
+        removeChildren(target.reviewHotels, target.reviews, hotelId);
+    }
+
+    private void reloadRoomType(UUID roomTypeId) {
+        Snapshot current = snapshot;
+        roomTypeRepository.findById(roomTypeId).ifPresentOrElse(roomType -> indexRoomType(current, roomType), () -> {
+            current.roomTypes.remove(roomTypeId);
+            current.roomTypeHotels.remove(roomTypeId);
+        });
+    }
+
+    private void reloadReview(UUID reviewId) {
+        Snapshot current = snapshot;
+        reviewRepository.findById(reviewId).ifPresentOrElse(review -> indexReview(current, review), () -> {
+            current.reviews.remove(reviewId);
+            current.reviewHotels.remove(reviewId);
+        });
+    }
+
+    private void indexHotel(Snapshot target, Hotel hotel) {
+        Map<String, Double> fields = new HashMap<>();
+        addField(fields, hotel.getName(), 3.0);
+        addField(fields, hotel.getCity(), 2.0);
+        addField(fields, hotel.getCountry(), 1.5);
+        addField(fields, hotel.getAddress(), 1.0);
+        addField(fields, hotel.getDescription(), 0.5);
+        target.hotels.put(hotel.getId(), fields);
+    }
+
+    private void indexRoomType(Snapshot target, RoomType roomType) {
+        Map<String, Double> fields = new HashMap<>();
+        addField(fields, roomType.getName(), 2.0);
+        addField(fields, roomType.getDescription(), 1.0);
+        target.roomTypes.put(roomType.getId(), fields);
+        target.roomTypeHotels.put(roomType.getId(), roomType.getHotel().getId());
+    }
+
+    private void indexReview(Snapshot target, Review review) {
+        Map<String, Double> fields = new HashMap<>();
+        addField(fields, review.getComment(), 1.0);
+        target.reviews.put(review.getId(), fields);
+        target.reviewHotels.put(review.getId(), review.getHotel().getId());
+    }
+
+    private void addField(Map<String, Double> fields, String text, double weight) {
+        if (text != null && !text.isBlank()) {
+            fields.merge(text, weight, Math::max);
+        }
+    }
+
+    private void removeChildren(Map<UUID, UUID> owners, InvertedIndex<UUID> index, UUID hotelId) {
+        owners.entrySet().removeIf(entry -> {
+            if (hotelId.equals(entry.getValue())) {
+                index.remove(entry.getKey());
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private <T> void indexAll(JpaRepository<T, UUID> repository, Consumer<T> indexer) {
+        // A stable order, so rows are neither skipped nor repeated between pages
+        Page<T> page = repository.findAll(PageRequest.of(0, BUILD_PAGE_SIZE, Sort.by("id")));
+        page.forEach(indexer);
+        while (page.hasNext()) {
+            page = repository.findAll(page.nextPageable());
+            page.forEach(indexer);
+        }
+    }
+
+    private static final class Snapshot {
+        final InvertedIndex<UUID> hotels = new InvertedIndex<>();
+        final InvertedIndex<UUID> roomTypes = new InvertedIndex<>();
+        final InvertedIndex<UUID> reviews = new InvertedIndex<>();
+        // Owning hotel of each indexed room type / review, so a hotel delete can drop its children
+        final Map<UUID, UUID> roomTypeHotels = new ConcurrentHashMap<>();
+        final Map<UUID, UUID> reviewHotels = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,294 @@
+package net.blwsmartware.booking.search;
+
+import lombok.extern.slf4j.Slf4j;
+import net.blwsmartware.booking.dto.response.CacheStatsResponse;
+import net.blwsmartware.booking.event.CatalogImportedEvent;
+import net.blwsmartware.booking.event.HotelChangedEvent;
+import net.blwsmartware.booking.event.HotelsChangedEvent;
+import net.blwsmartware.booking.repository.HotelRepository;
+import net.blwsmartware.booking.repository.projection.HotelFacetRow;
+import net.blwsmartware.booking.util.BoundedCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Facet counts (city, country, star rating, price range) for hotel listings.
+ * Hotels are held as a columnar snapshot, rebuilt on the first request after a hotel change, and all facets are
+ * counted in one pass over it. A facet's own filter is ignored for its counts, so the sidebar shows what selecting
+ * another value would return; every other filter applies. Rebuilds are serialized by a ReentrantLock, not a monitor,
+ * so virtual threads waiting on the reload query do not pin their carriers.
+ */
+@Component
+@Slf4j
+public class HotelFacetIndex {
+
+    public static final String CITY = "city";
+    public static final String COUNTRY = "country";
+    public static final String STAR_RATING = "starRating";
+    public static final String PRICE_RANGE = "priceRange";
+
+    private static final int NONE = -1;
+
+    private final HotelRepository hotelRepository;
+    private final List<BigDecimal> priceBounds;
+    private final BoundedCache<String, Map<String, Map<String, Long>>> cache;
+
+    private final AtomicLong version = new AtomicLong();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    public HotelFacetIndex(HotelRepository hotelRepository,
+                           @Value("${config.search.facet-price-bounds}") List<BigDecimal> priceBounds,
+                           @Value("${config.cache.hotel-facets.max-entries}") int maxEntries) {
+        this.hotelRepository = hotelRepository;
+        this.priceBounds = priceBounds.stream().sorted().toList();
+        this.cache = new BoundedCache<>("hotel-facets", maxEntries);
+    }
+
+    // Hotels matching the filter, optionally only those in "within" (e.g. keyword hits)
+    public Map<String, Map<String, Long>> count(Filter filter, String scope, Collection<UUID> within) {
+        return cache.get(scope + "|" + filter.key(), () -> current().count(filter, within));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHotelChanged(HotelChangedEvent event) {
+        version.incrementAndGet();
+        cache.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHotelsChanged(HotelsChangedEvent event) {
+        version.incrementAndGet();
+        cache.clear();
+    }
+
+    @EventListener
+    public void onCatalogImported(CatalogImportedEvent event) {
+        version.incrementAndGet();
+        cache.clear();
+    }
+
+    public CacheStatsResponse getStats() {
+        return CacheStatsResponse.from(cache);
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null && current.version == version.get()) {
+            return current;
+        }
+        rebuildLock.lock();
+        try {
+            current = snapshot;
+            long wanted = version.get();
+            if (current == null || current.version != wanted) {
+                // A change during the load bumps the version again, so the next call reloads
+                current = new Snapshot(wanted, hotelRepository.findAllFacetRows());
+                snapshot = current;
+                log.debug("Facet snapshot rebuilt with {} hotels", current.ids.length);
+            }
+            return current;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // Null fields do not filter; city and country match case-insensitively like the repository queries
+    public record Filter(String city, String country, Integer starRating, Boolean active, Boolean featured,
+                         BigDecimal minPrice, BigDecimal maxPrice) {
+
+        String key() {
+            return String.join("|", lower(city), lower(country), String.valueOf(starRating), String.valueOf(active),
+                    String.valueOf(featured), String.valueOf(minPrice), String.valueOf(maxPrice));
+        }
+    }
+
+    private static String lower(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    private final class Snapshot {
+        final long version;
+        final UUID[] ids;
+        final Map<UUID, Integer> positions;
+        final int[] cities;
+        final int[] countries;
+        final int[] stars;
+        final int[] priceBuckets;
+        final BigDecimal[] prices;
+        final boolean[] active;
+        final boolean[] featured;
+        // Dictionary per text column: code -> key (lowercase) and code -> label (first spelling seen)
+        final List<String> cityKeys = new ArrayList<>();
+        final List<String> cityLabels = new ArrayList<>();
+        final List<String> countryKeys = new ArrayList<>();
+        final List<String> countryLabels = new ArrayList<>();
+        final Map<String, Integer> cityCodes = new HashMap<>();
+        final Map<String, Integer> countryCodes = new HashMap<>();
+
+        Snapshot(long version, List<HotelFacetRow> rows) {
+            this.version = version;
+            int size = rows.size();
+            ids = new UUID[size];
+            positions = new HashMap<>(size * 2);
+            cities = new int[size];
+            countries = new int[size];
+            stars = new int[size];
+            priceBuckets = new int[size];
+            prices = new BigDecimal[size];
+            active = new boolean[size];
+            featured = new boolean[size];
+
+            for (int i = 0; i < size; i++) {
+                HotelFacetRow row = rows.get(i);
+                ids[i] = row.getId();
+                positions.put(row.getId(), i);
+                cities[i] = encode(row.getCity(), cityCodes, cityKeys, cityLabels);
+                countries[i] = encode(row.getCountry(), countryCodes, countryKeys, countryLabels);
+                stars[i] = row.getStarRating() != null ? row.getStarRating() : NONE;
+                prices[i] = row.getPricePerNight();
+                priceBuckets[i] = bucketOf(row.getPricePerNight());
+                active[i] = Boolean.TRUE.equals(row.getActive());
+                featured[i] = Boolean.TRUE.equals(row.getFeatured());
+            }
+        }
+
+        Map<String, Map<String, Long>> count(Filter filter, Collection<UUID> within) {
+            int city = code(filter.city(), cityCodes);
+            int country = code(filter.country(), countryCodes);
+            long[] cityCounts = new long[cityKeys.size()];
+            long[] countryCounts = new long[countryKeys.size()];
+            Map<Integer, Long> starCounts = new HashMap<>();
+            long[] priceCounts = new long[priceBounds.size() + 1];
+
+            if (within == null) {
+                for (int i = 0; i < ids.length; i++) {
+                    tally(i, filter, city, country, cityCounts, countryCounts, starCounts, priceCounts);
+                }
+            } else {
+                for (UUID id : within) {
+                    Integer i = positions.get(id);
+                    if (i != null) {
+                        tally(i, filter, city, country, cityCounts, countryCounts, starCounts, priceCounts);
+                    }
+                }
+            }
+
+            Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+            facets.put(CITY, byCount(cityLabels, cityCounts));
+            facets.put(COUNTRY, byCount(countryLabels, countryCounts));
+            Map<String, Long> starFacet = new LinkedHashMap<>();
+            starCounts.keySet().stream().sorted().forEach(star -> starFacet.put(String.valueOf(star), starCounts.get(star)));
+            facets.put(STAR_RATING, starFacet);
+            Map<String, Long> priceFacet = new LinkedHashMap<>();
+            for (int bucket = 0; bucket < priceCounts.length; bucket++) {
+                if (priceCounts[bucket] > 0) {
+                    priceFacet.put(bucketLabel(bucket), priceCounts[bucket]);
+                }
+            }
+            facets.put(PRICE_RANGE, priceFacet);
+            return facets;
+        }
+
+        // A hotel counts for every facet when it matches all filters, or only for the one facet whose filter it fails
+        private void tally(int i, Filter filter, int city, int country, long[] cityCounts, long[] countryCounts,
+                           Map<Integer, Long> starCounts, long[] priceCounts) {
+            if ((filter.active() != null && active[i] != filter.active())
+                    || (filter.featured() != null && featured[i] != filter.featured())) {
+                return;
+            }
+            boolean cityOk = filter.city() == null || cities[i] == city && city != NONE;
+            boolean countryOk = filter.country() == null || countries[i] == country && country != NONE;
+            boolean starOk = filter.starRating() == null || stars[i] == filter.starRating();
+            boolean priceOk = priceMatches(prices[i], filter);
+            int failed = (cityOk ? 0 : 1) + (countryOk ? 0 : 1) + (starOk ? 0 : 1) + (priceOk ? 0 : 1);
+            if (failed > 1) {
+                return;
+            }
+            if (cities[i] != NONE && countryOk && starOk && priceOk) {
+                cityCounts[cities[i]]++;
+            }
+            if (countries[i] != NONE && cityOk && starOk && priceOk) {
+                countryCounts[countries[i]]++;
+            }
+            if (stars[i] != NONE && cityOk && countryOk && priceOk) {
+                starCounts.merge(stars[i], 1L, Long::sum);
+            }
+            if (priceBuckets[i] != NONE && cityOk && countryOk && starOk) {
+                priceCounts[priceBuckets[i]]++;
+            }
+        }
+
+        private boolean priceMatches(BigDecimal price, Filter filter) {
+            if (filter.minPrice() == null && filter.maxPrice() == null) {
+                return true;
+            }
+            return price != null
+                    && (filter.minPrice() == null || price.compareTo(filter.minPrice()) >= 0)
+                    && (filter.maxPrice() == null || price.compareTo(filter.maxPrice()) <= 0);
+        }
+    }
+
+    private static int encode(String value, Map<String, Integer> codes, List<String> keys, List<String> labels) {
+        if (value == null || value.isBlank()) {
+            return NONE;
+        }
+        return codes.computeIfAbsent(lower(value), key -> {
+            keys.add(key);
+            labels.add(value);
+            return keys.size() - 1;
+        });
+    }
+
+    private static int code(String value, Map<String, Integer> codes) {
+        return value == null ? NONE : codes.getOrDefault(lower(value), NONE);
+    }
+
+    private static Map<String, Long> byCount(List<String> labels, long[] counts) {
+        Map<String, Long> facet = new LinkedHashMap<>();
+        List<Integer> codes = new ArrayList<>();
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > 0) {
+                codes.add(code);
+            }
+        }
+        codes.sort(Comparator.comparingLong((Integer code) -> counts[code]).reversed()
+                .thenComparing(code -> labels.get(code)));
+        codes.forEach(code -> facet.put(labels.get(code), counts[code]));
+        return facet;
+    }
+
+    private int bucketOf(BigDecimal price) {
+        if (price == null) {
+            return NONE;
+        }
+        int bucket = 0;
+        while (bucket < priceBounds.size() && price.compareTo(priceBounds.get(bucket)) >= 0) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    // "0-500000", "500000-1000000", ..., "5000000+"
+    private String bucketLabel(int bucket) {
+        String lower = bucket == 0 ? "0" : priceBounds.get(bucket - 1).toPlainString();
+        return bucket == priceBounds.size()
+                ? lower + "+"
+                : lower + "-" + priceBounds.get(bucket).toPlainString();
+    }
+}
@@ -0,0 +1,180 @@
+package net.blwsmartware.booking.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over weighted text fields.
+ * Query terms match exactly, by prefix, or with one typo; every query term has to match.
+ */
+public class InvertedIndex<K> {
+
+    private static final double PREFIX_FACTOR = 0.7;
+    private static final double TYPO_FACTOR = 0.5;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MIN_TYPO_LENGTH = 4;
+
+    // term -> document -> accumulated field weight
+    private final TreeMap<String, Map<K, Double>> postings = new TreeMap<>();
+    private final Map<K, Set<String>> documentTerms = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Replaces whatever was indexed for the document; fields map text -> weight
+    public void put(K id, Map<String, Double> fields) {
+        Map<String, Double> weights = new HashMap<>();
+        fields.forEach((text, weight) -> {
+            for (String term : TextNormalizer.tokenize(text)) {
+                weights.merge(term, weight, Math::max);
+            }
+        });
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            weights.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, weight));
+            documentTerms.put(id, weights.keySet());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(K id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documentTerms.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ids ordered by descending relevance, at most limit of them
+    public List<K> search(String query, int limit) {
+        List<String> queryTerms = TextNormalizer.tokenize(query);
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+
+        Map<K, Double> scores = null;
+        lock.readLock().lock();
+        try {
+            int documentCount = documentTerms.size();
+            for (String queryTerm : queryTerms) {
+                Map<K, Double> termScores = scoreTerm(queryTerm, documentCount);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<K, Double>comparingByValue().reversed())
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    // Best score per document for one query term across exact, prefix and typo matches
+    private Map<K, Double> scoreTerm(String queryTerm, int documentCount) {
+        Map<K, Double> scores = new HashMap<>();
+        addMatches(scores, postings.get(queryTerm), 1.0, documentCount);
+
+        if (queryTerm.length() >= MIN_PREFIX_LENGTH) {
+            for (Map.Entry<String, Map<K, Double>> entry : postings.subMap(queryTerm, false, queryTerm + Character.MAX_VALUE, false).entrySet()) {
+                addMatches(scores, entry.getValue(), PREFIX_FACTOR, documentCount);
+            }
+        }
+
+        if (queryTerm.length() >= MIN_TYPO_LENGTH) {
+            // Typos are only looked for among terms sharing the first letter
+            String first = queryTerm.substring(0, 1);
+            for (Map.Entry<String, Map<K, Double>> entry : postings.subMap(first, true, first + Character.MAX_VALUE, false).entrySet()) {
+                String term = entry.getKey();
+                if (!term.equals(queryTerm) && !term.startsWith(queryTerm) && withinOneEdit(queryTerm, term)) {
+                    addMatches(scores, entry.getValue(), TYPO_FACTOR, documentCount);
+                }
+            }
+        }
+        return scores;
+    }
+
+    private void addMatches(Map<K, Double> scores, Map<K, Double> documents, double factor, int documentCount) {
+        if (documents == null) {
+            return;
+        }
+        double idf = Math.log(1.0 + (double) documentCount / documents.size());
+        documents.forEach((id, weight) -> scores.merge(id, weight * factor * idf, Math::max));
+    }
+
+    private void removeLocked(K id) {
+        Set<String> terms = documentTerms.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<K, Double> documents = postings.get(term);
+            if (documents != null) {
+                documents.remove(id);
+                if (documents.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    // Levenshtein distance <= 1 without building the full matrix
+    static boolean withinOneEdit(String a, String b) {
+        int lengthDiff = a.length() - b.length();
+        if (Math.abs(lengthDiff) > 1) {
+            return false;
+        }
+        String shorter = lengthDiff <= 0 ? a : b;
+        String longer = lengthDiff <= 0 ? b : a;
+        int i = 0;
+        int j = 0;
+        boolean edited = false;
+        while (i < shorter.length() && j < longer.length()) {
+            if (shorter.charAt(i) != longer.charAt(j)) {
+                if (edited) {
+                    return false;
+                }
+                edited = true;
+                if (shorter.length() == longer.length()) {
+                    i++;
+                }
+                j++;
+            } else {
+                i++;
+                j++;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,38 @@
+package net.blwsmartware.booking.search;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.*;
+import java.util.function.Function;
+
+public final class SearchResults {
+
+    // sortBy value that keeps the index ranking instead of a column order
+    public static final String RELEVANCE = "relevance";
+
+    private SearchResults() {
+    }
+
+    // Loads only the requested slice of ranked ids and keeps their ranking order
+    public static <T> Page<T> rankedPage(List<UUID> rankedIds, Integer pageNumber, Integer pageSize,
+                                         Function<List<UUID>, List<T>> loader, Function<T, UUID> idOf) {
+        Pageable pageable = PageRequest.of(pageNumber, pageSize);
+        List<UUID> slice = rankedIds.stream()
+                .skip(pageable.getOffset())
+                .limit(pageSize)
+                .toList();
+
+        Map<UUID, T> loaded = new HashMap<>();
+        if (!slice.isEmpty()) {
+            loader.apply(slice).forEach(entity -> loaded.put(idOf.apply(entity), entity));
+        }
+        List<T> content = slice.stream()
+                .map(loaded::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(content, pageable, rankedIds.size());
+    }
+}
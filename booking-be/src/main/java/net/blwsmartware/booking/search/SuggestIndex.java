@@ -0,0 +1,311 @@
+package net.blwsmartware.booking.search;
+
+import lombok.extern.slf4j.Slf4j;
+import net.blwsmartware.booking.dto.response.SuggestionResponse;
+import net.blwsmartware.booking.event.CatalogImportedEvent;
+import net.blwsmartware.booking.event.HotelChangedEvent;
+import net.blwsmartware.booking.event.HotelsChangedEvent;
+import net.blwsmartware.booking.event.ReviewChangedEvent;
+import net.blwsmartware.booking.event.ReviewsModeratedEvent;
+import net.blwsmartware.booking.repository.HotelRepository;
+import net.blwsmartware.booking.repository.projection.HotelSuggestRow;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Type-ahead over hotel names, cities and countries, answered from memory.
+ * Every word start of a suggestion is a key in one sorted array, so the keys of a prefix are one contiguous range,
+ * found by binary search. A max tree over the key scores hands out that range's best keys first, so a one-letter
+ * prefix costs about as much as a long one and still returns the most popular matches.
+ * Hotels weigh 1 + their approved reviews, places the sum of their active hotels. Hotel and review changes update
+ * the per-hotel rows; a background job rebuilds the sorted array from them, without the database, and lookups keep
+ * using the previous array until the new one is swapped in.
+ */
+@Component
+@Slf4j
+public class SuggestIndex {
+
+    public static final String HOTEL = "hotel";
+    public static final String CITY = "city";
+    public static final String COUNTRY = "country";
+
+    // A match on a later word ranks below the same weight matched from the start
+    private static final double INNER_WORD_FACTOR = 0.6;
+
+    private final HotelRepository hotelRepository;
+    private final Map<UUID, HotelSuggestRow> hotels = new ConcurrentHashMap<>();
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile boolean dirty;
+
+    public SuggestIndex(HotelRepository hotelRepository) {
+        this.hotelRepository = hotelRepository;
+    }
+
+    public List<SuggestionResponse> suggest(String prefix, int limit) {
+        return snapshot.lookup(prefix, limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        hotels.clear();
+        hotelRepository.findAllSuggestRows().forEach(row -> hotels.put(row.getId(), row));
+        dirty = true;
+        refresh();
+        log.info("Suggest index loaded {} hotels", hotels.size());
+    }
+
+    // Changes since the last run are picked up together, so a burst of writes costs one build
+    @Scheduled(fixedDelayString = "${config.search.suggest-rebuild-ms}")
+    public synchronized void refresh() {
+        if (dirty) {
+            // Cleared first so a change during the build marks it dirty again
+            dirty = false;
+            snapshot = Snapshot.build(hotels.values());
+        }
+    }
+
+    @EventListener
+    public void onCatalogImported(CatalogImportedEvent event) {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHotelChanged(HotelChangedEvent event) {
+        reload(event.getHotelId());
+    }
+
+    // One query for all hotels of a bulk flag update chunk
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHotelsChanged(HotelsChangedEvent event) {
+        Set<UUID> missing = new HashSet<>(event.getHotelIds());
+        hotelRepository.findSuggestRowsByIdIn(event.getHotelIds()).forEach(row -> {
+            hotels.put(row.getId(), row);
+            missing.remove(row.getId());
+        });
+        missing.forEach(hotels::remove);
+        dirty = true;
+    }
+
+    // Approving or removing a review changes the hotel's weight
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        reload(event.getHotelId());
+    }
+
+    // One query for all hotels of a bulk moderation chunk
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewsModerated(ReviewsModeratedEvent event) {
+        hotelRepository.findSuggestRowsByIdIn(event.getHotelIds()).forEach(row -> hotels.put(row.getId(), row));
+        dirty = true;
+    }
+
+    private void reload(UUID hotelId) {
+        hotelRepository.findSuggestRowById(hotelId).ifPresentOrElse(
+                row -> hotels.put(hotelId, row),
+                () -> hotels.remove(hotelId));
+        dirty = true;
+    }
+
+    private record Suggestion(String text, String type, UUID hotelId, String city, long weight) {
+
+        SuggestionResponse toResponse() {
+            return SuggestionResponse.builder().text(text).type(type).hotelId(hotelId).city(city).build();
+        }
+    }
+
+    private record Key(String text, int target, boolean leading) {
+    }
+
+    // Keys [from, to) of a lookup and the best-scoring key among them
+    private record Range(int from, int to, int best) {
+    }
+
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(new String[0], new int[0], new boolean[0], new Suggestion[0]);
+
+        final String[] keys;
+        final int[] targets;
+        final Suggestion[] suggestions;
+        // Score of each key, and a max tree over them: tree[n + i] = i, tree[p] = better of tree[2p], tree[2p + 1]
+        final double[] scores;
+        final int[] tree;
+
+        Snapshot(String[] keys, int[] targets, boolean[] leading, Suggestion[] suggestions) {
+            this.keys = keys;
+            this.targets = targets;
+            this.suggestions = suggestions;
+            int n = keys.length;
+            scores = new double[n];
+            tree = new int[2 * n];
+            for (int i = 0; i < n; i++) {
+                scores[i] = suggestions[targets[i]].weight() * (leading[i] ? 1.0 : INNER_WORD_FACTOR);
+                tree[n + i] = i;
+            }
+            for (int p = n - 1; p > 0; p--) {
+                tree[p] = better(tree[2 * p], tree[2 * p + 1]);
+            }
+        }
+
+        static Snapshot build(Iterable<HotelSuggestRow> rows) {
+            List<Suggestion> suggestions = new ArrayList<>();
+            Map<String, long[]> cityWeights = new HashMap<>();
+            Map<String, long[]> countryWeights = new HashMap<>();
+            Map<String, String> cityLabels = new HashMap<>();
+            Map<String, String> countryLabels = new HashMap<>();
+            for (HotelSuggestRow row : rows) {
+                if (!Boolean.TRUE.equals(row.getActive()) || row.getName() == null) {
+                    continue;
+                }
+                long weight = 1 + (row.getReviewCount() != null ? row.getReviewCount() : 0);
+                suggestions.add(new Suggestion(row.getName(), HOTEL, row.getId(), row.getCity(), weight));
+                addPlace(row.getCity(), weight, cityWeights, cityLabels);
+                addPlace(row.getCountry(), weight, countryWeights, countryLabels);
+            }
+            cityWeights.forEach((key, weight) ->
+                    suggestions.add(new Suggestion(cityLabels.get(key), CITY, null, null, weight[0])));
+            countryWeights.forEach((key, weight) ->
+                    suggestions.add(new Suggestion(countryLabels.get(key), COUNTRY, null, null, weight[0])));
+
+            // One key per word start: "Grand Hotel Saigon" is found by "gra", "hot" and "sai"
+            List<Key> entries = new ArrayList<>();
+            for (int i = 0; i < suggestions.size(); i++) {
+                List<String> words = TextNormalizer.tokenize(suggestions.get(i).text());
+                for (int w = 0; w < words.size(); w++) {
+                    entries.add(new Key(String.join(" ", words.subList(w, words.size())), i, w == 0));
+                }
+            }
+            entries.sort(Comparator.comparing(Key::text));
+
+            int size = entries.size();
+            String[] keys = new String[size];
+            int[] targets = new int[size];
+            boolean[] leading = new boolean[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = entries.get(i).text();
+                targets[i] = entries.get(i).target();
+                leading[i] = entries.get(i).leading();
+            }
+            return new Snapshot(keys, targets, leading, suggestions.toArray(new Suggestion[0]));
+        }
+
+        List<SuggestionResponse> lookup(String prefix, int limit) {
+            // Normalized like the keys so "Đà  Nẵng" and "da nang" agree
+            String key = String.join(" ", TextNormalizer.tokenize(prefix));
+            if (key.isEmpty()) {
+                return List.of();
+            }
+            int from = lowerBound(key);
+            int to = prefixEnd(key, from);
+
+            // Best key of each pending range first; taking a key splits its range around it, so keys come out
+            // in descending score and only about limit ranges are ever looked at
+            PriorityQueue<Range> ranges = new PriorityQueue<>(
+                    Comparator.comparingDouble((Range range) -> scores[range.best()]).reversed()
+                            .thenComparingInt(Range::best));
+            offer(ranges, from, to);
+            List<SuggestionResponse> results = new ArrayList<>(limit);
+            Set<Integer> taken = new HashSet<>();
+            Set<String> seen = new HashSet<>();
+            while (results.size() < limit && !ranges.isEmpty()) {
+                Range range = ranges.poll();
+                int best = range.best();
+                offer(ranges, range.from(), best);
+                offer(ranges, best + 1, range.to());
+                // A suggestion has a key per word; the first one taken is its best
+                if (!taken.add(targets[best])) {
+                    continue;
+                }
+                Suggestion suggestion = suggestions[targets[best]];
+                // Same hotel name in two cities stays, the same place twice does not
+                if (suggestion.hotelId() != null || seen.add(suggestion.type() + ":" + suggestion.text())) {
+                    results.add(suggestion.toResponse());
+                }
+            }
+            return results;
+        }
+
+        private void offer(PriorityQueue<Range> ranges, int from, int to) {
+            if (from < to) {
+                ranges.add(new Range(from, to, best(from, to)));
+            }
+        }
+
+        // Best key in [from, to), walking the max tree bottom-up
+        private int best(int from, int to) {
+            int n = keys.length;
+            int best = -1;
+            for (int l = from + n, r = to + n; l < r; l >>= 1, r >>= 1) {
+                if ((l & 1) == 1) {
+                    best = better(best, tree[l++]);
+                }
+                if ((r & 1) == 1) {
+                    best = better(best, tree[--r]);
+                }
+            }
+            return best;
+        }
+
+        // Higher score wins, ties go to the key that sorts first
+        private int better(int a, int b) {
+            if (a < 0) {
+                return b;
+            }
+            return scores[b] > scores[a] || scores[b] == scores[a] && b < a ? b : a;
+        }
+
+        // First key from start on that does not have the prefix; the matching keys are contiguous
+        private int prefixEnd(String key, int start) {
+            int low = start;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid].startsWith(key)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        // First key not below the prefix; keys repeat, so Arrays.binarySearch could land past the first match
+        private int lowerBound(String key) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid].compareTo(key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private static void addPlace(String place, long weight, Map<String, long[]> weights, Map<String, String> labels) {
+            if (place == null || place.isBlank()) {
+                return;
+            }
+            String key = TextNormalizer.fold(place).trim();
+            weights.computeIfAbsent(key, k -> new long[1])[0] += weight;
+            labels.putIfAbsent(key, place.trim());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package net.blwsmartware.booking.security;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.util.Set;
+import java.util.UUID;
+
+// The caller as described by the validated access token, no database access involved
+@Getter
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class CurrentPrincipal {
+    UUID userId;
+    String username;
+    Set<String> roles;
+
+    public boolean hasRole(String role) {
+        return roles.contains(role);
+    }
+}
@@ -0,0 +1,87 @@
+package net.blwsmartware.booking.security;
+
+import lombok.RequiredArgsConstructor;
+import net.blwsmartware.booking.entity.User;
+import net.blwsmartware.booking.exception.AppException;
+import net.blwsmartware.booking.exception.ErrorCode;
+import net.blwsmartware.booking.repository.UserRepository;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * The current caller, read from the JWT claims of the authenticated request (sub, usn, scope). The User entity
+ * is only loaded when asked for, and at most once per request.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUserResolver {
+
+    private static final String PRINCIPAL_ATTRIBUTE = CurrentUserResolver.class.getName() + ".principal";
+    private static final String USER_ATTRIBUTE = CurrentUserResolver.class.getName() + ".user";
+
+    private final UserRepository userRepository;
+
+    public CurrentPrincipal getPrincipal() {
+        CurrentPrincipal principal = fromRequest(PRINCIPAL_ATTRIBUTE, CurrentPrincipal.class);
+        if (principal == null) {
+            principal = resolve(SecurityContextHolder.getContext().getAuthentication());
+            toRequest(PRINCIPAL_ATTRIBUTE, principal);
+        }
+        return principal;
+    }
+
+    public UUID getUserId() {
+        return getPrincipal().getUserId();
+    }
+
+    public User getUser() {
+        User user = fromRequest(USER_ATTRIBUTE, User.class);
+        if (user == null) {
+            user = userRepository.findById(getUserId())
+                    .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_FOUND));
+            toRequest(USER_ATTRIBUTE, user);
+        }
+        return user;
+    }
+
+    private CurrentPrincipal resolve(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new AppException(ErrorCode.UNAUTHENTICATED);
+        }
+        Set<String> roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toUnmodifiableSet());
+        String username = authentication.getPrincipal() instanceof Jwt jwt ? jwt.getClaimAsString("usn") : null;
+        try {
+            return new CurrentPrincipal(UUID.fromString(authentication.getName()), username, roles);
+        } catch (IllegalArgumentException e) {
+            // Anonymous or non-JWT authentication, its name is not a user id
+            throw new AppException(ErrorCode.UNAUTHENTICATED);
+        }
+    }
+
+    private <T> T fromRequest(String name, Class<T> type) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object value = attributes.getAttribute(name, RequestAttributes.SCOPE_REQUEST);
+        return type.isInstance(value) ? type.cast(value) : null;
+    }
+
+    private void toRequest(String name, Object value) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(name, value, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+}
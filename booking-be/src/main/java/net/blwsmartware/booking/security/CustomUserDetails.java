@@ -12,16 +12,26 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 
-@RequiredArgsConstructor
+// Immutable snapshot of the user taken at load time, safe to share through UserDetailsCache
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class CustomUserDetails implements UserDetails {
 
-    User user;
+    UUID id;
+    String username;
+    String password;
+    @Getter
+    boolean active;
+    @Getter
+    boolean emailVerified;
     Set<GrantedAuthority> authorities;
 
     public CustomUserDetails(User user) {
-        this.user = user;
-        this.authorities = calculateAuthorities(user);
+        this.id = user.getId();
+        this.username = user.getUsername();
+        this.password = user.getPassword();
+        this.active = user.isActive();
+        this.emailVerified = user.isEmailVerified();
+        this.authorities = Set.copyOf(calculateAuthorities(user));
     }
 
     @Override
@@ -37,16 +47,16 @@ public class CustomUserDetails implements UserDetails {
         return authorities;
     }
     public UUID getID() {
-        return user.getId() ;
+        return id;
     }
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return password;
     }
 
     @Override
     public String getUsername() {
-        return user.getUsername();
+        return username;
     }
 
     @Override
@@ -66,6 +76,6 @@ public class CustomUserDetails implements UserDetails {
 
     @Override
     public boolean isEnabled() {
-        return user.isActive();
+        return active;
     }
 }
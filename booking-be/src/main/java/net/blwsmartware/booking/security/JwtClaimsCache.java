@@ -0,0 +1,55 @@
+package net.blwsmartware.booking.security;
+
+import net.blwsmartware.booking.dto.response.CacheStatsResponse;
+import net.blwsmartware.booking.util.BoundedCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Verified tokens keyed by the SHA-256 of the compact serialization, so a hit means these exact bytes
+ * already passed signature verification. Entries stop being served once the token's exp has passed.
+ */
+@Component
+public class JwtClaimsCache {
+
+    private final BoundedCache<String, VerifiedJwt> cache;
+
+    public JwtClaimsCache(@Value("${jwt.claims-cache.max-entries}") int maxEntries) {
+        this.cache = new BoundedCache<>("jwt-claims", maxEntries, VerifiedJwt::isExpired);
+    }
+
+    public VerifiedJwt get(String token, Function<String, VerifiedJwt> verifier) {
+        return cache.get(hash(token), () -> verifier.apply(token));
+    }
+
+    public void evictIf(Predicate<VerifiedJwt> predicate) {
+        cache.invalidateIf((hash, jwt) -> predicate.test(jwt));
+    }
+
+    // Expired tokens are only dropped when looked up again, most never are
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeExpired() {
+        cache.purgeExpired();
+    }
+
+    public CacheStatsResponse getStats() {
+        return CacheStatsResponse.from(cache);
+    }
+
+    private String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
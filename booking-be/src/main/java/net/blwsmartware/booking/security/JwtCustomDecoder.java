@@ -1,33 +1,45 @@
 package net.blwsmartware.booking.security;
 
-import com.nimbusds.jwt.SignedJWT;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import net.blwsmartware.booking.exception.IdentityRuntimeException;
 import net.blwsmartware.booking.exception.JwtAuthException;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtException;
 import org.springframework.stereotype.Component;
 
-import java.text.ParseException;
+import java.util.UUID;
 
 @Component
 @Slf4j
+@RequiredArgsConstructor
 public class JwtCustomDecoder implements JwtDecoder {
 
+    private final JwtTokenProvider jwtTokenProvider;
+    private final RevokedTokenRegistry revokedTokenRegistry;
 
     @Override
     public Jwt decode(String token) throws JwtException {
 
+        VerifiedJwt verifiedJwt;
         try {
-            SignedJWT signedJWT = SignedJWT.parse(token);
-            return new Jwt(token,signedJWT.getJWTClaimsSet().getIssueTime().toInstant(),
-                    signedJWT.getJWTClaimsSet().getExpirationTime().toInstant(),
-                    signedJWT.getHeader().toJSONObject(),
-                    signedJWT.getJWTClaimsSet().getClaims()
-                    );
-        } catch (ParseException e) {
-            throw new JwtAuthException("JwtCustomDecoder decode failed",new Exception("JWT_INVALID"));
+            verifiedJwt = jwtTokenProvider.parse(token);
+        } catch (IdentityRuntimeException e) {
+            throw new JwtAuthException("JwtCustomDecoder decode failed", new Exception("JWT_INVALID"));
+        }
+        if (verifiedJwt.isExpired()) {
+            throw new JwtAuthException("JwtCustomDecoder decode failed", new Exception("JWT_EXPIRED"));
+        }
+        String jwtId = verifiedJwt.getClaims().getJWTID();
+        if (jwtId != null && revokedTokenRegistry.isRevoked(UUID.fromString(jwtId))) {
+            throw new JwtAuthException("JwtCustomDecoder decode failed", new Exception("JWT_INVALID"));
         }
 
+        return new Jwt(token, verifiedJwt.getIssuedAt(),
+                verifiedJwt.getExpiresAt(),
+                verifiedJwt.getHeaders(),
+                verifiedJwt.getClaims().getClaims()
+                );
     }
 }
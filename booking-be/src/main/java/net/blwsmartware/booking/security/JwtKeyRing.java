@@ -0,0 +1,111 @@
+package net.blwsmartware.booking.security;
+
+import com.nimbusds.jose.*;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.crypto.MACVerifier;
+import lombok.extern.slf4j.Slf4j;
+import net.blwsmartware.booking.enums.ErrorResponse;
+import net.blwsmartware.booking.exception.IdentityRuntimeException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * HMAC keys for issuing and verifying tokens. The signer, the verifiers and the JWS header are built once
+ * per key and reused (Nimbus MAC signers/verifiers are thread-safe). Rotation swaps in a new immutable
+ * state: new tokens carry the new kid, tokens signed with older keys keep verifying until those keys are removed.
+ * Keys added at runtime live in memory only; every instance has to be rotated.
+ */
+@Component
+@Slf4j
+public class JwtKeyRing {
+
+    private static final JOSEObjectType JWT_TYPE = new JOSEObjectType("JWT");
+
+    // Tokens issued before key ids existed carry no kid; they belong to the configured key
+    private final String legacyKeyId;
+    private volatile State state;
+
+    public JwtKeyRing(@Value("${jwt.secret}") String secret,
+                      @Value("${jwt.key-id}") String keyId) {
+        this.legacyKeyId = keyId;
+        this.state = new State(keyId, signerFor(secret), header(keyId), Map.of(keyId, verifierFor(secret)));
+    }
+
+    public JWSSigner signer() {
+        return state.signer;
+    }
+
+    // Header with the active kid, shared by every token signed with it
+    public JWSHeader header() {
+        return state.header;
+    }
+
+    public String activeKeyId() {
+        return state.activeKeyId;
+    }
+
+    public Set<String> keyIds() {
+        return state.verifiers.keySet();
+    }
+
+    // null when the kid is unknown or was removed
+    public JWSVerifier verifier(String keyId) {
+        return state.verifiers.get(effectiveKeyId(keyId));
+    }
+
+    public String effectiveKeyId(String keyId) {
+        return keyId != null ? keyId : legacyKeyId;
+    }
+
+    // New tokens are signed with this key from now on; existing keys stay valid for verification
+    public synchronized void rotate(String keyId, String secret) {
+        State current = state;
+        Map<String, JWSVerifier> verifiers = new HashMap<>(current.verifiers);
+        verifiers.put(keyId, verifierFor(secret));
+        state = new State(keyId, signerFor(secret), header(keyId), Map.copyOf(verifiers));
+        log.info("JWT signing key rotated to {}", keyId);
+    }
+
+    // Tokens signed with a removed key stop verifying
+    public synchronized void remove(String keyId) {
+        State current = state;
+        if (keyId.equals(current.activeKeyId)) {
+            throw new IdentityRuntimeException(ErrorResponse.JWT_KEY_IN_USE);
+        }
+        if (!current.verifiers.containsKey(keyId)) {
+            throw new IdentityRuntimeException(ErrorResponse.JWT_KEY_NOT_FOUND);
+        }
+        Map<String, JWSVerifier> verifiers = new HashMap<>(current.verifiers);
+        verifiers.remove(keyId);
+        state = new State(current.activeKeyId, current.signer, current.header, Map.copyOf(verifiers));
+        log.info("JWT verification key {} removed", keyId);
+    }
+
+    private static JWSHeader header(String keyId) {
+        return new JWSHeader.Builder(JWSAlgorithm.HS256).type(JWT_TYPE).keyID(keyId).build();
+    }
+
+    private static JWSSigner signerFor(String secret) {
+        try {
+            return new MACSigner(secret.getBytes(StandardCharsets.UTF_8));
+        } catch (KeyLengthException e) {
+            throw new IdentityRuntimeException(ErrorResponse.JWT_KEY_INVALID);
+        }
+    }
+
+    private static JWSVerifier verifierFor(String secret) {
+        try {
+            return new MACVerifier(secret.getBytes(StandardCharsets.UTF_8));
+        } catch (JOSEException e) {
+            throw new IdentityRuntimeException(ErrorResponse.JWT_KEY_INVALID);
+        }
+    }
+
+    private record State(String activeKeyId, JWSSigner signer, JWSHeader header, Map<String, JWSVerifier> verifiers) {
+    }
+}
@@ -1,16 +1,15 @@
 package net.blwsmartware.booking.security;
 
 import com.nimbusds.jose.*;
-import com.nimbusds.jose.crypto.MACSigner;
-import com.nimbusds.jose.crypto.MACVerifier;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
 import lombok.AccessLevel;
-import lombok.AllArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import net.blwsmartware.booking.constant.TokenType;
+import net.blwsmartware.booking.dto.request.JwtKeyRequest;
+import net.blwsmartware.booking.dto.response.JwtKeysResponse;
 import net.blwsmartware.booking.enums.ErrorResponse;
 import net.blwsmartware.booking.exception.IdentityRuntimeException;
 import net.blwsmartware.booking.exception.JwtAuthException;
@@ -19,11 +18,11 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.oauth2.jwt.JwtException;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.spec.SecretKeySpec;
 import java.text.ParseException;
 import java.time.Instant;
 import java.util.Date;
 import java.util.StringJoiner;
+import java.util.TreeSet;
 import java.util.UUID;
 import java.util.function.Function;
 
@@ -31,11 +30,10 @@ import java.util.function.Function;
 @Slf4j
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @RequiredArgsConstructor
-@AllArgsConstructor
 public class JwtTokenProvider {
 
-    @Value("${jwt.secret}")
-    String secretKey;
+    final JwtClaimsCache claimsCache;
+    final JwtKeyRing keyRing;
 
     @Value("${jwt.expiration-minutes}")
     long accessTokenExpr;
@@ -73,11 +71,8 @@ public class JwtTokenProvider {
 
         Payload payload = new Payload(jwtClaimsSet.toJSONObject());
 
-        JWSHeader header2load = new JWSHeader.Builder(JWSAlgorithm.HS256).type(new JOSEObjectType("JWT")).build();
-        JWSObject object = new JWSObject(header2load, payload);
-
-        SecretKeySpec secretKeySpec = new SecretKeySpec(secretKey.getBytes(), "HmacSHA256");
-        object.sign(new MACSigner(secretKeySpec));
+        JWSObject object = new JWSObject(keyRing.header(), payload);
+        object.sign(keyRing.signer());
         return object.serialize();
     }
 
@@ -92,27 +87,50 @@ public class JwtTokenProvider {
 
 
     public Boolean verify(String token) {
+        VerifiedJwt verifiedJwt = parse(token);
+        if (verifiedJwt.isExpired()) {
+            throw new JwtAuthException("Token has expired! ", new JwtException("JWT_EXPIRED"));
+        }
+        return true;
+    }
+
+    // Signature-checked header and claims, decoded once per token and shared through the claims cache
+    public VerifiedJwt parse(String token) {
+        return claimsCache.get(token, this::verifySignature);
+    }
+
+    private VerifiedJwt verifySignature(String token) {
         try {
-            SecretKeySpec secretKeySpec = new SecretKeySpec(secretKey.getBytes(), "HmacSHA256");
-            JWSVerifier jwsVerifier = new MACVerifier(secretKeySpec);
             SignedJWT signedJWT = SignedJWT.parse(token);
-
-            Instant exp = signedJWT.getJWTClaimsSet().getExpirationTime().toInstant();
-            try {
-                if (exp.isBefore(Instant.now())) {
-                    throw new JwtException("JWT_EXPIRED");
-                }
-            }catch (JwtException e) {
-                throw new JwtAuthException("Token has expired! ", e);
+            JWSVerifier jwsVerifier = keyRing.verifier(signedJWT.getHeader().getKeyID());
+            if (jwsVerifier == null || !signedJWT.verify(jwsVerifier)) {
+                throw new IdentityRuntimeException(ErrorResponse.JWT_INVALID);
             }
-            return signedJWT.verify(jwsVerifier);
-
+            return new VerifiedJwt(signedJWT.getHeader().toJSONObject(), signedJWT.getJWTClaimsSet());
         } catch (ParseException | JOSEException e) {
             log.info("Exception parse: {}", e.getMessage());
             throw new IdentityRuntimeException(ErrorResponse.JWT_INVALID);
         }
     }
 
+    public JwtKeysResponse getKeys() {
+        return JwtKeysResponse.builder()
+                .activeKeyId(keyRing.activeKeyId())
+                .keyIds(new TreeSet<>(keyRing.keyIds()))
+                .build();
+    }
+
+    public JwtKeysResponse rotateKey(JwtKeyRequest request) {
+        keyRing.rotate(request.getKeyId(), request.getSecret());
+        return getKeys();
+    }
+
+    // Cached verifications made with the removed key must not outlive it
+    public void removeKey(String keyId) {
+        keyRing.remove(keyId);
+        claimsCache.evictIf(jwt -> keyId.equals(keyRing.effectiveKeyId(jwt.getKeyId())));
+    }
+
     private String buildRoleScope(UserDetails user) {
         StringJoiner stringJoiner = new StringJoiner(" ");
         if (!user.getAuthorities().isEmpty()) {
@@ -142,14 +160,6 @@ public class JwtTokenProvider {
     }
 
     public <T> T getClaimFromToken(String token, Function<JWTClaimsSet, T> claimsResolver) {
-
-        try {
-            JWTClaimsSet claimsSet = SignedJWT.parse(token).getJWTClaimsSet();
-            return claimsResolver.apply(claimsSet);
-        } catch (ParseException e) {
-            throw new IdentityRuntimeException(ErrorResponse.JWT_INVALID);
-        }
-
-
+        return claimsResolver.apply(parse(token).getClaims());
     }
 }
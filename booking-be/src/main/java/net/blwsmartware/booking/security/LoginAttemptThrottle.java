@@ -0,0 +1,104 @@
+package net.blwsmartware.booking.security;
+
+import net.blwsmartware.booking.enums.ErrorResponse;
+import net.blwsmartware.booking.exception.IdentityRuntimeException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-window login limits, checked before any password is hashed: attempts per client IP and failed
+ * attempts per username from one client IP. Keying failures on the pair means guessing from one address is
+ * stopped without letting anyone else lock the account. Counters are per instance.
+ */
+@Component
+public class LoginAttemptThrottle {
+
+    private final int maxAttemptsPerIp;
+    private final int maxFailuresPerUsername;
+    private final long windowMillis;
+
+    private final Map<String, Window> ipAttempts = new ConcurrentHashMap<>();
+    private final Map<String, Window> usernameFailures = new ConcurrentHashMap<>();
+    private final LongAdder throttled = new LongAdder();
+
+    public LoginAttemptThrottle(@Value("${config.login-throttle.max-attempts-per-ip}") int maxAttemptsPerIp,
+                                @Value("${config.login-throttle.max-failures-per-username}") int maxFailuresPerUsername,
+                                @Value("${config.login-throttle.window-seconds}") long windowSeconds) {
+        this.maxAttemptsPerIp = maxAttemptsPerIp;
+        this.maxFailuresPerUsername = maxFailuresPerUsername;
+        this.windowMillis = Duration.ofSeconds(windowSeconds).toMillis();
+    }
+
+    // Counts the attempt against the IP, throws 429 when the IP or the username is over its limit
+    public void acquire(String username, String clientIp) {
+        long now = System.currentTimeMillis();
+        Window failures = usernameFailures.get(key(username, clientIp));
+        if (failures != null && failures.count(now) >= maxFailuresPerUsername) {
+            reject();
+        }
+        if (clientIp != null && window(ipAttempts, clientIp, now).increment(now) > maxAttemptsPerIp) {
+            reject();
+        }
+    }
+
+    public void onFailure(String username, String clientIp) {
+        long now = System.currentTimeMillis();
+        window(usernameFailures, key(username, clientIp), now).increment(now);
+    }
+
+    public void onSuccess(String username, String clientIp) {
+        usernameFailures.remove(key(username, clientIp));
+    }
+
+    public long getThrottled() {
+        return throttled.sum();
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        ipAttempts.values().removeIf(window -> window.isOver(now));
+        usernameFailures.values().removeIf(window -> window.isOver(now));
+    }
+
+    private Window window(Map<String, Window> windows, String key, long now) {
+        return windows.compute(key, (k, window) -> window == null || window.isOver(now) ? new Window(now) : window);
+    }
+
+    private void reject() {
+        throttled.increment();
+        throw new IdentityRuntimeException(ErrorResponse.TOO_MANY_REQUESTS);
+    }
+
+    private String key(String username, String clientIp) {
+        return (username == null ? "" : username.toLowerCase(Locale.ROOT)) + "|" + (clientIp == null ? "" : clientIp);
+    }
+
+    private class Window {
+        private final long start;
+        private int count;
+
+        Window(long start) {
+            this.start = start;
+        }
+
+        synchronized int increment(long now) {
+            return isOver(now) ? 1 : ++count;
+        }
+
+        synchronized int count(long now) {
+            return isOver(now) ? 0 : count;
+        }
+
+        boolean isOver(long now) {
+            return now - start >= windowMillis;
+        }
+    }
+}
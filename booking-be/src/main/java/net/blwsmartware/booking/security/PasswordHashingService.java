@@ -0,0 +1,123 @@
+package net.blwsmartware.booking.security;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.blwsmartware.booking.dto.response.PasswordHashingStatsResponse;
+import net.blwsmartware.booking.enums.ErrorResponse;
+import net.blwsmartware.booking.exception.IdentityRuntimeException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * BCrypt on a pool of its own, so at most pool-size request threads burn CPU on hashing while the rest keep
+ * serving cheap reads. Callers wait for their hash; once queue-capacity hashes are already waiting, new ones
+ * are rejected with 429 instead of piling up. The pool is platform threads in every execution mode, hashing is
+ * CPU-bound and gains nothing from virtual threads.
+ */
+@Component
+@Slf4j
+public class PasswordHashingService implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder hashes = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAccumulator maxHashNanos = new LongAccumulator(Long::max, 0);
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public PasswordHashingService(@Value("${config.password-hashing.strength}") int strength,
+                                  @Value("${config.password-hashing.pool-size}") int poolSize,
+                                  @Value("${config.password-hashing.queue-capacity}") int queueCapacity) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public PasswordHashingStatsResponse getStats() {
+        long count = hashes.sum();
+        return PasswordHashingStatsResponse.builder()
+                .hashes(count)
+                .rejected(rejected.sum())
+                .avgHashMillis(count == 0 ? 0.0 : hashNanos.sum() / 1_000_000.0 / count)
+                .maxHashMillis(maxHashNanos.get() / 1_000_000.0)
+                .avgWaitMillis(count == 0 ? 0.0 : waitNanos.sum() / 1_000_000.0 / count)
+                .activeThreads(executor.getActiveCount())
+                .poolSize(executor.getMaximumPoolSize())
+                .queued(executor.getQueue().size())
+                .queueCapacity(executor.getQueue().size() + executor.getQueue().remainingCapacity())
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T run(Supplier<T> hashing) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long started = System.nanoTime();
+                try {
+                    return hashing.get();
+                } finally {
+                    long elapsed = System.nanoTime() - started;
+                    hashes.increment();
+                    hashNanos.add(elapsed);
+                    maxHashNanos.accumulate(elapsed);
+                    waitNanos.add(started - submitted);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Password hashing queue full, rejecting request");
+            throw new IdentityRuntimeException(ErrorResponse.TOO_MANY_REQUESTS);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IdentityRuntimeException(ErrorResponse.UNKNOWN_EXCEPTION);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
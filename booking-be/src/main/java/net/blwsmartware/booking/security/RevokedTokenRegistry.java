@@ -0,0 +1,62 @@
+package net.blwsmartware.booking.security;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.blwsmartware.booking.entity.InvalidToken;
+import net.blwsmartware.booking.repository.InvalidTokenRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ids of revoked tokens that have not expired yet, kept in memory so every request can be checked without
+ * touching the database. InvalidToken stays the source of truth: the set is loaded from it on startup and
+ * re-synced on each purge, which is also how logouts on other instances reach this one.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RevokedTokenRegistry {
+
+    private final InvalidTokenRepository invalidTokenRepository;
+    private final Map<UUID, Instant> revoked = new ConcurrentHashMap<>();
+
+    public boolean isRevoked(UUID jwtId) {
+        return revoked.containsKey(jwtId);
+    }
+
+    public void revoke(InvalidToken token) {
+        invalidTokenRepository.save(token);
+        revoked.put(token.getId(), token.getExpr());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        sync(Instant.now());
+        log.info("Loaded {} revoked tokens", revoked.size());
+    }
+
+    // Expired tokens fail verification anyway, so their rows and ids are no longer needed
+    @Transactional
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval-ms}",
+               initialDelayString = "${jwt.revocation.purge-interval-ms}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        int deleted = invalidTokenRepository.deleteExpired(now);
+        revoked.values().removeIf(expr -> !expr.isAfter(now));
+        sync(now);
+        log.debug("Purged {} expired revoked tokens", deleted);
+    }
+
+    private void sync(Instant now) {
+        invalidTokenRepository.findAllByExprAfter(now)
+                .forEach(token -> revoked.put(token.getId(), token.getExpr()));
+    }
+}
@@ -0,0 +1,56 @@
+package net.blwsmartware.booking.security;
+
+import lombok.extern.slf4j.Slf4j;
+import net.blwsmartware.booking.dto.response.CacheStatsResponse;
+import net.blwsmartware.booking.event.UserChangedEvent;
+import net.blwsmartware.booking.util.BoundedCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * User details snapshots by username for login and refresh. Entries live for ttl-seconds and are dropped
+ * as soon as a write to the user commits, so blocking, role and password changes apply to the next login.
+ * The eviction only reaches this instance; other instances pick the change up when their entry expires, which is
+ * why the TTL is short.
+ */
+@Component
+@Slf4j
+public class UserDetailsCache {
+
+    private final BoundedCache<String, Entry> cache;
+    private final long ttlMillis;
+
+    public UserDetailsCache(@Value("${config.cache.user-details.max-entries}") int maxEntries,
+                            @Value("${config.cache.user-details.ttl-seconds}") long ttlSeconds) {
+        this.ttlMillis = Duration.ofSeconds(ttlSeconds).toMillis();
+        this.cache = new BoundedCache<>("user-details", maxEntries,
+                entry -> entry.expiresAt() <= System.currentTimeMillis());
+    }
+
+    public CustomUserDetails get(String username, Supplier<CustomUserDetails> loader) {
+        return cache.get(username, () -> new Entry(loader.get(), System.currentTimeMillis() + ttlMillis)).details();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        log.debug("Evicting user details of {}", event.getUserId());
+        cache.invalidateIf((username, entry) -> entry.details().getID().equals(event.getUserId()));
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeExpired() {
+        cache.purgeExpired();
+    }
+
+    public CacheStatsResponse getStats() {
+        return CacheStatsResponse.from(cache);
+    }
+
+    private record Entry(CustomUserDetails details, long expiresAt) {
+    }
+}
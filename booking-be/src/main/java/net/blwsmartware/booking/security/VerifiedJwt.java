@@ -0,0 +1,36 @@
+package net.blwsmartware.booking.security;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.Instant;
+import java.util.Map;
+
+// A token whose signature has been checked, with its header and claims already decoded
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class VerifiedJwt {
+    Map<String, Object> headers;
+    JWTClaimsSet claims;
+    Instant issuedAt;
+    Instant expiresAt;
+
+    public VerifiedJwt(Map<String, Object> headers, JWTClaimsSet claims) {
+        this.headers = headers;
+        this.claims = claims;
+        this.issuedAt = claims.getIssueTime().toInstant();
+        this.expiresAt = claims.getExpirationTime().toInstant();
+    }
+
+    // null for tokens issued before key ids were added to the header
+    public String getKeyId() {
+        Object kid = headers.get("kid");
+        return kid != null ? kid.toString() : null;
+    }
+
+    public boolean isExpired() {
+        return !expiresAt.isAfter(Instant.now());
+    }
+}
@@ -0,0 +1,12 @@
+package net.blwsmartware.booking.service;
+
+import net.blwsmartware.booking.dto.response.AdminDashboardResponse;
+
+public interface AdminDashboardService {
+
+    AdminDashboardResponse getDashboard();
+    AdminDashboardResponse.HotelStats getHotelStats();
+    AdminDashboardResponse.RoomTypeStats getRoomTypeStats();
+    AdminDashboardResponse.ReviewStats getReviewStats();
+    AdminDashboardResponse.UserStats getUserStats();
+}
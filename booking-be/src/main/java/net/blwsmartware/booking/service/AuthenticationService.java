@@ -9,7 +9,7 @@ import net.blwsmartware.booking.dto.response.VerifyResponse;
 
 public interface AuthenticationService {
     VerifyResponse verify(VerifyRequest request);
-    AuthenResponse authentication(AuthenRequest request);
+    AuthenResponse authentication(AuthenRequest request, String clientIp);
     void logout(LogoutRequest request);
     AuthenResponse refreshToken(RefreshRequest request);
 }
@@ -0,0 +1,21 @@
+package net.blwsmartware.booking.service;
+
+import net.blwsmartware.booking.dto.request.BookingCreateRequest;
+import net.blwsmartware.booking.dto.response.BookingResponse;
+import net.blwsmartware.booking.dto.response.DataResponse;
+
+import java.util.UUID;
+
+public interface BookingService {
+
+    // Hold-then-confirm: a hold takes the rooms right away and is released if not confirmed in time
+    BookingResponse hold(BookingCreateRequest request);
+    BookingResponse confirm(UUID id);
+    BookingResponse cancel(UUID id);
+
+    BookingResponse getBookingById(UUID id);
+    DataResponse<BookingResponse> getMyBookings(Integer pageNumber, Integer pageSize, String sortBy);
+
+    // Called when a hold runs out, does nothing if the booking was confirmed or cancelled meanwhile
+    void expireHold(UUID id);
+}
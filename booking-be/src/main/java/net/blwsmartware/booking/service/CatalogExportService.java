@@ -0,0 +1,12 @@
+package net.blwsmartware.booking.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface CatalogExportService {
+
+    // Writes every row to the stream as it is read, returns the number of rows written
+    long exportHotels(OutputStream out, String format) throws IOException;
+    long exportRoomTypes(OutputStream out, String format) throws IOException;
+    long exportReviews(OutputStream out, String format) throws IOException;
+}
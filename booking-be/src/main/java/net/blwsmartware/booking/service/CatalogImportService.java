@@ -0,0 +1,17 @@
+package net.blwsmartware.booking.service;
+
+import net.blwsmartware.booking.dto.response.ImportJobResponse;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.UUID;
+
+public interface CatalogImportService {
+
+    // Spools the upload and queues it, rows are imported in the background
+    ImportJobResponse startHotelImport(InputStream body, String format);
+    ImportJobResponse startRoomTypeImport(InputStream body, String format);
+
+    ImportJobResponse getJob(UUID id);
+    List<ImportJobResponse> getJobs();
+}
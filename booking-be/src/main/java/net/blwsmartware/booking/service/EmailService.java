@@ -8,17 +8,20 @@ import lombok.experimental.FieldDefaults;
 import lombok.experimental.NonFinal;
 import lombok.extern.slf4j.Slf4j;
 import net.blwsmartware.booking.dto.request.EmailRequest;
-import net.blwsmartware.booking.enums.ErrorResponse;
-import net.blwsmartware.booking.exception.IdentityRuntimeException;
+import net.blwsmartware.booking.entity.EmailOutbox;
+import net.blwsmartware.booking.event.EmailQueuedEvent;
+import net.blwsmartware.booking.repository.EmailOutboxRepository;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.thymeleaf.context.Context;
 import org.thymeleaf.spring6.SpringTemplateEngine;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 
 @Service
 @RequiredArgsConstructor
@@ -26,41 +29,53 @@ import java.nio.charset.StandardCharsets;
 @Slf4j
 public class EmailService {
 
+    private static final String VERIFY_TEMPLATE = "verifycode-email";
+
     JavaMailSender mailSender;
     SpringTemplateEngine templateEngine;
+    EmailOutboxRepository emailOutboxRepository;
+    ApplicationEventPublisher eventPublisher;
 
     @Value("${spring.mail.username}")
     @NonFinal
     String sender;
 
 
-    @Async
+    // Queues the mail in the caller's transaction, EmailOutboxDispatcher sends it once that commits
+    @Transactional
     public void sendEmail(EmailRequest emailRequest) {
 
+        EmailOutbox email = emailOutboxRepository.save(EmailOutbox.builder()
+                .recipient(emailRequest.getTo())
+                .name(emailRequest.getName())
+                .subject(emailRequest.getSubject() != null ? emailRequest.getSubject() : "Verification Code")
+                .content(emailRequest.getContent())
+                .template(VERIFY_TEMPLATE)
+                .status(EmailOutbox.PENDING)
+                .nextAttemptAt(Instant.now())
+                .build());
+        log.info("Email to {} queued", emailRequest.getTo());
+
+        eventPublisher.publishEvent(new EmailQueuedEvent(email.getId()));
+    }
+
+    public MimeMessage toMessage(EmailOutbox email) throws MessagingException {
+
         MimeMessage message = mailSender.createMimeMessage();
 
         MimeMessageHelper helper = new MimeMessageHelper(message, StandardCharsets.UTF_8.name());
-        log.info("Email sending...");
 
         Context context = new Context();
-        context.setVariable("name",emailRequest.getName());
-        context.setVariable("content",emailRequest.getContent());
-
-        String html = templateEngine.process("verifycode-email",context);
-
-        try {
-            helper.setTo(emailRequest.getTo() );
-            helper.setText(html,true);
-            helper.setSubject("Verification Code");
-            helper.setFrom(sender);
+        context.setVariable("name",email.getName());
+        context.setVariable("content",email.getContent());
 
-            mailSender.send(message);
-            log.info("Email sent to {}... Done!",emailRequest.getTo());
+        String html = templateEngine.process(email.getTemplate(),context);
 
-        } catch (MessagingException e) {
-            log.error( "MessagingException :{}", e.getMessage());
-            throw new IdentityRuntimeException(ErrorResponse.EMAIL_INVALID);
-        }
+        helper.setTo(email.getRecipient());
+        helper.setText(html,true);
+        helper.setSubject(email.getSubject());
+        helper.setFrom(sender);
 
+        return message;
     }
 }
@@ -1,19 +1,25 @@
 package net.blwsmartware.booking.service;
 
+import net.blwsmartware.booking.dto.request.BulkHotelFlagRequest;
 import net.blwsmartware.booking.dto.request.HotelCreateRequest;
 import net.blwsmartware.booking.dto.request.HotelUpdateRequest;
+import net.blwsmartware.booking.dto.response.BulkUpdateResponse;
 import net.blwsmartware.booking.dto.response.DataResponse;
 import net.blwsmartware.booking.dto.response.HotelResponse;
+import net.blwsmartware.booking.dto.response.SuggestionResponse;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
 public interface HotelService {
     
-    DataResponse<HotelResponse> getAllHotels(Integer pageNumber, Integer pageSize, String sortBy);
+    DataResponse<HotelResponse> getAllHotels(Integer pageNumber, Integer pageSize, String sortBy, String cursor, Boolean skipCount);
     DataResponse<HotelResponse> getAllHotelsWithFilters(
             String city, String country, Integer starRating, Boolean isActive, Boolean isFeatured,
-            BigDecimal minPrice, BigDecimal maxPrice, Integer pageNumber, Integer pageSize, String sortBy);
+            BigDecimal minPrice, BigDecimal maxPrice, Integer pageNumber, Integer pageSize, String sortBy,
+            Boolean facets);
     HotelResponse getHotelById(UUID id);
     HotelResponse createHotel(HotelCreateRequest request);
     HotelResponse updateHotel(UUID id, HotelUpdateRequest request);
@@ -21,7 +27,12 @@ public interface HotelService {
     HotelResponse toggleHotelStatus(UUID id);
     HotelResponse toggleFeaturedStatus(UUID id);
     
-    DataResponse<HotelResponse> searchHotels(String keyword, Integer pageNumber, Integer pageSize, String sortBy);
+    // Bulk flag changes by ids or filters, one set-based update per chunk
+    BulkUpdateResponse bulkSetHotelStatus(BulkHotelFlagRequest request);
+    BulkUpdateResponse bulkSetHotelFeatured(BulkHotelFlagRequest request);
+    
+    DataResponse<HotelResponse> searchHotels(String keyword, Integer pageNumber, Integer pageSize, String sortBy,
+                                             Boolean facets);
     DataResponse<HotelResponse> getHotelsByCity(String city, Integer pageNumber, Integer pageSize, String sortBy);
     DataResponse<HotelResponse> getHotelsByCountry(String country, Integer pageNumber, Integer pageSize, String sortBy);
     DataResponse<HotelResponse> getHotelsByStarRating(Integer starRating, Integer pageNumber, Integer pageSize, String sortBy);
@@ -33,6 +44,12 @@ public interface HotelService {
 
     DataResponse<HotelResponse> getHotelsNearLocation(
             Double latitude, Double longitude, Double radiusKm, Integer pageNumber, Integer pageSize, String sortBy);
+    List<HotelResponse> getNearestHotels(Double latitude, Double longitude, Integer k);
+    List<SuggestionResponse> getSuggestions(String prefix, Integer limit);
+
+    // Hotels with a room type for the guests that is free on every night of the stay
+    DataResponse<HotelResponse> getAvailableHotels(String city, LocalDate checkIn, LocalDate checkOut, Integer guests,
+                                                   Integer pageNumber, Integer pageSize, String sortBy);
     
     Long getTotalHotelsCount();
     Long getActiveHotelsCount();
@@ -0,0 +1,34 @@
+package net.blwsmartware.booking.service;
+
+import net.blwsmartware.booking.dto.response.HotelResponse;
+import net.blwsmartware.booking.dto.response.RatingDistributionResponse;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface HotelStatisticsService {
+
+    // Review deltas, only approved reviews are counted
+    void reviewApproved(UUID hotelId, int rating);
+    void reviewWithdrawn(UUID hotelId, int rating);
+    void reviewRatingChanged(UUID hotelId, int oldRating, int newRating);
+    // Net change of many reviews of one hotel, for bulk moderation; index 0 is one star
+    void reviewsChanged(UUID hotelId, long[] starDeltas);
+
+    // Recompute room type aggregates for one hotel
+    void refreshRoomTotals(UUID hotelId);
+
+    void initialize(UUID hotelId);
+    void remove(UUID hotelId);
+    void rebuildAll();
+    // Recount review aggregates of hotels that drifted from their reviews, returns how many were fixed
+    int repairReviewStatistics();
+
+    // Empty when the hotel does not exist
+    Optional<RatingDistributionResponse> getRatingDistribution(UUID hotelId);
+
+    // Fill statistics fields of the given responses with a single lookup
+    void applyTo(Collection<HotelResponse> responses);
+    void applyTo(HotelResponse response);
+}
@@ -1,7 +1,11 @@
 package net.blwsmartware.booking.service;
 
+import net.blwsmartware.booking.dto.request.BulkReviewRequest;
 import net.blwsmartware.booking.dto.request.ReviewCreateRequest;
+import net.blwsmartware.booking.dto.response.BulkUpdateResponse;
 import net.blwsmartware.booking.dto.response.DataResponse;
+import net.blwsmartware.booking.dto.response.RatingDistributionResponse;
+import net.blwsmartware.booking.dto.response.ReviewHelpfulResponse;
 import net.blwsmartware.booking.dto.response.ReviewResponse;
 import org.springframework.data.domain.Pageable;
 
@@ -10,7 +14,7 @@ import java.util.UUID;
 public interface ReviewService {
     
     // Admin operations
-    DataResponse<ReviewResponse> getAllReviews(Integer pageNumber, Integer pageSize, String sortBy);
+    DataResponse<ReviewResponse> getAllReviews(Integer pageNumber, Integer pageSize, String sortBy, String cursor, Boolean skipCount);
     DataResponse<ReviewResponse> getAllReviewsWithFilters(
             UUID hotelId, UUID userId, Integer rating, Boolean isApproved, Boolean isVerified,
             Integer pageNumber, Integer pageSize, String sortBy);
@@ -20,9 +24,14 @@ public interface ReviewService {
     ReviewResponse disapproveReview(UUID id);
     ReviewResponse verifyReview(UUID id);
     
+    // Bulk moderation by ids or filters, one set-based update per chunk
+    BulkUpdateResponse bulkApproveReviews(BulkReviewRequest request);
+    BulkUpdateResponse bulkDisapproveReviews(BulkReviewRequest request);
+    BulkUpdateResponse bulkVerifyReviews(BulkReviewRequest request);
+    
     // Hotel-specific operations
-    DataResponse<ReviewResponse> getReviewsByHotel(UUID hotelId, Integer pageNumber, Integer pageSize, String sortBy);
-    DataResponse<ReviewResponse> getApprovedReviewsByHotel(UUID hotelId, Integer pageNumber, Integer pageSize, String sortBy);
+    DataResponse<ReviewResponse> getReviewsByHotel(UUID hotelId, Integer pageNumber, Integer pageSize, String sortBy, String cursor, Boolean skipCount);
+    DataResponse<ReviewResponse> getApprovedReviewsByHotel(UUID hotelId, Integer pageNumber, Integer pageSize, String sortBy, String cursor, Boolean skipCount);
     DataResponse<ReviewResponse> getVerifiedReviewsByHotel(UUID hotelId, Integer pageNumber, Integer pageSize, String sortBy);
     
     // User operations
@@ -30,6 +39,7 @@ public interface ReviewService {
     ReviewResponse updateReview(UUID id, ReviewCreateRequest request);
     DataResponse<ReviewResponse> getMyReviews(Integer pageNumber, Integer pageSize, String sortBy);
     DataResponse<ReviewResponse> getReviewsByUser(UUID userId, Integer pageNumber, Integer pageSize, String sortBy);
+    ReviewHelpfulResponse markHelpful(UUID id);
     
     // Search and filter operations
     DataResponse<ReviewResponse> getReviewsByRating(Integer rating, Integer pageNumber, Integer pageSize, String sortBy);
@@ -42,6 +52,7 @@ public interface ReviewService {
     Long getReviewsCountByHotel(UUID hotelId);
     Long getReviewsCountByUser(UUID userId);
     Double getAverageRatingByHotel(UUID hotelId);
+    RatingDistributionResponse getRatingDistribution(UUID hotelId);
     
     // Validation methods
     boolean hasUserReviewedHotel(UUID userId, UUID hotelId);
@@ -0,0 +1,20 @@
+package net.blwsmartware.booking.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface RoomInventoryService {
+
+    // Creates the missing nights of [from, to) with the given capacity, in its own transaction
+    void prepareNights(UUID roomTypeId, int capacity, LocalDate from, LocalDate to);
+
+    // Takes rooms from every night of [from, to) or none, must run inside the caller's transaction
+    void reserve(UUID roomTypeId, LocalDate from, LocalDate to, int rooms);
+    void release(UUID roomTypeId, LocalDate from, LocalDate to, int rooms);
+
+    // Applies a new room count to nights from today on
+    void resize(UUID roomTypeId, int capacity);
+
+    void removeAll(List<UUID> roomTypeIds);
+}
@@ -10,7 +10,7 @@ import java.util.UUID;
 public interface RoomTypeService {
     
     // Admin operations
-    DataResponse<RoomTypeResponse> getAllRoomTypes(Integer pageNumber, Integer pageSize, String sortBy);
+    DataResponse<RoomTypeResponse> getAllRoomTypes(Integer pageNumber, Integer pageSize, String sortBy, String cursor, Boolean skipCount);
     DataResponse<RoomTypeResponse> getAllRoomTypesWithFilters(
             UUID hotelId, Boolean isActive, Integer minOccupancy, Integer maxOccupancy,
             BigDecimal minPrice, BigDecimal maxPrice, Integer pageNumber, Integer pageSize, String sortBy);
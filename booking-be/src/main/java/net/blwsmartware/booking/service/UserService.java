@@ -11,7 +11,7 @@ public interface UserService {
     UserResponse confirmEmail(ConfirmEmailRequest request);
     UserResponse resendCodeMail(ResendEmailRequest request);
     UserResponse newPass(NewPassRequest request);
-    DataResponse<UserResponse> getAll(Integer pageNumber, Integer pageSize, String sortBy);
+    DataResponse<UserResponse> getAll(Integer pageNumber, Integer pageSize, String sortBy, String cursor, Boolean skipCount);
     UserResponse getUserByID(UUID id);
     UserResponse getUserByEmail(String email);
     UserResponse getUserByUsername(String username);
@@ -0,0 +1,131 @@
+package net.blwsmartware.booking.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import net.blwsmartware.booking.dto.response.AdminDashboardResponse;
+import net.blwsmartware.booking.repository.DashboardRepository;
+import net.blwsmartware.booking.repository.projection.DashboardCounters;
+import net.blwsmartware.booking.service.AdminDashboardService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Dashboard figures from a single aggregate query, served from a snapshot that is reused for a few seconds.
+ * Concurrent refreshes after expiry collapse into one query. The refresh lock is a ReentrantLock rather than a
+ * monitor so a virtual thread waiting on the query does not pin its carrier.
+ */
+@Service
+@Slf4j
+public class AdminDashboardServiceImpl implements AdminDashboardService {
+
+    private final DashboardRepository dashboardRepository;
+    private final long ttlMillis;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    public AdminDashboardServiceImpl(DashboardRepository dashboardRepository,
+                                     @Value("${config.cache.dashboard.ttl-seconds}") long ttlSeconds) {
+        this.dashboardRepository = dashboardRepository;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    @Override
+    public AdminDashboardResponse getDashboard() {
+        return current().dashboard;
+    }
+
+    @Override
+    public AdminDashboardResponse.HotelStats getHotelStats() {
+        AdminDashboardResponse dashboard = getDashboard();
+        return AdminDashboardResponse.HotelStats.builder()
+                .totalHotels(dashboard.getTotalHotels())
+                .activeHotels(dashboard.getActiveHotels())
+                .featuredHotels(dashboard.getFeaturedHotels())
+                .inactiveHotels(dashboard.getInactiveHotels())
+                .build();
+    }
+
+    @Override
+    public AdminDashboardResponse.RoomTypeStats getRoomTypeStats() {
+        AdminDashboardResponse dashboard = getDashboard();
+        return AdminDashboardResponse.RoomTypeStats.builder()
+                .totalRoomTypes(dashboard.getTotalRoomTypes())
+                .activeRoomTypes(dashboard.getActiveRoomTypes())
+                .inactiveRoomTypes(dashboard.getInactiveRoomTypes())
+                .build();
+    }
+
+    @Override
+    public AdminDashboardResponse.ReviewStats getReviewStats() {
+        AdminDashboardResponse dashboard = getDashboard();
+        return AdminDashboardResponse.ReviewStats.builder()
+                .totalReviews(dashboard.getTotalReviews())
+                .approvedReviews(dashboard.getApprovedReviews())
+                .verifiedReviews(dashboard.getVerifiedReviews())
+                .pendingReviews(dashboard.getPendingReviews())
+                .build();
+    }
+
+    @Override
+    public AdminDashboardResponse.UserStats getUserStats() {
+        AdminDashboardResponse dashboard = getDashboard();
+        return AdminDashboardResponse.UserStats.builder()
+                .totalUsers(dashboard.getTotalUsers())
+                .activeUsers(dashboard.getActiveUsers())
+                .inactiveUsers(dashboard.getInactiveUsers())
+                .build();
+    }
+
+    private Snapshot current() {
+        Snapshot cached = snapshot;
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+        refreshLock.lock();
+        try {
+            cached = snapshot;
+            if (cached == null || cached.isExpired()) {
+                cached = new Snapshot(build(dashboardRepository.loadCounters()), System.currentTimeMillis() + ttlMillis);
+                snapshot = cached;
+            }
+            return cached;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private AdminDashboardResponse build(DashboardCounters counters) {
+        return AdminDashboardResponse.builder()
+                .totalHotels(counters.getTotalHotels())
+                .activeHotels(counters.getActiveHotels())
+                .featuredHotels(counters.getFeaturedHotels())
+                .inactiveHotels(counters.getTotalHotels() - counters.getActiveHotels())
+                .totalRoomTypes(counters.getTotalRoomTypes())
+                .activeRoomTypes(counters.getActiveRoomTypes())
+                .inactiveRoomTypes(counters.getTotalRoomTypes() - counters.getActiveRoomTypes())
+                .totalReviews(counters.getTotalReviews())
+                .approvedReviews(counters.getApprovedReviews())
+                .verifiedReviews(counters.getVerifiedReviews())
+                .pendingReviews(counters.getTotalReviews() - counters.getApprovedReviews())
+                .totalUsers(counters.getTotalUsers())
+                .activeUsers(counters.getActiveUsers())
+                .inactiveUsers(counters.getTotalUsers() - counters.getActiveUsers())
+                .build();
+    }
+
+    private static final class Snapshot {
+        private final AdminDashboardResponse dashboard;
+        private final long expiresAt;
+
+        private Snapshot(AdminDashboardResponse dashboard, long expiresAt) {
+            this.dashboard = dashboard;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+}
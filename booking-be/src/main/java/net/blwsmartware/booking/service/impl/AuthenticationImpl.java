@@ -13,8 +13,9 @@ import net.blwsmartware.booking.dto.response.VerifyResponse;
 import net.blwsmartware.booking.entity.InvalidToken;
 import net.blwsmartware.booking.enums.ErrorResponse;
 import net.blwsmartware.booking.exception.IdentityRuntimeException;
-import net.blwsmartware.booking.repository.InvalidTokenRepository;
 import net.blwsmartware.booking.security.JwtTokenProvider;
+import net.blwsmartware.booking.security.LoginAttemptThrottle;
+import net.blwsmartware.booking.security.RevokedTokenRegistry;
 import net.blwsmartware.booking.service.AuthenticationService;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -30,9 +31,10 @@ import java.util.UUID;
 public class AuthenticationImpl implements AuthenticationService {
 
     JwtTokenProvider jwtTokenProvider;
-    InvalidTokenRepository invalidTokenRepository;
+    RevokedTokenRegistry revokedTokenRegistry;
     PasswordEncoder passwordEncoder;
     UserDetailsService userDetailsService;
+    LoginAttemptThrottle loginAttemptThrottle;
 
     @Override
     public VerifyResponse verify(VerifyRequest request) {
@@ -60,12 +62,24 @@ public class AuthenticationImpl implements AuthenticationService {
     }
 
     @Override
-    public AuthenResponse authentication(AuthenRequest request) {
+    public AuthenResponse authentication(AuthenRequest request, String clientIp) {
 
-        UserDetails userDetails = userDetailsService.loadUserByUsername(request.getUsername());
+        loginAttemptThrottle.acquire(request.getUsername(), clientIp);
+
+        UserDetails userDetails;
+        try {
+            userDetails = userDetailsService.loadUserByUsername(request.getUsername());
+        } catch (RuntimeException e) {
+            loginAttemptThrottle.onFailure(request.getUsername(), clientIp);
+            throw e;
+        }
         var matched = passwordEncoder.matches(request.getPassword(), userDetails.getPassword());
 
-        if (!matched) throw new IdentityRuntimeException(ErrorResponse.USER_NOT_FOUND);
+        if (!matched) {
+            loginAttemptThrottle.onFailure(request.getUsername(), clientIp);
+            throw new IdentityRuntimeException(ErrorResponse.USER_NOT_FOUND);
+        }
+        loginAttemptThrottle.onSuccess(request.getUsername(), clientIp);
 
         String token = jwtTokenProvider.createAccessToken(userDetails);
         String refreshToken = jwtTokenProvider.createRefreshToken(userDetails);
@@ -94,22 +108,31 @@ public class AuthenticationImpl implements AuthenticationService {
             throw new IdentityRuntimeException(ErrorResponse.JWT_EXPIRED);
         }
 
-        String username = jwtTokenProvider.getUsername(token);
-        UUID jwtID = jwtTokenProvider.getJwtID(token);
+        revoke(token);
+
+        // The access token issued alongside is revoked too when the client sends it
+        String accessToken = request.getToken();
+        if (accessToken != null && !accessToken.isBlank()
+                && jwtTokenProvider.getTokenType(accessToken).equals(TokenType.access)) {
+            revoke(accessToken);
+        }
+    }
+
+    private void revoke(String token) {
         InvalidToken jwtInvalid = InvalidToken.builder()
-                .expr(expiryTime)
-                .id(jwtID)
-                .username(username)
+                .expr(jwtTokenProvider.getExpireDate(token))
+                .id(jwtTokenProvider.getJwtID(token))
+                .username(jwtTokenProvider.getUsername(token))
                 .build();
 
-        invalidTokenRepository.save(jwtInvalid);
+        revokedTokenRegistry.revoke(jwtInvalid);
     }
 
     @Override
     public AuthenResponse refreshToken(RefreshRequest request) {
         String token = request.getRefreshToken();
         UUID jwtID = jwtTokenProvider.getJwtID(token);
-        if(!jwtTokenProvider.verify(token) || invalidTokenRepository.existsById(jwtID) ) {
+        if(!jwtTokenProvider.verify(token) || revokedTokenRegistry.isRevoked(jwtID) ) {
             throw new IdentityRuntimeException(ErrorResponse.JWT_INVALID);
         }
         boolean isRefreshToken = jwtTokenProvider.getTokenType(token)
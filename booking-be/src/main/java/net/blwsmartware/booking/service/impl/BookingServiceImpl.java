@@ -0,0 +1,245 @@
+package net.blwsmartware.booking.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.blwsmartware.booking.constant.BookingStatus;
+import net.blwsmartware.booking.constant.PredefinedRole;
+import net.blwsmartware.booking.dto.request.BookingCreateRequest;
+import net.blwsmartware.booking.dto.response.BookingResponse;
+import net.blwsmartware.booking.dto.response.DataResponse;
+import net.blwsmartware.booking.entity.Booking;
+import net.blwsmartware.booking.entity.RoomType;
+import net.blwsmartware.booking.exception.AppException;
+import net.blwsmartware.booking.exception.ErrorCode;
+import net.blwsmartware.booking.mapper.BookingMapper;
+import net.blwsmartware.booking.repository.BookingRepository;
+import net.blwsmartware.booking.repository.RoomTypeRepository;
+import net.blwsmartware.booking.security.CurrentPrincipal;
+import net.blwsmartware.booking.security.CurrentUserResolver;
+import net.blwsmartware.booking.service.BookingService;
+import net.blwsmartware.booking.service.RoomInventoryService;
+import net.blwsmartware.booking.util.DataResponseUtils;
+import net.blwsmartware.booking.util.TimingWheel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Hold-then-confirm bookings on top of the per-night inventory. Each hold is put on a timing wheel that releases
+ * it when the hold time is up; a periodic sweep catches holds whose timer was lost (restart, other instance).
+ * Every status change is a conditional update, so a confirm racing an expiry has exactly one winner and the
+ * rooms are released at most once.
+ */
+@Service
+@Slf4j
+public class BookingServiceImpl implements BookingService {
+
+    private final BookingRepository bookingRepository;
+    private final RoomTypeRepository roomTypeRepository;
+    private final RoomInventoryService roomInventoryService;
+    private final CurrentUserResolver currentUserResolver;
+    private final BookingMapper bookingMapper;
+    private final BookingService self;
+    private final TransactionTemplate transaction;
+    private final Duration holdDuration;
+    private final long maxNights;
+    private final long horizonDays;
+    private final TimingWheel<UUID> holdExpiry;
+
+    public BookingServiceImpl(BookingRepository bookingRepository,
+                              RoomTypeRepository roomTypeRepository,
+                              RoomInventoryService roomInventoryService,
+                              CurrentUserResolver currentUserResolver,
+                              BookingMapper bookingMapper,
+                              @Lazy BookingService self,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${config.booking.hold-minutes}") long holdMinutes,
+                              @Value("${config.booking.wheel-tick-ms}") long wheelTickMillis,
+                              @Value("${config.booking.max-nights}") long maxNights,
+                              @Value("${config.booking.horizon-days}") long horizonDays) {
+        this.bookingRepository = bookingRepository;
+        this.roomTypeRepository = roomTypeRepository;
+        this.roomInventoryService = roomInventoryService;
+        this.currentUserResolver = currentUserResolver;
+        this.bookingMapper = bookingMapper;
+        this.self = self;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.holdDuration = Duration.ofMinutes(holdMinutes);
+        this.maxNights = maxNights;
+        this.horizonDays = horizonDays;
+        // One lap of the wheel covers a full hold, so most timers fire on their first visit
+        int slots = (int) Math.max(64, holdDuration.toMillis() / wheelTickMillis + 1);
+        this.holdExpiry = new TimingWheel<>("booking-hold-expiry", wheelTickMillis, slots, this::onHoldExpired);
+    }
+
+    @Override
+    public BookingResponse hold(BookingCreateRequest request) {
+        LocalDate checkIn = request.getCheckIn();
+        LocalDate checkOut = request.getCheckOut();
+        if (!checkOut.isAfter(checkIn)) {
+            throw new AppException(ErrorCode.INVALID_BOOKING_DATES);
+        }
+        if (ChronoUnit.DAYS.between(checkIn, checkOut) > maxNights) {
+            throw new AppException(ErrorCode.BOOKING_STAY_TOO_LONG);
+        }
+        if (checkIn.isAfter(LocalDate.now().plusDays(horizonDays))) {
+            throw new AppException(ErrorCode.BOOKING_BEYOND_HORIZON);
+        }
+        RoomType roomType = roomTypeRepository.findById(request.getRoomTypeId())
+                .orElseThrow(() -> new AppException(ErrorCode.ROOM_TYPE_NOT_FOUND));
+        if (!roomType.isActive()) {
+            throw new AppException(ErrorCode.ROOM_TYPE_NOT_FOUND);
+        }
+        int capacity = roomType.getTotalRooms() != null ? roomType.getTotalRooms() : 0;
+
+        // Outside the booking transaction so a hold never needs two pooled connections at once
+        roomInventoryService.prepareNights(roomType.getId(), capacity, checkIn, checkOut);
+
+        Booking booking = transaction.execute(status -> {
+            roomInventoryService.reserve(roomType.getId(), checkIn, checkOut, request.getRooms());
+            return bookingRepository.save(Booking.builder()
+                    .roomType(roomType)
+                    .hotel(roomType.getHotel())
+                    .user(currentUserResolver.getUser())
+                    .checkIn(checkIn)
+                    .checkOut(checkOut)
+                    .rooms(request.getRooms())
+                    .totalPrice(totalPrice(roomType.getPricePerNight(), checkIn, checkOut, request.getRooms()))
+                    .status(BookingStatus.HELD)
+                    .holdExpiresAt(Instant.now().plus(holdDuration))
+                    .build());
+        });
+        holdExpiry.schedule(booking.getId(), booking.getHoldExpiresAt().toEpochMilli());
+        log.info("Booking {} holds {} room(s) of {} from {} to {}",
+                booking.getId(), booking.getRooms(), roomType.getId(), checkIn, checkOut);
+
+        return bookingMapper.toResponse(booking);
+    }
+
+    @Override
+    @Transactional
+    public BookingResponse confirm(UUID id) {
+        Booking booking = findOwned(id);
+        if (bookingRepository.confirmHeld(id, Instant.now()) == 0) {
+            throw new AppException(BookingStatus.HELD.equals(booking.getStatus())
+                    ? ErrorCode.BOOKING_HOLD_EXPIRED
+                    : ErrorCode.BOOKING_NOT_HELD);
+        }
+        afterCommit(() -> holdExpiry.cancel(id));
+        return bookingMapper.toResponse(findOwned(id));
+    }
+
+    @Override
+    @Transactional
+    public BookingResponse cancel(UUID id) {
+        Booking booking = findOwned(id);
+        if (BookingStatus.CANCELLED.equals(booking.getStatus())) {
+            throw new AppException(ErrorCode.BOOKING_ALREADY_CANCELLED);
+        }
+        if (bookingRepository.cancelActive(id) == 0) {
+            throw new AppException(ErrorCode.BOOKING_CANNOT_BE_CANCELLED);
+        }
+        roomInventoryService.release(booking.getRoomType().getId(), booking.getCheckIn(), booking.getCheckOut(),
+                booking.getRooms());
+        afterCommit(() -> holdExpiry.cancel(id));
+        return bookingMapper.toResponse(findOwned(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookingResponse getBookingById(UUID id) {
+        return bookingMapper.toResponse(findOwned(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DataResponse<BookingResponse> getMyBookings(Integer pageNumber, Integer pageSize, String sortBy) {
+        Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).descending());
+        Page<Booking> bookings = bookingRepository.findByUserId(currentUserResolver.getUserId(), pageable);
+        List<BookingResponse> responses = bookings.getContent().stream().map(bookingMapper::toResponse).toList();
+        return DataResponseUtils.convertPageInfo(bookings, responses);
+    }
+
+    @Override
+    @Transactional
+    public void expireHold(UUID id) {
+        Booking booking = bookingRepository.findById(id).orElse(null);
+        if (booking == null || bookingRepository.expireHeld(id, Instant.now()) == 0) {
+            return;
+        }
+        roomInventoryService.release(booking.getRoomType().getId(), booking.getCheckIn(), booking.getCheckOut(),
+                booking.getRooms());
+        log.info("Hold {} expired, {} room(s) released", id, booking.getRooms());
+    }
+
+    // Timers are lost on restart, put every open hold back on the wheel
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreHolds() {
+        List<Booking> held = bookingRepository.findAllHeld();
+        held.forEach(booking -> holdExpiry.schedule(booking.getId(), booking.getHoldExpiresAt().toEpochMilli()));
+        log.info("Restored {} booking holds", held.size());
+    }
+
+    // Fallback for holds created on another instance or whose timer failed
+    @Scheduled(fixedDelayString = "${config.booking.sweep-interval-ms}")
+    public void sweepExpiredHolds() {
+        List<UUID> expired = bookingRepository.findExpiredHoldIds(Instant.now(), PageRequest.of(0, 500));
+        expired.forEach(this::onHoldExpired);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        holdExpiry.stop();
+    }
+
+    private void onHoldExpired(UUID id) {
+        self.expireHold(id);
+    }
+
+    private Booking findOwned(UUID id) {
+        Booking booking = bookingRepository.findById(id)
+                .orElseThrow(() -> new AppException(ErrorCode.BOOKING_NOT_FOUND));
+        CurrentPrincipal principal = currentUserResolver.getPrincipal();
+        if (!booking.getUser().getId().equals(principal.getUserId())
+                && !principal.hasRole("ROLE_" + PredefinedRole.ADMIN_ROLE)) {
+            throw new AppException(ErrorCode.BOOKING_NOT_FOUND);
+        }
+        return booking;
+    }
+
+    private BigDecimal totalPrice(BigDecimal pricePerNight, LocalDate checkIn, LocalDate checkOut, int rooms) {
+        if (pricePerNight == null) {
+            return null;
+        }
+        return pricePerNight.multiply(BigDecimal.valueOf(ChronoUnit.DAYS.between(checkIn, checkOut) * rooms));
+    }
+
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,122 @@
+package net.blwsmartware.booking.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import net.blwsmartware.booking.entity.Hotel;
+import net.blwsmartware.booking.entity.Review;
+import net.blwsmartware.booking.entity.RoomType;
+import net.blwsmartware.booking.exporter.ExportWriter;
+import net.blwsmartware.booking.mapper.HotelMapper;
+import net.blwsmartware.booking.mapper.ReviewMapper;
+import net.blwsmartware.booking.mapper.RoomTypeMapper;
+import net.blwsmartware.booking.repository.HotelRepository;
+import net.blwsmartware.booking.repository.ReviewRepository;
+import net.blwsmartware.booking.repository.RoomTypeRepository;
+import net.blwsmartware.booking.service.CatalogExportService;
+import net.blwsmartware.booking.service.HotelStatisticsService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Admin exports streamed from a forward-only cursor straight to the response. Rows are mapped in chunks; after each
+ * chunk is written the persistence context is cleared, so memory stays flat however many rows there are.
+ * Read-only transactions go to the replica when one is configured.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class CatalogExportServiceImpl implements CatalogExportService {
+
+    private static final int CHUNK_SIZE = 500;
+
+    HotelRepository hotelRepository;
+    RoomTypeRepository roomTypeRepository;
+    ReviewRepository reviewRepository;
+    HotelMapper hotelMapper;
+    RoomTypeMapper roomTypeMapper;
+    ReviewMapper reviewMapper;
+    HotelStatisticsService hotelStatisticsService;
+    EntityManager entityManager;
+    ObjectMapper objectMapper;
+    PlatformTransactionManager transactionManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportHotels(OutputStream out, String format) throws IOException {
+        // The streaming connection is busy until the export ends, so the lookups run in their own transaction
+        TransactionTemplate statistics = new TransactionTemplate(transactionManager);
+        statistics.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        statistics.setReadOnly(true);
+        try (Stream<Hotel> hotels = hotelRepository.streamAllForExport()) {
+            // Statistics come from one lookup per chunk, as in the paged listings
+            return write(out, format, hotels, hotelMapper::toResponseWithoutRelations,
+                    chunk -> statistics.executeWithoutResult(status -> hotelStatisticsService.applyTo(chunk)));
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportRoomTypes(OutputStream out, String format) throws IOException {
+        try (Stream<RoomType> roomTypes = roomTypeRepository.streamAllForExport()) {
+            return write(out, format, roomTypes, roomTypeMapper::toResponse, chunk -> {
+            });
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportReviews(OutputStream out, String format) throws IOException {
+        try (Stream<Review> reviews = reviewRepository.streamAllForExport()) {
+            return write(out, format, reviews, reviewMapper::toResponse, chunk -> {
+            });
+        }
+    }
+
+    private <E, R> long write(OutputStream out, String format, Stream<E> rows, Function<E, R> mapper,
+                              Consumer<List<R>> enrich) throws IOException {
+        ExportWriter writer = ExportWriter.open(format, out, objectMapper);
+        List<R> chunk = new ArrayList<>(CHUNK_SIZE);
+        long written = 0;
+        for (Iterator<E> iterator = rows.iterator(); iterator.hasNext(); ) {
+            chunk.add(mapper.apply(iterator.next()));
+            if (chunk.size() == CHUNK_SIZE) {
+                written += flush(writer, chunk, enrich);
+            }
+        }
+        written += flush(writer, chunk, enrich);
+        log.info("Exported {} rows as {}", written, format);
+        return written;
+    }
+
+    private <R> int flush(ExportWriter writer, List<R> chunk, Consumer<List<R>> enrich) throws IOException {
+        if (!chunk.isEmpty()) {
+            enrich.accept(chunk);
+            for (R row : chunk) {
+                writer.write(row);
+            }
+        }
+        writer.flush();
+        int written = chunk.size();
+        chunk.clear();
+        // The chunk is plain responses now, its entities are not needed any more
+        entityManager.clear();
+        return written;
+    }
+}
@@ -0,0 +1,448 @@
+package net.blwsmartware.booking.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import net.blwsmartware.booking.dto.request.HotelCreateRequest;
+import net.blwsmartware.booking.dto.request.RoomTypeCreateRequest;
+import net.blwsmartware.booking.dto.response.ImportJobResponse;
+import net.blwsmartware.booking.entity.Hotel;
+import net.blwsmartware.booking.entity.HotelStatistics;
+import net.blwsmartware.booking.entity.RoomType;
+import net.blwsmartware.booking.entity.User;
+import net.blwsmartware.booking.event.CatalogImportedEvent;
+import net.blwsmartware.booking.exception.AppException;
+import net.blwsmartware.booking.exception.ErrorCode;
+import net.blwsmartware.booking.importer.ImportJob;
+import net.blwsmartware.booking.importer.ImportRowReader;
+import net.blwsmartware.booking.mapper.HotelMapper;
+import net.blwsmartware.booking.mapper.RoomTypeMapper;
+import net.blwsmartware.booking.repository.HotelRepository;
+import net.blwsmartware.booking.repository.RoomTypeRepository;
+import net.blwsmartware.booking.repository.UserRepository;
+import net.blwsmartware.booking.security.CurrentUserResolver;
+import net.blwsmartware.booking.service.CatalogImportService;
+import net.blwsmartware.booking.service.HotelStatisticsService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of hotels and room types from CSV or NDJSON. The upload is spooled to a temp file and imported by a
+ * single background worker, so the request returns at once and imports never compete with each other for locks.
+ * Rows are streamed, checked against natural keys loaded once up front, and written in chunks of batch-size per
+ * transaction, which Hibernate sends as JDBC batches. Search indexes and caches are rebuilt once per import
+ * rather than once per row.
+ */
+@Service
+@Slf4j
+public class CatalogImportServiceImpl implements CatalogImportService {
+
+    public static final String HOTELS = "hotels";
+    public static final String ROOM_TYPES = "room-types";
+
+    private static final String HOTEL_ID = "hotelId";
+    private static final String HOTEL_NAME = "hotelName";
+    private static final String HOTEL_CITY = "hotelCity";
+
+    private final HotelRepository hotelRepository;
+    private final RoomTypeRepository roomTypeRepository;
+    private final UserRepository userRepository;
+    private final HotelMapper hotelMapper;
+    private final RoomTypeMapper roomTypeMapper;
+    private final HotelStatisticsService hotelStatisticsService;
+    private final CurrentUserResolver currentUserResolver;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaction;
+    private final ThreadPoolExecutor worker;
+    private final int batchSize;
+    private final int maxErrors;
+    private final int maxJobs;
+
+    // In submission order; past max-jobs the oldest finished jobs are dropped
+    private final Map<UUID, ImportJob> jobs = new LinkedHashMap<>();
+
+    public CatalogImportServiceImpl(HotelRepository hotelRepository,
+                                    RoomTypeRepository roomTypeRepository,
+                                    UserRepository userRepository,
+                                    HotelMapper hotelMapper,
+                                    RoomTypeMapper roomTypeMapper,
+                                    HotelStatisticsService hotelStatisticsService,
+                                    CurrentUserResolver currentUserResolver,
+                                    EntityManager entityManager,
+                                    Validator validator,
+                                    ApplicationEventPublisher eventPublisher,
+                                    ObjectMapper objectMapper,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${config.import.batch-size}") int batchSize,
+                                    @Value("${config.import.max-errors}") int maxErrors,
+                                    @Value("${config.import.queue-capacity}") int queueCapacity,
+                                    @Value("${config.import.max-jobs}") int maxJobs) {
+        this.hotelRepository = hotelRepository;
+        this.roomTypeRepository = roomTypeRepository;
+        this.userRepository = userRepository;
+        this.hotelMapper = hotelMapper;
+        this.roomTypeMapper = roomTypeMapper;
+        this.hotelStatisticsService = hotelStatisticsService;
+        this.currentUserResolver = currentUserResolver;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        // CSV exports often carry extra columns (hotelName, hotelCity, ids from another system)
+        this.objectMapper = objectMapper.copy().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+        this.maxJobs = maxJobs;
+
+        this.worker = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "catalog-import");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.worker.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public ImportJobResponse startHotelImport(InputStream body, String format) {
+        return start(HOTELS, body, format);
+    }
+
+    @Override
+    public ImportJobResponse startRoomTypeImport(InputStream body, String format) {
+        return start(ROOM_TYPES, body, format);
+    }
+
+    @Override
+    public ImportJobResponse getJob(UUID id) {
+        ImportJob job;
+        synchronized (jobs) {
+            job = jobs.get(id);
+        }
+        if (job == null) {
+            throw new AppException(ErrorCode.IMPORT_JOB_NOT_FOUND);
+        }
+        return job.toResponse();
+    }
+
+    @Override
+    public List<ImportJobResponse> getJobs() {
+        List<ImportJob> snapshot;
+        synchronized (jobs) {
+            snapshot = new ArrayList<>(jobs.values());
+        }
+        List<ImportJobResponse> responses = new ArrayList<>(snapshot.size());
+        for (int i = snapshot.size() - 1; i >= 0; i--) {
+            responses.add(snapshot.get(i).toResponse());
+        }
+        return responses;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private ImportJobResponse start(String type, InputStream body, String format) {
+        String normalizedFormat = format == null ? "" : format.trim().toLowerCase(Locale.ROOT);
+        if (!ImportRowReader.CSV.equals(normalizedFormat) && !ImportRowReader.NDJSON.equals(normalizedFormat)) {
+            throw new AppException(ErrorCode.IMPORT_FORMAT_UNSUPPORTED);
+        }
+        // Read on the request thread, the worker has no security context
+        UUID requestedBy = currentUserResolver.getUserId();
+
+        Path file = null;
+        try {
+            file = Files.createTempFile("catalog-import-", "." + normalizedFormat);
+            Files.copy(body, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            deleteQuietly(file);
+            log.error("Could not spool {} import: {}", type, e.getMessage());
+            throw new AppException(ErrorCode.FILE_UPLOAD_FAILED);
+        }
+
+        ImportJob job = new ImportJob(type, normalizedFormat, file, requestedBy, maxErrors);
+        remember(job);
+        try {
+            worker.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            forget(job);
+            deleteQuietly(file);
+            throw new AppException(ErrorCode.IMPORT_BUSY);
+        }
+        log.info("Queued {} import {} ({})", type, job.getId(), normalizedFormat);
+        return job.toResponse();
+    }
+
+    private void run(ImportJob job) {
+        job.started();
+        try (ImportRowReader reader = ImportRowReader.open(job.getFormat(),
+                Files.newBufferedReader(job.getFile(), StandardCharsets.UTF_8), objectMapper)) {
+            if (HOTELS.equals(job.getType())) {
+                importHotels(job, reader);
+            } else {
+                importRoomTypes(job, reader);
+            }
+            job.completed();
+        } catch (IOException | RuntimeException e) {
+            log.error("Import {} failed: {}", job.getId(), e.getMessage());
+            job.failed(e.getMessage());
+        } finally {
+            deleteQuietly(job.getFile());
+            ImportJobResponse result = job.toResponse();
+            log.info("Import {} finished: {} rows, {} imported, {} duplicates, {} failed", job.getId(),
+                    result.getProcessedRows(), result.getImportedRows(), result.getDuplicateRows(),
+                    result.getFailedRows());
+            if (result.getImportedRows() > 0) {
+                eventPublisher.publishEvent(new CatalogImportedEvent(job.getId(), job.getType(), result.getImportedRows()));
+            }
+        }
+    }
+
+    private void importHotels(ImportJob job, ImportRowReader reader) throws IOException {
+        Set<String> seen = new HashSet<>();
+        hotelRepository.findAllKeys().forEach(key -> seen.add(hotelKey(key.getName(), key.getCity())));
+        Map<UUID, Boolean> owners = new HashMap<>();
+
+        importRows(job, reader,
+                row -> toRequest(row, HotelCreateRequest.class),
+                request -> {
+                    UUID ownerId = ownerOf(request, job);
+                    if (!owners.computeIfAbsent(ownerId, userRepository::existsById)) {
+                        throw new IllegalArgumentException("Owner not found: " + ownerId);
+                    }
+                    return seen.add(hotelKey(request.getName(), request.getCity()));
+                },
+                request -> seen.remove(hotelKey(request.getName(), request.getCity())),
+                chunk -> chunk.forEach(request -> {
+                    Hotel hotel = hotelMapper.toEntity(request);
+                    // A reference is enough for the foreign key, the owner row is never loaded
+                    hotel.setOwner(entityManager.getReference(User.class, ownerOf(request, job)));
+                    hotel.setCreatedBy(job.getRequestedBy());
+                    hotel.setUpdatedBy(job.getRequestedBy());
+                    entityManager.persist(hotel);
+                    entityManager.persist(HotelStatistics.builder().hotelId(hotel.getId()).build());
+                }));
+    }
+
+    private void importRoomTypes(ImportJob job, ImportRowReader reader) throws IOException {
+        Set<UUID> hotels = new HashSet<>();
+        Map<String, UUID> hotelsByKey = new HashMap<>();
+        hotelRepository.findAllKeys().forEach(key -> {
+            hotels.add(key.getId());
+            hotelsByKey.putIfAbsent(hotelKey(key.getName(), key.getCity()), key.getId());
+        });
+        Set<String> seen = new HashSet<>();
+        roomTypeRepository.findAllKeys().forEach(key -> seen.add(roomTypeKey(key.getHotelId(), key.getName())));
+
+        importRows(job, reader,
+                row -> toRequest(withHotelId(row, hotelsByKey), RoomTypeCreateRequest.class),
+                request -> {
+                    if (!hotels.contains(request.getHotelId())) {
+                        throw new IllegalArgumentException("Hotel not found: " + request.getHotelId());
+                    }
+                    return seen.add(roomTypeKey(request.getHotelId(), request.getName()));
+                },
+                request -> seen.remove(roomTypeKey(request.getHotelId(), request.getName())),
+                chunk -> {
+                    Set<UUID> touched = new LinkedHashSet<>();
+                    chunk.forEach(request -> {
+                        RoomType roomType = roomTypeMapper.toEntity(request);
+                        roomType.setHotel(entityManager.getReference(Hotel.class, request.getHotelId()));
+                        roomType.setCreatedBy(job.getRequestedBy());
+                        roomType.setUpdatedBy(job.getRequestedBy());
+                        entityManager.persist(roomType);
+                        touched.add(request.getHotelId());
+                    });
+                    // Room totals once per hotel and chunk, not once per room type
+                    entityManager.flush();
+                    touched.forEach(hotelStatisticsService::refreshRoomTotals);
+                });
+    }
+
+    // Streams the rows: convert and validate each, skip duplicates, write every batch-size accepted rows.
+    // Rows of a rejected chunk are handed to unaccept, so a later row with the same key is not taken for a duplicate
+    private <T> void importRows(ImportJob job, ImportRowReader reader, Function<Map<String, Object>, T> convert,
+                                Predicate<T> accept, Consumer<T> unaccept, Consumer<List<T>> persist)
+            throws IOException {
+        List<T> chunk = new ArrayList<>(batchSize);
+        List<Long> lines = new ArrayList<>(batchSize);
+        while (true) {
+            Map<String, Object> row;
+            try {
+                row = reader.next();
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                // The broken line is consumed, the rest of the file is still readable
+                job.rowProcessed();
+                job.rowFailed(reader.getRowLine(), messageOf(e));
+                continue;
+            }
+            if (row == null) {
+                break;
+            }
+            job.rowProcessed();
+            try {
+                T request = convert.apply(row);
+                if (!accept.test(request)) {
+                    job.rowDuplicate();
+                    continue;
+                }
+                chunk.add(request);
+                lines.add(reader.getRowLine());
+            } catch (IllegalArgumentException e) {
+                job.rowFailed(reader.getRowLine(), messageOf(e));
+                continue;
+            }
+            if (chunk.size() >= batchSize) {
+                flush(job, chunk, lines, unaccept, persist);
+            }
+        }
+        flush(job, chunk, lines, unaccept, persist);
+    }
+
+    // One transaction per chunk keeps the persistence context and the undo log small
+    private <T> void flush(ImportJob job, List<T> chunk, List<Long> lines, Consumer<T> unaccept,
+                           Consumer<List<T>> persist) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            transaction.executeWithoutResult(status -> persist.accept(chunk));
+            job.rowsImported(chunk.size());
+        } catch (RuntimeException e) {
+            // The chunk was rolled back as a whole, so each of its rows is reported
+            log.warn("Import {} chunk of {} rows rejected: {}", job.getId(), chunk.size(), e.getMessage());
+            String message = "Batch rejected by the database: " + messageOf(e);
+            lines.forEach(line -> job.rowFailed(line, message));
+            chunk.forEach(unaccept);
+        }
+        chunk.clear();
+        lines.clear();
+    }
+
+    private <T> T toRequest(Map<String, Object> row, Class<T> type) {
+        T request = objectMapper.convertValue(row, type);
+        Set<ConstraintViolation<T>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        return request;
+    }
+
+    // Room type rows may name their hotel instead of giving its id
+    private Map<String, Object> withHotelId(Map<String, Object> row, Map<String, UUID> hotelsByKey) {
+        if (row.get(HOTEL_ID) != null) {
+            return row;
+        }
+        Object name = row.get(HOTEL_NAME);
+        Object city = row.get(HOTEL_CITY);
+        if (name == null || city == null) {
+            throw new IllegalArgumentException("hotelId, or hotelName and hotelCity, is required");
+        }
+        UUID hotelId = hotelsByKey.get(hotelKey(name.toString(), city.toString()));
+        if (hotelId == null) {
+            throw new IllegalArgumentException("Hotel not found: " + name + ", " + city);
+        }
+        row.put(HOTEL_ID, hotelId.toString());
+        return row;
+    }
+
+    private UUID ownerOf(HotelCreateRequest request, ImportJob job) {
+        return request.getOwnerId() != null ? request.getOwnerId() : job.getRequestedBy();
+    }
+
+    private void remember(ImportJob job) {
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+            Iterator<ImportJob> oldest = jobs.values().iterator();
+            while (jobs.size() > maxJobs && oldest.hasNext()) {
+                if (oldest.next().isFinished()) {
+                    oldest.remove();
+                }
+            }
+        }
+    }
+
+    private void forget(ImportJob job) {
+        synchronized (jobs) {
+            jobs.remove(job.getId());
+        }
+    }
+
+    private static String hotelKey(String name, String city) {
+        return normalize(name) + "|" + normalize(city);
+    }
+
+    private static String roomTypeKey(UUID hotelId, String name) {
+        return hotelId + "|" + normalize(name);
+    }
+
+    // Same names the database treats as equal under its case-insensitive collation
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String messageOf(Exception e) {
+        if (e instanceof JsonProcessingException json) {
+            return json.getOriginalMessage();
+        }
+        Throwable cause = e;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete import file {}: {}", file, e.getMessage());
+        }
+    }
+}
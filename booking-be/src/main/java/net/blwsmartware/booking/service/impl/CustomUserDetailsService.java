@@ -9,6 +9,7 @@ import net.blwsmartware.booking.enums.ErrorResponse;
 import net.blwsmartware.booking.exception.IdentityRuntimeException;
 import net.blwsmartware.booking.repository.UserRepository;
 import net.blwsmartware.booking.security.CustomUserDetails;
+import net.blwsmartware.booking.security.UserDetailsCache;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
@@ -22,19 +23,22 @@ import java.util.UUID;
 public class CustomUserDetailsService implements UserDetailsService {
 
     UserRepository userRepository;
+    UserDetailsCache userDetailsCache;
 
+    // Blocked and unverified users are cached too, the checks run on the snapshot
     @Override
     public UserDetails loadUserByUsername(String username)  {
 
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new IdentityRuntimeException(ErrorResponse.USER_NOT_FOUND));
+        CustomUserDetails user = userDetailsCache.get(username, () -> userRepository.findWithRolesByUsername(username)
+                .map(CustomUserDetails::new)
+                .orElseThrow(() -> new IdentityRuntimeException(ErrorResponse.USER_NOT_FOUND)));
         if(!user.isActive() ) {
             throw  new IdentityRuntimeException(ErrorResponse.USER_BLOCKED) ;
         }
         else if(!user.isEmailVerified()) {
             throw  new IdentityRuntimeException(ErrorResponse.USER_NOT_VERIFICATION) ;
         }
-        return new CustomUserDetails(user);
+        return user;
     }
     public UserDetails loadUserByID(String id)  {
 
@@ -43,4 +47,3 @@ public class CustomUserDetailsService implements UserDetailsService {
         return new CustomUserDetails(user);
     }
 }
-
@@ -4,34 +4,69 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import net.blwsmartware.booking.cache.HotelCatalogCache;
+import net.blwsmartware.booking.dto.request.BulkHotelFlagRequest;
 import net.blwsmartware.booking.dto.request.HotelCreateRequest;
 import net.blwsmartware.booking.dto.request.HotelUpdateRequest;
+import net.blwsmartware.booking.dto.response.BulkUpdateResponse;
 import net.blwsmartware.booking.dto.response.DataResponse;
 import net.blwsmartware.booking.dto.response.HotelResponse;
+import net.blwsmartware.booking.dto.response.SuggestionResponse;
 import net.blwsmartware.booking.entity.Hotel;
+import net.blwsmartware.booking.entity.RoomType;
 import net.blwsmartware.booking.entity.User;
+import net.blwsmartware.booking.event.HotelChangedEvent;
+import net.blwsmartware.booking.event.HotelsChangedEvent;
 import net.blwsmartware.booking.exception.AppException;
 import net.blwsmartware.booking.exception.ErrorCode;
 import net.blwsmartware.booking.mapper.HotelMapper;
+import net.blwsmartware.booking.repository.BookingRepository;
 import net.blwsmartware.booking.repository.HotelRepository;
+import net.blwsmartware.booking.repository.ReviewHelpfulVoteRepository;
 import net.blwsmartware.booking.repository.UserRepository;
+import net.blwsmartware.booking.repository.keyset.KeysetQueryExecutor;
+import net.blwsmartware.booking.repository.keyset.KeysetRequest;
+import net.blwsmartware.booking.repository.keyset.KeysetSlice;
+import net.blwsmartware.booking.repository.projection.HotelLocation;
+import net.blwsmartware.booking.search.AvailabilityIndex;
+import net.blwsmartware.booking.search.CatalogSearchIndex;
+import net.blwsmartware.booking.search.HotelFacetIndex;
+import net.blwsmartware.booking.search.SearchResults;
+import net.blwsmartware.booking.search.SuggestIndex;
+import net.blwsmartware.booking.search.TextNormalizer;
+import net.blwsmartware.booking.security.CurrentUserResolver;
 import net.blwsmartware.booking.service.HotelService;
+import net.blwsmartware.booking.service.HotelStatisticsService;
+import net.blwsmartware.booking.service.RoomInventoryService;
+import net.blwsmartware.booking.util.BulkUpdates;
 import net.blwsmartware.booking.util.DataResponseUtils;
+import net.blwsmartware.booking.util.GeoUtils;
 import net.blwsmartware.booking.validator.IsAdmin;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 @Slf4j
@@ -39,13 +74,42 @@ public class HotelServiceImpl implements HotelService {
     
     HotelRepository hotelRepository;
     UserRepository userRepository;
+    CurrentUserResolver currentUserResolver;
     HotelMapper hotelMapper;
+    HotelCatalogCache hotelCatalogCache;
+    HotelStatisticsService hotelStatisticsService;
+    CatalogSearchIndex catalogSearchIndex;
+    AvailabilityIndex availabilityIndex;
+    HotelFacetIndex hotelFacetIndex;
+    SuggestIndex suggestIndex;
+    KeysetQueryExecutor keysetQueryExecutor;
+    ApplicationEventPublisher eventPublisher;
+    BookingRepository bookingRepository;
+    RoomInventoryService roomInventoryService;
+    TransactionTemplate transactionTemplate;
+    ReviewHelpfulVoteRepository reviewHelpfulVoteRepository;
+    
+    private static final String DISTANCE_SORT = "distance";
+    private static final int MAX_NEAREST = 100;
+    private static final int MAX_SUGGESTIONS = 20;
+    // Hotels per transaction in bulk flag updates
+    private static final int BULK_CHUNK_SIZE = 500;
+    // Largest id list sent as an IN parameter, larger availability results are paged by the database
+    private static final int MAX_ID_LIST = 1000;
+    private static final double NEAREST_START_RADIUS_KM = 5.0;
     
     @Override
     @IsAdmin
-    public DataResponse<HotelResponse> getAllHotels(Integer pageNumber, Integer pageSize, String sortBy) {
+    public DataResponse<HotelResponse> getAllHotels(Integer pageNumber, Integer pageSize, String sortBy,
+                                                    String cursor, Boolean skipCount) {
         log.info("Getting all hotels with pagination: page={}, size={}, sortBy={}", pageNumber, pageSize, sortBy);
         
+        KeysetRequest request = KeysetRequest.of(pageNumber, pageSize, sortBy, Sort.Direction.DESC, cursor, skipCount);
+        if (!request.isPlainPage()) {
+            KeysetSlice<Hotel> slice = keysetQueryExecutor.fetch(Hotel.class, null, "Hotel.list", request);
+            return DataResponseUtils.convertSliceInfo(slice, toResponses(slice.getContent(), hotelMapper::toResponse));
+        }
+        
         Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).descending());
         Page<Hotel> hotelPage = hotelRepository.findAll(pageable);
         
@@ -59,9 +123,7 @@ public class HotelServiceImpl implements HotelService {
             log.info("  - isFeatured: {} (type: {})", hotel.isFeatured(), hotel.isFeatured() ? "true" : "false");
         });
         
-        List<HotelResponse> hotelResponses = hotelPage.getContent().stream()
-                .map(hotelMapper::toResponse)
-                .toList();
+        List<HotelResponse> hotelResponses = toResponses(hotelPage.getContent(), hotelMapper::toResponse);
         
         // Debug: Log mapped responses
         log.info("=== MAPPED RESPONSES DEBUG ===");
@@ -80,7 +142,8 @@ public class HotelServiceImpl implements HotelService {
     @IsAdmin
     public DataResponse<HotelResponse> getAllHotelsWithFilters(
             String city, String country, Integer starRating, Boolean isActive, Boolean isFeatured,
-            BigDecimal minPrice, BigDecimal maxPrice, Integer pageNumber, Integer pageSize, String sortBy) {
+            BigDecimal minPrice, BigDecimal maxPrice, Integer pageNumber, Integer pageSize, String sortBy,
+            Boolean facets) {
         log.info("Getting hotels with filters - city: {}, country: {}, stars: {}, active: {}, featured: {}", 
                 city, country, starRating, isActive, isFeatured);
         
@@ -88,21 +151,25 @@ public class HotelServiceImpl implements HotelService {
         Page<Hotel> hotelPage = hotelRepository.findWithFilters(
                 city, country, starRating, isActive, isFeatured, minPrice, maxPrice, pageable);
         
-        List<HotelResponse> hotelResponses = hotelPage.getContent().stream()
-                .map(hotelMapper::toResponse)
-                .toList();
+        List<HotelResponse> hotelResponses = toResponses(hotelPage.getContent(), hotelMapper::toResponse);
         
-        return DataResponseUtils.convertPageInfo(hotelPage, hotelResponses);
+        DataResponse<HotelResponse> response = DataResponseUtils.convertPageInfo(hotelPage, hotelResponses);
+        if (Boolean.TRUE.equals(facets)) {
+            response.setFacets(hotelFacetIndex.count(new HotelFacetIndex.Filter(
+                    city, country, starRating, isActive, isFeatured, minPrice, maxPrice), "all", null));
+        }
+        return response;
     }
     
     @Override
     public HotelResponse getHotelById(UUID id) {
         log.info("Getting hotel by ID: {}", id);
         
-        Hotel hotel = hotelRepository.findById(id)
-                .orElseThrow(() -> new AppException(ErrorCode.HOTEL_NOT_FOUND));
-        
-        return hotelMapper.toResponse(hotel);
+        return hotelCatalogCache.getHotel(id, () -> {
+            Hotel hotel = hotelRepository.findDetailById(id)
+                    .orElseThrow(() -> new AppException(ErrorCode.HOTEL_NOT_FOUND));
+            return toResponse(hotel);
+        });
     }
     
     @Override
@@ -118,7 +185,7 @@ public class HotelServiceImpl implements HotelService {
                     .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_FOUND));
         } else {
             // Use current user as owner if ownerId is not provided
-            owner = getCurrentUser();
+            owner = currentUserResolver.getUser();
         }
         
         // Check if hotel name already exists in the same city
@@ -129,13 +196,15 @@ public class HotelServiceImpl implements HotelService {
         // Convert request to entity
         Hotel hotel = hotelMapper.toEntity(request);
         hotel.setOwner(owner);
-        hotel.setCreatedBy(getCurrentUserId());
-        hotel.setUpdatedBy(getCurrentUserId());
+        hotel.setCreatedBy(currentUserResolver.getUserId());
+        hotel.setUpdatedBy(currentUserResolver.getUserId());
         
         // Save hotel
         Hotel savedHotel = hotelRepository.save(hotel);
+        hotelStatisticsService.initialize(savedHotel.getId());
+        eventPublisher.publishEvent(new HotelChangedEvent(savedHotel.getId()));
         
-        return hotelMapper.toResponse(savedHotel);
+        return toResponse(savedHotel);
     }
     
     @Override
@@ -166,11 +235,12 @@ public class HotelServiceImpl implements HotelService {
         log.info("hotel.isActive: {}", hotel.isActive());
         log.info("hotel.isFeatured: {}", hotel.isFeatured());
 
-        hotel.setUpdatedBy(getCurrentUserId());
+        hotel.setUpdatedBy(currentUserResolver.getUserId());
 
         Hotel updatedHotel = hotelRepository.save(hotel);
+        eventPublisher.publishEvent(new HotelChangedEvent(updatedHotel.getId()));
 
-        return hotelMapper.toResponse(updatedHotel);
+        return toResponse(updatedHotel);
     }
     
     @Override
@@ -182,10 +252,17 @@ public class HotelServiceImpl implements HotelService {
         Hotel hotel = hotelRepository.findById(id)
                 .orElseThrow(() -> new AppException(ErrorCode.HOTEL_NOT_FOUND));
         
-        // TODO: Check if hotel has any bookings when booking entity is implemented
-        // For now, we'll allow deletion
+        if (bookingRepository.existsByHotelId(id)) {
+            throw new AppException(ErrorCode.HOTEL_HAS_BOOKINGS);
+        }
         
+        // Room types go with the hotel through the cascade, their inventory rows have no foreign key
+        roomInventoryService.removeAll(hotel.getRoomTypes().stream().map(RoomType::getId).toList());
+        // Same for helpful votes on its reviews
+        reviewHelpfulVoteRepository.deleteByHotelId(id);
         hotelRepository.delete(hotel);
+        hotelStatisticsService.remove(id);
+        eventPublisher.publishEvent(new HotelChangedEvent(id));
     }
     
     @Override
@@ -193,39 +270,7 @@ public class HotelServiceImpl implements HotelService {
     @Transactional
     public HotelResponse toggleHotelStatus(UUID id) {
         log.info("Toggling hotel status: {}", id);
-        
-        Hotel hotel = hotelRepository.findById(id)
-                .orElseThrow(() -> new AppException(ErrorCode.HOTEL_NOT_FOUND));
-        
-        // Debug: Before toggle
-        log.info("=== TOGGLE STATUS DEBUG ===");
-        log.info("Before toggle - Hotel: {} (ID: {})", hotel.getName(), hotel.getId());
-        log.info("  - Current isActive: {}", hotel.isActive());
-        log.info("  - Current isFeatured: {}", hotel.isFeatured());
-        
-        hotel.setActive(!hotel.isActive());
-        hotel.setUpdatedBy(getCurrentUserId());
-        
-        // Debug: After toggle, before save
-        log.info("After toggle - Hotel: {} (ID: {})", hotel.getName(), hotel.getId());
-        log.info("  - New isActive: {}", hotel.isActive());
-        log.info("  - New isFeatured: {}", hotel.isFeatured());
-        
-        Hotel updatedHotel = hotelRepository.save(hotel);
-        
-        // Debug: After save
-        log.info("After save - Hotel: {} (ID: {})", updatedHotel.getName(), updatedHotel.getId());
-        log.info("  - Saved isActive: {}", updatedHotel.isActive());
-        log.info("  - Saved isFeatured: {}", updatedHotel.isFeatured());
-        
-        HotelResponse response = hotelMapper.toResponse(updatedHotel);
-        
-        // Debug: Final response
-        log.info("Final response - Hotel: {} (ID: {})", response.getName(), response.getId());
-        log.info("  - Response isActive: {}", response.isActive());
-        log.info("  - Response isFeatured: {}", response.isFeatured());
-        
-        return response;
+        return toggle(id, hotelRepository::toggleActive);
     }
     
     @Override
@@ -233,44 +278,65 @@ public class HotelServiceImpl implements HotelService {
     @Transactional
     public HotelResponse toggleFeaturedStatus(UUID id) {
         log.info("Toggling hotel featured status: {}", id);
-        
-        Hotel hotel = hotelRepository.findById(id)
-                .orElseThrow(() -> new AppException(ErrorCode.HOTEL_NOT_FOUND));
-        
-        hotel.setFeatured(!hotel.isFeatured());
-        hotel.setUpdatedBy(getCurrentUserId());
-        
-        Hotel updatedHotel = hotelRepository.save(hotel);
-        
-        return hotelMapper.toResponse(updatedHotel);
+        return toggle(id, hotelRepository::toggleFeatured);
+    }
+    
+    @Override
+    @IsAdmin
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkUpdateResponse bulkSetHotelStatus(BulkHotelFlagRequest request) {
+        return bulkSetFlag(request, hotelRepository::updateActive, hotelRepository::findIdsToSetActive);
     }
     
     @Override
-    public DataResponse<HotelResponse> searchHotels(String keyword, Integer pageNumber, Integer pageSize, String sortBy) {
+    @IsAdmin
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkUpdateResponse bulkSetHotelFeatured(BulkHotelFlagRequest request) {
+        return bulkSetFlag(request, hotelRepository::updateFeatured, hotelRepository::findIdsToSetFeatured);
+    }
+    
+    @Override
+    public DataResponse<HotelResponse> searchHotels(String keyword, Integer pageNumber, Integer pageSize, String sortBy,
+                                                    Boolean facets) {
         log.info("Searching hotels with keyword: {}", keyword);
         
-        Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).descending());
-        Page<Hotel> hotelPage = hotelRepository.searchByNameOrCityOrCountry(keyword, pageable);
+        Page<Hotel> hotelPage;
+        List<UUID> hits = null;
+        if (!catalogSearchIndex.isReady()) {
+            // Index still building, fall back to the LIKE scan
+            String sort = SearchResults.RELEVANCE.equals(sortBy) ? "name" : sortBy;
+            hotelPage = hotelRepository.searchByNameOrCityOrCountry(keyword,
+                    PageRequest.of(pageNumber, pageSize, Sort.by(sort).descending()));
+        } else {
+            hits = catalogSearchIndex.searchHotels(keyword);
+            hotelPage = SearchResults.RELEVANCE.equals(sortBy)
+                    ? SearchResults.rankedPage(hits, pageNumber, pageSize, hotelRepository::findByIdIn, Hotel::getId)
+                    : hotelRepository.findByIdIn(hits, PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).descending()));
+        }
         
-        List<HotelResponse> hotelResponses = hotelPage.getContent().stream()
-                .map(hotelMapper::toResponse)
-                .toList();
+        List<HotelResponse> hotelResponses = toResponses(hotelPage.getContent(), hotelMapper::toResponse);
         
-        return DataResponseUtils.convertPageInfo(hotelPage, hotelResponses);
+        DataResponse<HotelResponse> response = DataResponseUtils.convertPageInfo(hotelPage, hotelResponses);
+        // Facets need the full hit list, so none while the index is still building
+        if (Boolean.TRUE.equals(facets) && hits != null) {
+            response.setFacets(hotelFacetIndex.count(new HotelFacetIndex.Filter(
+                    null, null, null, null, null, null, null), "search:" + TextNormalizer.fold(keyword).trim(), hits));
+        }
+        return response;
     }
     
     @Override
     public DataResponse<HotelResponse> getHotelsByCity(String city, Integer pageNumber, Integer pageSize, String sortBy) {
         log.info("Getting hotels by city: {}", city);
         
-        Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).descending());
-        Page<Hotel> hotelPage = hotelRepository.findByCity(city, pageable);
-        
-        List<HotelResponse> hotelResponses = hotelPage.getContent().stream()
-                .map(hotelMapper::toResponse)
-                .toList();
-        
-        return DataResponseUtils.convertPageInfo(hotelPage, hotelResponses);
+        return hotelCatalogCache.getPage("city:" + city, pageNumber, pageSize, sortBy, () -> {
+            Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).descending());
+            Page<Hotel> hotelPage = hotelRepository.findByCity(city, pageable);
+            
+            List<HotelResponse> hotelResponses = toResponses(hotelPage.getContent(), hotelMapper::toResponse);
+            
+            return DataResponseUtils.convertPageInfo(hotelPage, hotelResponses);
+        });
     }
     
     @Override
@@ -280,9 +346,7 @@ public class HotelServiceImpl implements HotelService {
         Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).descending());
         Page<Hotel> hotelPage = hotelRepository.findByCountry(country, pageable);
         
-        List<HotelResponse> hotelResponses = hotelPage.getContent().stream()
-                .map(hotelMapper::toResponse)
-                .toList();
+        List<HotelResponse> hotelResponses = toResponses(hotelPage.getContent(), hotelMapper::toResponse);
         
         return DataResponseUtils.convertPageInfo(hotelPage, hotelResponses);
     }
@@ -294,9 +358,7 @@ public class HotelServiceImpl implements HotelService {
         Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).descending());
         Page<Hotel> hotelPage = hotelRepository.findByStarRating(starRating, pageable);
         
-        List<HotelResponse> hotelResponses = hotelPage.getContent().stream()
-                .map(hotelMapper::toResponse)
-                .toList();
+        List<HotelResponse> hotelResponses = toResponses(hotelPage.getContent(), hotelMapper::toResponse);
         
         return DataResponseUtils.convertPageInfo(hotelPage, hotelResponses);
     }
@@ -305,28 +367,28 @@ public class HotelServiceImpl implements HotelService {
     public DataResponse<HotelResponse> getActiveHotels(Integer pageNumber, Integer pageSize, String sortBy) {
         log.info("Getting active hotels");
         
-        Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).descending());
-        Page<Hotel> hotelPage = hotelRepository.findByIsActiveTrue(pageable);
-        
-        List<HotelResponse> hotelResponses = hotelPage.getContent().stream()
-                .map(hotelMapper::toResponse)
-                .toList();
-        
-        return DataResponseUtils.convertPageInfo(hotelPage, hotelResponses);
+        return hotelCatalogCache.getPage("active", pageNumber, pageSize, sortBy, () -> {
+            Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).descending());
+            Page<Hotel> hotelPage = hotelRepository.findByIsActiveTrue(pageable);
+            
+            List<HotelResponse> hotelResponses = toResponses(hotelPage.getContent(), hotelMapper::toResponse);
+            
+            return DataResponseUtils.convertPageInfo(hotelPage, hotelResponses);
+        });
     }
     
     @Override
     public DataResponse<HotelResponse> getFeaturedHotels(Integer pageNumber, Integer pageSize, String sortBy) {
         log.info("Getting featured hotels");
         
-        Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).descending());
-        Page<Hotel> hotelPage = hotelRepository.findByIsFeaturedTrue(pageable);
-        
-        List<HotelResponse> hotelResponses = hotelPage.getContent().stream()
-                .map(hotelMapper::toResponse)
-                .toList();
-        
-        return DataResponseUtils.convertPageInfo(hotelPage, hotelResponses);
+        return hotelCatalogCache.getPage("featured", pageNumber, pageSize, sortBy, () -> {
+            Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).descending());
+            Page<Hotel> hotelPage = hotelRepository.findByIsFeaturedTrue(pageable);
+            
+            List<HotelResponse> hotelResponses = toResponses(hotelPage.getContent(), hotelMapper::toResponse);
+            
+            return DataResponseUtils.convertPageInfo(hotelPage, hotelResponses);
+        });
     }
     
     @Override
@@ -340,9 +402,7 @@ public class HotelServiceImpl implements HotelService {
         Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).descending());
         Page<Hotel> hotelPage = hotelRepository.findByOwnerId(ownerId, pageable);
         
-        List<HotelResponse> hotelResponses = hotelPage.getContent().stream()
-                .map(hotelMapper::toResponseWithoutRelations)
-                .toList();
+        List<HotelResponse> hotelResponses = toResponses(hotelPage.getContent(), hotelMapper::toResponseWithoutRelations);
         
         return DataResponseUtils.convertPageInfo(hotelPage, hotelResponses);
     }
@@ -351,13 +411,11 @@ public class HotelServiceImpl implements HotelService {
     public DataResponse<HotelResponse> getMyHotels(Integer pageNumber, Integer pageSize, String sortBy) {
         log.info("Getting current user's hotels");
         
-        UUID currentUserId = getCurrentUserId();
+        UUID currentUserId = currentUserResolver.getUserId();
         Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).descending());
         Page<Hotel> hotelPage = hotelRepository.findByOwnerId(currentUserId, pageable);
         
-        List<HotelResponse> hotelResponses = hotelPage.getContent().stream()
-                .map(hotelMapper::toResponseWithoutRelations)
-                .toList();
+        List<HotelResponse> hotelResponses = toResponses(hotelPage.getContent(), hotelMapper::toResponseWithoutRelations);
         
         return DataResponseUtils.convertPageInfo(hotelPage, hotelResponses);
     }
@@ -367,12 +425,100 @@ public class HotelServiceImpl implements HotelService {
             Double latitude, Double longitude, Double radiusKm, Integer pageNumber, Integer pageSize, String sortBy) {
         log.info("Getting hotels near location: lat={}, lng={}, radius={}km", latitude, longitude, radiusKm);
         
+        if (!GeoUtils.isValid(latitude, longitude) || radiusKm == null || radiusKm <= 0) {
+            throw new AppException(ErrorCode.INVALID_COORDINATES);
+        }
+        
+        // Anything larger already covers the whole globe
+        double radius = Math.min(radiusKm, GeoUtils.MAX_DISTANCE_KM);
+        GeoUtils.BoundingBox box = GeoUtils.boundingBox(latitude, longitude, radius);
+        if (hotelRepository.countLocationsWithinBox(box.minLat(), box.maxLat(), box.minLng(), box.maxLng()) > MAX_ID_LIST) {
+            return pageWithinRadius(latitude, longitude, radius, box, pageNumber, pageSize, sortBy);
+        }
+        
+        Map<UUID, Double> distances = findWithinRadius(latitude, longitude, radius);
+        List<UUID> ids = new ArrayList<>(distances.keySet());
+        
+        Page<Hotel> hotelPage = DISTANCE_SORT.equals(sortBy)
+                ? SearchResults.rankedPage(ids, pageNumber, pageSize, hotelRepository::findByIdIn, Hotel::getId)
+                : hotelRepository.findByIdIn(ids, PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).descending()));
+        
+        List<HotelResponse> hotelResponses = toResponses(hotelPage.getContent(), hotelMapper::toResponse);
+        hotelResponses.forEach(response -> response.setDistanceKm(distances.get(response.getId())));
+        
+        return DataResponseUtils.convertPageInfo(hotelPage, hotelResponses);
+    }
+    
+    // Too many candidates for an id list: the database filters, sorts and pages, distances are only computed for the page
+    private DataResponse<HotelResponse> pageWithinRadius(double latitude, double longitude, double radiusKm,
+                                                         GeoUtils.BoundingBox box, Integer pageNumber,
+                                                         Integer pageSize, String sortBy) {
+        double maxHaversine = GeoUtils.haversineTerm(radiusKm);
+        Page<Hotel> hotelPage = DISTANCE_SORT.equals(sortBy)
+                ? hotelRepository.findWithinRadiusNearestFirst(latitude, longitude, box.minLat(), box.maxLat(),
+                        box.minLng(), box.maxLng(), maxHaversine, PageRequest.of(pageNumber, pageSize))
+                : hotelRepository.findWithinRadius(latitude, longitude, box.minLat(), box.maxLat(),
+                        box.minLng(), box.maxLng(), maxHaversine,
+                        PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).descending()));
+        
+        List<HotelResponse> hotelResponses = toResponses(hotelPage.getContent(), hotelMapper::toResponse);
+        Map<UUID, Hotel> hotels = hotelPage.getContent().stream()
+                .collect(Collectors.toMap(Hotel::getId, Function.identity()));
+        hotelResponses.forEach(response -> {
+            Hotel hotel = hotels.get(response.getId());
+            response.setDistanceKm(GeoUtils.distanceKm(latitude, longitude, hotel.getLatitude(), hotel.getLongitude()));
+        });
+        
+        return DataResponseUtils.convertPageInfo(hotelPage, hotelResponses);
+    }
+    
+    @Override
+    public List<HotelResponse> getNearestHotels(Double latitude, Double longitude, Integer k) {
+        log.info("Getting {} nearest hotels to: lat={}, lng={}", k, latitude, longitude);
+        
+        if (!GeoUtils.isValid(latitude, longitude) || k == null || k <= 0) {
+            throw new AppException(ErrorCode.INVALID_COORDINATES);
+        }
+        int limit = Math.min(k, MAX_NEAREST);
+        
+        Map<UUID, Double> distances = findNearest(latitude, longitude, limit);
+        List<UUID> ids = distances.keySet().stream().limit(limit).toList();
+        List<Hotel> hotels = SearchResults.rankedPage(ids, 0, limit, hotelRepository::findByIdIn, Hotel::getId).getContent();
+        
+        List<HotelResponse> hotelResponses = toResponses(hotels, hotelMapper::toResponseWithoutRelations);
+        hotelResponses.forEach(response -> response.setDistanceKm(distances.get(response.getId())));
+        return hotelResponses;
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<SuggestionResponse> getSuggestions(String prefix, Integer limit) {
+        // Called on every keystroke: answered from memory, no transaction or connection, not logged
+        if (prefix == null || limit == null || limit <= 0) {
+            return List.of();
+        }
+        return suggestIndex.suggest(prefix, Math.min(limit, MAX_SUGGESTIONS));
+    }
+    
+    @Override
+    public DataResponse<HotelResponse> getAvailableHotels(String city, LocalDate checkIn, LocalDate checkOut,
+                                                          Integer guests, Integer pageNumber, Integer pageSize,
+                                                          String sortBy) {
+        log.info("Getting hotels available in {} from {} to {} for {} guests", city, checkIn, checkOut, guests);
+        
+        if (!checkOut.isAfter(checkIn) || checkIn.isBefore(LocalDate.now())) {
+            throw new AppException(ErrorCode.INVALID_BOOKING_DATES);
+        }
+        
+        int minGuests = Math.max(guests, 1);
         Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).descending());
-        Page<Hotel> hotelPage = hotelRepository.findNearLocation(latitude, longitude, radiusKm, pageable);
+        List<UUID> ids = availabilityIndex.findAvailableHotels(city, checkIn, checkOut, minGuests);
+        Page<Hotel> hotelPage = ids.size() <= MAX_ID_LIST
+                ? hotelRepository.findByIdIn(ids, pageable)
+                : hotelRepository.findAvailable(city == null || city.isBlank() ? null : city.trim(),
+                        minGuests, checkIn, checkOut, pageable);
         
-        List<HotelResponse> hotelResponses = hotelPage.getContent().stream()
-                .map(hotelMapper::toResponse)
-                .toList();
+        List<HotelResponse> hotelResponses = toResponses(hotelPage.getContent(), hotelMapper::toResponse);
         
         return DataResponseUtils.convertPageInfo(hotelPage, hotelResponses);
     }
@@ -411,15 +557,103 @@ public class HotelServiceImpl implements HotelService {
     }
     
     // Helper methods
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String userId = authentication.getName();
-        return userRepository.findById(UUID.fromString(userId))
-                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_FOUND));
+    // Bounding box prefilter in the database, exact distance and ordering here; nearest first
+    private Map<UUID, Double> findWithinRadius(double latitude, double longitude, double radiusKm) {
+        GeoUtils.BoundingBox box = GeoUtils.boundingBox(latitude, longitude, radiusKm);
+        List<HotelLocation> candidates = hotelRepository.findLocationsWithinBox(
+                box.minLat(), box.maxLat(), box.minLng(), box.maxLng());
+        
+        Map<UUID, Double> distances = new LinkedHashMap<>();
+        candidates.stream()
+                .map(location -> Map.entry(location.getId(), GeoUtils.distanceKm(
+                        latitude, longitude, location.getLatitude(), location.getLongitude())))
+                .filter(entry -> entry.getValue() <= radiusKm)
+                .sorted(Map.Entry.comparingByValue())
+                .forEach(entry -> distances.put(entry.getKey(), entry.getValue()));
+        return distances;
+    }
+    
+    // Widen the circle until it holds the limit; everything outside it is further than everything inside
+    private Map<UUID, Double> findNearest(double latitude, double longitude, int limit) {
+        double radiusKm = NEAREST_START_RADIUS_KM;
+        Map<UUID, Double> distances = findWithinRadius(latitude, longitude, radiusKm);
+        while (distances.size() < limit && radiusKm < GeoUtils.MAX_DISTANCE_KM) {
+            radiusKm = Math.min(radiusKm * 4, GeoUtils.MAX_DISTANCE_KM);
+            distances = findWithinRadius(latitude, longitude, radiusKm);
+        }
+        return distances;
+    }
+    
+    private HotelResponse toResponse(Hotel hotel) {
+        HotelResponse response = hotelMapper.toResponse(hotel);
+        hotelStatisticsService.applyTo(response);
+        return response;
+    }
+    
+    // Statistics for the whole page come from one lookup instead of per-row aggregates
+    private List<HotelResponse> toResponses(List<Hotel> hotels, Function<Hotel, HotelResponse> mapper) {
+        List<HotelResponse> responses = hotels.stream().map(mapper).toList();
+        hotelStatisticsService.applyTo(responses);
+        return responses;
+    }
+    
+    private HotelResponse toggle(UUID id, FlagToggle flip) {
+        if (flip.apply(id, currentUserResolver.getUserId(), LocalDateTime.now()) == 0) {
+            throw new AppException(ErrorCode.HOTEL_NOT_FOUND);
+        }
+        // Read after the update, which cleared the persistence context
+        Hotel hotel = hotelRepository.findById(id)
+                .orElseThrow(() -> new AppException(ErrorCode.HOTEL_NOT_FOUND));
+        log.info("Hotel {} now active={}, featured={}", id, hotel.isActive(), hotel.isFeatured());
+        eventPublisher.publishEvent(new HotelChangedEvent(id));
+        return toResponse(hotel);
+    }
+    
+    private BulkUpdateResponse bulkSetFlag(BulkHotelFlagRequest request, FlagUpdate update, FlagMatches matches) {
+        List<UUID> ids = request.getIds();
+        boolean hasIds = ids != null && !ids.isEmpty();
+        String city = request.getCity() == null || request.getCity().isBlank() ? null : request.getCity().trim();
+        if (!hasIds && request.getOwnerId() == null && city == null) {
+            throw new AppException(ErrorCode.BULK_CRITERIA_REQUIRED);
+        }
+        boolean value = request.getValue();
+        UUID updatedBy = currentUserResolver.getUserId();
+        
+        long updated = BulkUpdates.run(ids, BULK_CHUNK_SIZE, transactionTemplate,
+                slice -> setFlag(slice, value, updatedBy, update),
+                () -> setFlag(matches.find(value, request.getOwnerId(), city, PageRequest.of(0, BULK_CHUNK_SIZE)),
+                        value, updatedBy, update));
+        log.info("Bulk flag update set {} hotels to {}", updated, value);
+        return BulkUpdateResponse.builder()
+                .requested(hasIds ? ids.size() : null)
+                .updated(updated)
+                .build();
+    }
+    
+    private BulkUpdates.Chunk setFlag(List<UUID> ids, boolean value, UUID updatedBy, FlagUpdate update) {
+        if (ids.isEmpty()) {
+            return BulkUpdates.Chunk.EMPTY;
+        }
+        int updated = update.apply(ids, value, updatedBy, LocalDateTime.now());
+        if (updated > 0) {
+            // One event for the chunk, listeners reload it with one query; ids already at the value reload unchanged
+            eventPublisher.publishEvent(new HotelsChangedEvent(new HashSet<>(ids)));
+        }
+        return new BulkUpdates.Chunk(ids.size(), updated);
+    }
+    
+    @FunctionalInterface
+    private interface FlagToggle {
+        int apply(UUID id, UUID updatedBy, LocalDateTime now);
+    }
+    
+    @FunctionalInterface
+    private interface FlagUpdate {
+        int apply(Collection<UUID> ids, boolean value, UUID updatedBy, LocalDateTime now);
     }
     
-    private UUID getCurrentUserId() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return UUID.fromString(authentication.getName());
+    @FunctionalInterface
+    private interface FlagMatches {
+        List<UUID> find(boolean value, UUID ownerId, String city, Pageable pageable);
     }
-} 
\ No newline at end of file
+}
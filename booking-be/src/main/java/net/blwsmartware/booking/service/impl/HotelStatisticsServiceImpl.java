@@ -0,0 +1,293 @@
+package net.blwsmartware.booking.service.impl;
+
+import jakarta.persistence.EntityManager;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import net.blwsmartware.booking.dto.response.HotelResponse;
+import net.blwsmartware.booking.dto.response.RatingDistributionResponse;
+import net.blwsmartware.booking.entity.HotelStatistics;
+import net.blwsmartware.booking.exception.AppException;
+import net.blwsmartware.booking.exception.ErrorCode;
+import net.blwsmartware.booking.repository.HotelRepository;
+import net.blwsmartware.booking.repository.HotelStatisticsRepository;
+import net.blwsmartware.booking.repository.ReviewRepository;
+import net.blwsmartware.booking.repository.RoomTypeRepository;
+import net.blwsmartware.booking.repository.projection.ReviewAggregate;
+import net.blwsmartware.booking.repository.projection.RoomTypeAggregate;
+import net.blwsmartware.booking.service.HotelStatisticsService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class HotelStatisticsServiceImpl implements HotelStatisticsService {
+
+    HotelStatisticsRepository hotelStatisticsRepository;
+    HotelRepository hotelRepository;
+    RoomTypeRepository roomTypeRepository;
+    ReviewRepository reviewRepository;
+    TransactionTemplate transactionTemplate;
+    EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public void reviewApproved(UUID hotelId, int rating) {
+        long[] stars = new long[5];
+        stars[starIndex(rating)]++;
+        applyReviewDelta(hotelId, stars);
+    }
+
+    @Override
+    @Transactional
+    public void reviewWithdrawn(UUID hotelId, int rating) {
+        long[] stars = new long[5];
+        stars[starIndex(rating)]--;
+        applyReviewDelta(hotelId, stars);
+    }
+
+    @Override
+    @Transactional
+    public void reviewRatingChanged(UUID hotelId, int oldRating, int newRating) {
+        if (oldRating != newRating) {
+            long[] stars = new long[5];
+            stars[starIndex(oldRating)]--;
+            stars[starIndex(newRating)]++;
+            applyReviewDelta(hotelId, stars);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void reviewsChanged(UUID hotelId, long[] starDeltas) {
+        if (Arrays.stream(starDeltas).anyMatch(delta -> delta != 0)) {
+            applyReviewDelta(hotelId, starDeltas);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void refreshRoomTotals(UUID hotelId) {
+        RoomTypeAggregate aggregate = roomTypeRepository.aggregateByHotel(hotelId);
+        if (hotelStatisticsRepository.applyRoomTotals(hotelId, aggregate.getTotalRoomTypes(), aggregate.getTotalRooms(),
+                aggregate.getAvailableRooms(), aggregate.getMinPrice(), aggregate.getMaxPrice()) == 0) {
+            // No row yet, the recomputed row already includes the flushed change
+            hotelStatisticsRepository.save(recompute(hotelId));
+        }
+    }
+
+    @Override
+    @Transactional
+    public void initialize(UUID hotelId) {
+        if (!hotelStatisticsRepository.existsById(hotelId)) {
+            hotelStatisticsRepository.save(HotelStatistics.builder().hotelId(hotelId).build());
+        }
+    }
+
+    @Override
+    @Transactional
+    public void remove(UUID hotelId) {
+        hotelStatisticsRepository.deleteById(hotelId);
+    }
+
+    // Startup: hotels without a row get one, existing rows are left to the deltas already being applied to them.
+    // The review drift check then also fills review columns added to existing rows by a schema change.
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAll() {
+        Integer inserted = transactionTemplate.execute(status -> insertMissing());
+        log.info("Created statistics for {} hotels without a row", inserted);
+        repairReviewStatistics();
+    }
+
+    // Deltas keep the aggregates exact; this catches drift from writes that bypassed them (manual SQL, failed deploys)
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Scheduled(cron = "${config.statistics.review-repair-cron}")
+    public int repairReviewStatistics() {
+        Map<UUID, ReviewAggregate> reviews = reviewRepository.aggregateApprovedByHotel().stream()
+                .collect(Collectors.toMap(ReviewAggregate::getHotelId, Function.identity()));
+        int repaired = 0;
+        // Cheap comparison first, only suspects are recounted under the row lock
+        for (HotelStatistics stats : hotelStatisticsRepository.findAll()) {
+            if (!matches(stats, reviews.get(stats.getHotelId()))
+                    && Boolean.TRUE.equals(transactionTemplate.execute(status -> repairReviews(stats.getHotelId())))) {
+                repaired++;
+            }
+        }
+        log.info("Review statistics checked for {} hotels, {} repaired", reviews.size(), repaired);
+        return repaired;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<RatingDistributionResponse> getRatingDistribution(UUID hotelId) {
+        return hotelStatisticsRepository.findById(hotelId)
+                .or(() -> hotelRepository.existsById(hotelId)
+                        ? Optional.of(HotelStatistics.builder().hotelId(hotelId).build())
+                        : Optional.empty())
+                .map(this::toDistribution);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void applyTo(Collection<HotelResponse> responses) {
+        if (responses.isEmpty()) {
+            return;
+        }
+        Set<UUID> ids = responses.stream().map(HotelResponse::getId).collect(Collectors.toSet());
+        Map<UUID, HotelStatistics> stats = hotelStatisticsRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(HotelStatistics::getHotelId, Function.identity()));
+        responses.forEach(response -> fill(response, stats.get(response.getId())));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void applyTo(HotelResponse response) {
+        fill(response, hotelStatisticsRepository.findById(response.getId()).orElse(null));
+    }
+
+    private void applyReviewDelta(UUID hotelId, long[] stars) {
+        long countDelta = 0;
+        long ratingDelta = 0;
+        for (int i = 0; i < stars.length; i++) {
+            countDelta += stars[i];
+            ratingDelta += stars[i] * (i + 1);
+        }
+        if (hotelStatisticsRepository.applyReviewDelta(hotelId, countDelta, ratingDelta,
+                stars[0], stars[1], stars[2], stars[3], stars[4]) == 0) {
+            // No row yet, the recomputed row already includes the flushed change
+            hotelStatisticsRepository.save(recompute(hotelId));
+        }
+    }
+
+    private int insertMissing() {
+        Set<UUID> missing = new HashSet<>(hotelRepository.findAllIds());
+        hotelStatisticsRepository.findAllHotelIds().forEach(missing::remove);
+        if (missing.isEmpty()) {
+            return 0;
+        }
+        Map<UUID, ReviewAggregate> reviews = reviewRepository.aggregateApprovedByHotel().stream()
+                .collect(Collectors.toMap(ReviewAggregate::getHotelId, Function.identity()));
+        Map<UUID, RoomTypeAggregate> rooms = roomTypeRepository.aggregateAllByHotel().stream()
+                .collect(Collectors.toMap(RoomTypeAggregate::getHotelId, Function.identity()));
+        for (UUID hotelId : missing) {
+            HotelStatistics stats = HotelStatistics.builder().hotelId(hotelId).build();
+            applyReviewAggregate(stats, reviews.get(hotelId));
+            RoomTypeAggregate aggregate = rooms.get(hotelId);
+            if (aggregate != null) {
+                applyRoomAggregate(stats, aggregate);
+            }
+            // persist, not save: the id is assigned, so save would merge with a SELECT per row
+            entityManager.persist(stats);
+        }
+        return missing.size();
+    }
+
+    private HotelStatistics recompute(UUID hotelId) {
+        HotelStatistics stats = HotelStatistics.builder().hotelId(hotelId).build();
+        applyReviewAggregate(stats, reviewRepository.aggregateApprovedByHotel(hotelId).orElse(null));
+        applyRoomAggregate(stats, roomTypeRepository.aggregateByHotel(hotelId));
+        return stats;
+    }
+
+    // Locked first, so concurrent deltas wait and the recount sees every delta already applied
+    private boolean repairReviews(UUID hotelId) {
+        HotelStatistics stats = hotelStatisticsRepository.lockById(hotelId).orElse(null);
+        if (stats == null) {
+            return false;
+        }
+        ReviewAggregate aggregate = reviewRepository.aggregateApprovedByHotel(hotelId).orElse(null);
+        if (matches(stats, aggregate)) {
+            return false;
+        }
+        log.warn("Review statistics of hotel {} drifted (count {}, sum {}), recounted", hotelId,
+                stats.getReviewCount(), stats.getRatingSum());
+        applyReviewAggregate(stats, aggregate);
+        hotelStatisticsRepository.save(stats);
+        return true;
+    }
+
+    private boolean matches(HotelStatistics stats, ReviewAggregate aggregate) {
+        HotelStatistics expected = HotelStatistics.builder().build();
+        applyReviewAggregate(expected, aggregate);
+        return stats.getReviewCount() == expected.getReviewCount()
+                && stats.getRatingSum() == expected.getRatingSum()
+                && stats.getRating1() == expected.getRating1()
+                && stats.getRating2() == expected.getRating2()
+                && stats.getRating3() == expected.getRating3()
+                && stats.getRating4() == expected.getRating4()
+                && stats.getRating5() == expected.getRating5();
+    }
+
+    private void applyReviewAggregate(HotelStatistics stats, ReviewAggregate aggregate) {
+        stats.setReviewCount(aggregate != null ? aggregate.getReviewCount() : 0);
+        stats.setRatingSum(aggregate != null ? aggregate.getRatingSum() : 0);
+        stats.setRating1(aggregate != null ? aggregate.getOneStar() : 0);
+        stats.setRating2(aggregate != null ? aggregate.getTwoStar() : 0);
+        stats.setRating3(aggregate != null ? aggregate.getThreeStar() : 0);
+        stats.setRating4(aggregate != null ? aggregate.getFourStar() : 0);
+        stats.setRating5(aggregate != null ? aggregate.getFiveStar() : 0);
+    }
+
+    private RatingDistributionResponse toDistribution(HotelStatistics stats) {
+        Map<Integer, Long> distribution = new LinkedHashMap<>();
+        distribution.put(5, stats.getRating5());
+        distribution.put(4, stats.getRating4());
+        distribution.put(3, stats.getRating3());
+        distribution.put(2, stats.getRating2());
+        distribution.put(1, stats.getRating1());
+        return RatingDistributionResponse.builder()
+                .hotelId(stats.getHotelId())
+                .totalReviews(stats.getReviewCount())
+                .averageRating(averageOf(stats))
+                .distribution(distribution)
+                .build();
+    }
+
+    private static Double averageOf(HotelStatistics stats) {
+        return stats.getReviewCount() > 0 ? (double) stats.getRatingSum() / stats.getReviewCount() : null;
+    }
+
+    private static int starIndex(int rating) {
+        if (rating < 1 || rating > 5) {
+            throw new AppException(ErrorCode.INVALID_RATING);
+        }
+        return rating - 1;
+    }
+
+    private void applyRoomAggregate(HotelStatistics stats, RoomTypeAggregate aggregate) {
+        stats.setTotalRoomTypes(aggregate.getTotalRoomTypes());
+        stats.setTotalRooms(aggregate.getTotalRooms());
+        stats.setAvailableRooms(aggregate.getAvailableRooms());
+        stats.setMinPrice(aggregate.getMinPrice());
+        stats.setMaxPrice(aggregate.getMaxPrice());
+    }
+
+    // Missing row means nothing has been recorded yet
+    private void fill(HotelResponse response, HotelStatistics stats) {
+        if (stats == null) {
+            stats = HotelStatistics.builder().hotelId(response.getId()).build();
+        }
+        response.setTotalRoomTypes((int) stats.getTotalRoomTypes());
+        response.setTotalRooms((int) stats.getTotalRooms());
+        response.setAvailableRooms((int) stats.getAvailableRooms());
+        response.setTotalReviews((int) stats.getReviewCount());
+        response.setAverageRating(averageOf(stats));
+        response.setMinRoomPrice(stats.getMinPrice());
+        response.setMaxRoomPrice(stats.getMaxPrice());
+    }
+}
@@ -4,49 +4,94 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import net.blwsmartware.booking.dto.request.BulkReviewRequest;
 import net.blwsmartware.booking.dto.request.ReviewCreateRequest;
+import net.blwsmartware.booking.dto.response.BulkUpdateResponse;
 import net.blwsmartware.booking.dto.response.DataResponse;
+import net.blwsmartware.booking.dto.response.RatingDistributionResponse;
+import net.blwsmartware.booking.dto.response.ReviewHelpfulResponse;
 import net.blwsmartware.booking.dto.response.ReviewResponse;
 import net.blwsmartware.booking.entity.Hotel;
 import net.blwsmartware.booking.entity.Review;
 import net.blwsmartware.booking.entity.User;
+import net.blwsmartware.booking.event.ReviewChangedEvent;
+import net.blwsmartware.booking.event.ReviewsModeratedEvent;
 import net.blwsmartware.booking.exception.AppException;
 import net.blwsmartware.booking.exception.ErrorCode;
 import net.blwsmartware.booking.mapper.ReviewMapper;
 import net.blwsmartware.booking.repository.HotelRepository;
+import net.blwsmartware.booking.repository.ReviewHelpfulVoteRepository;
 import net.blwsmartware.booking.repository.ReviewRepository;
 import net.blwsmartware.booking.repository.UserRepository;
+import net.blwsmartware.booking.repository.keyset.KeysetQueryExecutor;
+import net.blwsmartware.booking.repository.keyset.KeysetRequest;
+import net.blwsmartware.booking.repository.keyset.KeysetSlice;
+import net.blwsmartware.booking.repository.projection.ReviewVoteTarget;
+import net.blwsmartware.booking.review.HelpfulVoteBuffer;
+import net.blwsmartware.booking.search.CatalogSearchIndex;
+import net.blwsmartware.booking.search.SearchResults;
+import net.blwsmartware.booking.security.CurrentUserResolver;
+import net.blwsmartware.booking.service.HotelStatisticsService;
 import net.blwsmartware.booking.service.ReviewService;
+import net.blwsmartware.booking.util.BulkUpdates;
 import net.blwsmartware.booking.util.DataResponseUtils;
 import net.blwsmartware.booking.validator.IsAdmin;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 @Slf4j
 public class ReviewServiceImpl implements ReviewService {
     
     ReviewRepository reviewRepository;
+    ReviewHelpfulVoteRepository reviewHelpfulVoteRepository;
     HotelRepository hotelRepository;
     UserRepository userRepository;
+    CurrentUserResolver currentUserResolver;
     ReviewMapper reviewMapper;
+    HotelStatisticsService hotelStatisticsService;
+    CatalogSearchIndex catalogSearchIndex;
+    KeysetQueryExecutor keysetQueryExecutor;
+    ApplicationEventPublisher eventPublisher;
+    TransactionTemplate transactionTemplate;
+    HelpfulVoteBuffer helpfulVoteBuffer;
+    
+    // Reviews per transaction in bulk moderation
+    private static final int BULK_CHUNK_SIZE = 500;
     
     @Override
     @IsAdmin
-    public DataResponse<ReviewResponse> getAllReviews(Integer pageNumber, Integer pageSize, String sortBy) {
+    public DataResponse<ReviewResponse> getAllReviews(Integer pageNumber, Integer pageSize, String sortBy,
+                                                      String cursor, Boolean skipCount) {
         log.info("Getting all reviews with pagination: page={}, size={}, sortBy={}", pageNumber, pageSize, sortBy);
         
+        KeysetRequest request = KeysetRequest.of(pageNumber, pageSize, sortBy, Sort.Direction.DESC, cursor, skipCount);
+        if (!request.isPlainPage()) {
+            KeysetSlice<Review> slice = keysetQueryExecutor.fetch(Review.class, null, null, request);
+            return DataResponseUtils.convertSliceInfo(slice, slice.getContent().stream()
+                    .map(reviewMapper::toResponse)
+                    .toList());
+        }
+        
         Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).descending());
         Page<Review> reviewPage = reviewRepository.findAll(pageable);
         
@@ -96,6 +141,12 @@ public class ReviewServiceImpl implements ReviewService {
                 .orElseThrow(() -> new AppException(ErrorCode.REVIEW_NOT_FOUND));
         
         reviewRepository.delete(review);
+        reviewHelpfulVoteRepository.deleteByReviewId(id);
+        helpfulVoteBuffer.discardReview(id);
+        if (review.isApproved()) {
+            hotelStatisticsService.reviewWithdrawn(review.getHotel().getId(), review.getRating());
+        }
+        eventPublisher.publishEvent(new ReviewChangedEvent(id, review.getHotel().getId()));
     }
     
     @Override
@@ -103,14 +154,7 @@ public class ReviewServiceImpl implements ReviewService {
     @Transactional
     public ReviewResponse approveReview(UUID id) {
         log.info("Approving review: {}", id);
-        
-        Review review = reviewRepository.findById(id)
-                .orElseThrow(() -> new AppException(ErrorCode.REVIEW_NOT_FOUND));
-        
-        review.setApproved(true);
-        Review updatedReview = reviewRepository.save(review);
-        
-        return reviewMapper.toResponse(updatedReview);
+        return setApproval(id, true);
     }
     
     @Override
@@ -118,14 +162,7 @@ public class ReviewServiceImpl implements ReviewService {
     @Transactional
     public ReviewResponse disapproveReview(UUID id) {
         log.info("Disapproving review: {}", id);
-        
-        Review review = reviewRepository.findById(id)
-                .orElseThrow(() -> new AppException(ErrorCode.REVIEW_NOT_FOUND));
-        
-        review.setApproved(false);
-        Review updatedReview = reviewRepository.save(review);
-        
-        return reviewMapper.toResponse(updatedReview);
+        return setApproval(id, false);
     }
     
     @Override
@@ -139,18 +176,57 @@ public class ReviewServiceImpl implements ReviewService {
         
         review.setVerified(true);
         Review updatedReview = reviewRepository.save(review);
+        eventPublisher.publishEvent(new ReviewChangedEvent(updatedReview.getId(), updatedReview.getHotel().getId()));
         
         return reviewMapper.toResponse(updatedReview);
     }
     
     @Override
-    public DataResponse<ReviewResponse> getReviewsByHotel(UUID hotelId, Integer pageNumber, Integer pageSize, String sortBy) {
+    @IsAdmin
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkUpdateResponse bulkApproveReviews(BulkReviewRequest request) {
+        return bulkSetApproval(request, true);
+    }
+    
+    @Override
+    @IsAdmin
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkUpdateResponse bulkDisapproveReviews(BulkReviewRequest request) {
+        return bulkSetApproval(request, false);
+    }
+    
+    @Override
+    @IsAdmin
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkUpdateResponse bulkVerifyReviews(BulkReviewRequest request) {
+        // isVerified is the value being set, isApproved is the filter verification applies
+        requireCriteria(request, request.getIsApproved());
+        long updated = BulkUpdates.run(request.getIds(), BULK_CHUNK_SIZE, transactionTemplate,
+                this::verifyChunk,
+                () -> verifyChunk(reviewRepository.findUnverifiedIds(request.getHotelId(), request.getRating(),
+                        request.getIsApproved(), PageRequest.of(0, BULK_CHUNK_SIZE))));
+        log.info("Bulk verified {} reviews", updated);
+        return bulkResponse(request, updated);
+    }
+    
+    @Override
+    public DataResponse<ReviewResponse> getReviewsByHotel(UUID hotelId, Integer pageNumber, Integer pageSize, String sortBy,
+                                                          String cursor, Boolean skipCount) {
         log.info("Getting reviews by hotel: {}", hotelId);
         
         // Validate hotel exists
         hotelRepository.findById(hotelId)
                 .orElseThrow(() -> new AppException(ErrorCode.HOTEL_NOT_FOUND));
         
+        KeysetRequest request = KeysetRequest.of(pageNumber, pageSize, sortBy, Sort.Direction.DESC, cursor, skipCount);
+        if (!request.isPlainPage()) {
+            Specification<Review> spec = (root, query, cb) -> cb.equal(root.get("hotel").get("id"), hotelId);
+            KeysetSlice<Review> slice = keysetQueryExecutor.fetch(Review.class, spec, null, request);
+            return DataResponseUtils.convertSliceInfo(slice, slice.getContent().stream()
+                    .map(reviewMapper::toResponse)
+                    .toList());
+        }
+        
         Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).descending());
         Page<Review> reviewPage = reviewRepository.findByHotelId(hotelId, pageable);
         
@@ -162,13 +238,25 @@ public class ReviewServiceImpl implements ReviewService {
     }
     
     @Override
-    public DataResponse<ReviewResponse> getApprovedReviewsByHotel(UUID hotelId, Integer pageNumber, Integer pageSize, String sortBy) {
+    public DataResponse<ReviewResponse> getApprovedReviewsByHotel(UUID hotelId, Integer pageNumber, Integer pageSize, String sortBy,
+                                                                  String cursor, Boolean skipCount) {
         log.info("Getting approved reviews by hotel: {}", hotelId);
         
         // Validate hotel exists
         hotelRepository.findById(hotelId)
                 .orElseThrow(() -> new AppException(ErrorCode.HOTEL_NOT_FOUND));
         
+        KeysetRequest request = KeysetRequest.of(pageNumber, pageSize, sortBy, Sort.Direction.DESC, cursor, skipCount);
+        if (!request.isPlainPage()) {
+            Specification<Review> spec = (root, query, cb) -> cb.and(
+                    cb.equal(root.get("hotel").get("id"), hotelId),
+                    cb.isTrue(root.get("isApproved")));
+            KeysetSlice<Review> slice = keysetQueryExecutor.fetch(Review.class, spec, null, request);
+            return DataResponseUtils.convertSliceInfo(slice, slice.getContent().stream()
+                    .map(reviewMapper::toPublicResponse)
+                    .toList());
+        }
+        
         Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).descending());
         Page<Review> reviewPage = reviewRepository.findByHotelIdAndIsApprovedTrue(hotelId, pageable);
         
@@ -208,7 +296,7 @@ public class ReviewServiceImpl implements ReviewService {
             user = userRepository.findById(request.getUserId())
                     .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_FOUND));
         } else {
-            user = getCurrentUser();
+            user = currentUserResolver.getUser();
         }
         
         // Validate hotel exists
@@ -232,6 +320,10 @@ public class ReviewServiceImpl implements ReviewService {
                 .build();
         
         Review savedReview = reviewRepository.save(review);
+        if (savedReview.isApproved()) {
+            hotelStatisticsService.reviewApproved(hotel.getId(), savedReview.getRating());
+        }
+        eventPublisher.publishEvent(new ReviewChangedEvent(savedReview.getId(), hotel.getId()));
         
         return reviewMapper.toResponse(savedReview);
     }
@@ -245,16 +337,21 @@ public class ReviewServiceImpl implements ReviewService {
                 .orElseThrow(() -> new AppException(ErrorCode.REVIEW_NOT_FOUND));
         
         // Check if current user owns this review
-        UUID currentUserId = getCurrentUserId();
+        UUID currentUserId = currentUserResolver.getUserId();
         if (!review.getUser().getId().equals(currentUserId)) {
             throw new AppException(ErrorCode.UNAUTHORIZED);
         }
         
         // Update review
+        int oldRating = review.getRating();
         review.setRating(request.getRating());
         review.setComment(request.getComment());
         
         Review updatedReview = reviewRepository.save(review);
+        if (updatedReview.isApproved()) {
+            hotelStatisticsService.reviewRatingChanged(updatedReview.getHotel().getId(), oldRating, updatedReview.getRating());
+        }
+        eventPublisher.publishEvent(new ReviewChangedEvent(updatedReview.getId(), updatedReview.getHotel().getId()));
         
         return reviewMapper.toResponse(updatedReview);
     }
@@ -263,7 +360,7 @@ public class ReviewServiceImpl implements ReviewService {
     public DataResponse<ReviewResponse> getMyReviews(Integer pageNumber, Integer pageSize, String sortBy) {
         log.info("Getting my reviews");
         
-        UUID currentUserId = getCurrentUserId();
+        UUID currentUserId = currentUserResolver.getUserId();
         Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).descending());
         Page<Review> reviewPage = reviewRepository.findByUserId(currentUserId, pageable);
         
@@ -293,6 +390,26 @@ public class ReviewServiceImpl implements ReviewService {
         return DataResponseUtils.convertPageInfo(reviewPage, reviewResponses);
     }
     
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ReviewHelpfulResponse markHelpful(UUID id) {
+        UUID userId = currentUserResolver.getUserId();
+        ReviewVoteTarget review = reviewRepository.findVoteTarget(id)
+                .orElseThrow(() -> new AppException(ErrorCode.REVIEW_NOT_FOUND));
+        if (userId.equals(review.getAuthorId())) {
+            throw new AppException(ErrorCode.REVIEW_OWN_VOTE);
+        }
+        // Counted in memory, written to helpful_count by the next flush
+        if (!helpfulVoteBuffer.vote(id, userId)) {
+            throw new AppException(ErrorCode.REVIEW_ALREADY_VOTED);
+        }
+        long stored = review.getHelpfulCount() != null ? review.getHelpfulCount() : 0;
+        return ReviewHelpfulResponse.builder()
+                .reviewId(id)
+                .helpfulCount(stored + helpfulVoteBuffer.unflushed(id))
+                .build();
+    }
+    
     @Override
     public DataResponse<ReviewResponse> getReviewsByRating(Integer rating, Integer pageNumber, Integer pageSize, String sortBy) {
         log.info("Getting reviews by rating: {}", rating);
@@ -311,8 +428,19 @@ public class ReviewServiceImpl implements ReviewService {
     public DataResponse<ReviewResponse> searchReviews(String keyword, Integer pageNumber, Integer pageSize, String sortBy) {
         log.info("Searching reviews with keyword: {}", keyword);
         
-        Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).descending());
-        Page<Review> reviewPage = reviewRepository.searchByComment(keyword, pageable);
+        Page<Review> reviewPage;
+        if (!catalogSearchIndex.isReady()) {
+            // Index still building, fall back to the LIKE scan
+            String sort = SearchResults.RELEVANCE.equals(sortBy) ? "createdAt" : sortBy;
+            reviewPage = reviewRepository.searchByComment(keyword,
+                    PageRequest.of(pageNumber, pageSize, Sort.by(sort).descending()));
+        } else if (SearchResults.RELEVANCE.equals(sortBy)) {
+            reviewPage = SearchResults.rankedPage(catalogSearchIndex.searchReviews(keyword), pageNumber, pageSize,
+                    reviewRepository::findByIdIn, Review::getId);
+        } else {
+            reviewPage = reviewRepository.findByIdIn(catalogSearchIndex.searchReviews(keyword),
+                    PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).descending()));
+        }
         
         List<ReviewResponse> reviewResponses = reviewPage.getContent().stream()
                 .map(reviewMapper::toPublicResponse)
@@ -360,11 +488,15 @@ public class ReviewServiceImpl implements ReviewService {
     
     @Override
     public Double getAverageRatingByHotel(UUID hotelId) {
-        // Validate hotel exists
-        hotelRepository.findById(hotelId)
+        Double average = getRatingDistribution(hotelId).getAverageRating();
+        return average != null ? average : 0.0;
+    }
+    
+    @Override
+    public RatingDistributionResponse getRatingDistribution(UUID hotelId) {
+        // Served from the hotel's statistics row, kept current by every review write
+        return hotelStatisticsService.getRatingDistribution(hotelId)
                 .orElseThrow(() -> new AppException(ErrorCode.HOTEL_NOT_FOUND));
-        
-        return reviewRepository.getAverageRatingByHotel(hotelId).orElse(0.0);
     }
     
     @Override
@@ -379,15 +511,81 @@ public class ReviewServiceImpl implements ReviewService {
         return !hasUserReviewedHotel(userId, hotelId);
     }
     
-    // Helper methods
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_FOUND));
+    private ReviewResponse setApproval(UUID id, boolean approved) {
+        Review review = reviewRepository.findById(id)
+                .orElseThrow(() -> new AppException(ErrorCode.REVIEW_NOT_FOUND));
+        UUID hotelId = review.getHotel().getId();
+        int rating = review.getRating();
+        
+        // Conditional update: of two concurrent approvals only one changes the row, so it is counted once
+        if (reviewRepository.updateApproval(List.of(id), approved, LocalDateTime.now()) == 1) {
+            if (approved) {
+                hotelStatisticsService.reviewApproved(hotelId, rating);
+            } else {
+                hotelStatisticsService.reviewWithdrawn(hotelId, rating);
+            }
+        }
+        eventPublisher.publishEvent(new ReviewChangedEvent(id, hotelId));
+        
+        Review updatedReview = reviewRepository.findById(id)
+                .orElseThrow(() -> new AppException(ErrorCode.REVIEW_NOT_FOUND));
+        return reviewMapper.toResponse(updatedReview);
+    }
+    
+    private BulkUpdateResponse bulkSetApproval(BulkReviewRequest request, boolean approved) {
+        // isApproved is the value being set, isVerified is the filter approval applies
+        requireCriteria(request, request.getIsVerified());
+        long updated = BulkUpdates.run(request.getIds(), BULK_CHUNK_SIZE, transactionTemplate,
+                ids -> approvalChunk(reviewRepository.lockForApproval(ids, approved), approved),
+                () -> approvalChunk(reviewRepository.lockMatchingForApproval(approved, request.getHotelId(),
+                        request.getRating(), request.getIsVerified(), PageRequest.of(0, BULK_CHUNK_SIZE)), approved));
+        log.info("Bulk {} {} reviews", approved ? "approved" : "disapproved", updated);
+        return bulkResponse(request, updated);
+    }
+    
+    // The locked rows are exactly the ones the update changes, so statistics move by their ratings per hotel
+    private BulkUpdates.Chunk approvalChunk(List<Review> reviews, boolean approved) {
+        if (reviews.isEmpty()) {
+            return BulkUpdates.Chunk.EMPTY;
+        }
+        int sign = approved ? 1 : -1;
+        List<UUID> ids = new ArrayList<>(reviews.size());
+        // Hotel -> net change per star
+        Map<UUID, long[]> deltas = new HashMap<>();
+        for (Review review : reviews) {
+            ids.add(review.getId());
+            deltas.computeIfAbsent(review.getHotel().getId(), hotelId -> new long[5])[review.getRating() - 1] += sign;
+        }
+        int updated = reviewRepository.updateApproval(ids, approved, LocalDateTime.now());
+        deltas.forEach(hotelStatisticsService::reviewsChanged);
+        eventPublisher.publishEvent(new ReviewsModeratedEvent(deltas.keySet()));
+        return new BulkUpdates.Chunk(reviews.size(), updated);
+    }
+    
+    private BulkUpdates.Chunk verifyChunk(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return BulkUpdates.Chunk.EMPTY;
+        }
+        int updated = reviewRepository.markVerified(ids, LocalDateTime.now());
+        if (updated > 0) {
+            eventPublisher.publishEvent(new ReviewsModeratedEvent(new HashSet<>(reviewRepository.findHotelIdsByIdIn(ids))));
+        }
+        return new BulkUpdates.Chunk(ids.size(), updated);
     }
     
-    private UUID getCurrentUserId() {
-        return getCurrentUser().getId();
+    // Only filters the action actually applies count, an ignored one would match every review
+    private void requireCriteria(BulkReviewRequest request, Boolean flagFilter) {
+        boolean hasIds = request.getIds() != null && !request.getIds().isEmpty();
+        if (!hasIds && request.getHotelId() == null && request.getRating() == null && flagFilter == null) {
+            throw new AppException(ErrorCode.BULK_CRITERIA_REQUIRED);
+        }
+    }
+    
+    private BulkUpdateResponse bulkResponse(BulkReviewRequest request, long updated) {
+        boolean hasIds = request.getIds() != null && !request.getIds().isEmpty();
+        return BulkUpdateResponse.builder()
+                .requested(hasIds ? request.getIds().size() : null)
+                .updated(updated)
+                .build();
     }
-} 
\ No newline at end of file
+}
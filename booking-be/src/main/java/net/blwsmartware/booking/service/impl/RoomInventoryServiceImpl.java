@@ -0,0 +1,117 @@
+package net.blwsmartware.booking.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import net.blwsmartware.booking.entity.RoomInventory;
+import net.blwsmartware.booking.event.InventoryChangedEvent;
+import net.blwsmartware.booking.exception.AppException;
+import net.blwsmartware.booking.exception.ErrorCode;
+import net.blwsmartware.booking.repository.RoomInventoryRepository;
+import net.blwsmartware.booking.service.RoomInventoryService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Per-night room inventory. Rooms are taken with one conditional UPDATE over the stay, which only touches nights
+ * that still have enough rooms; if it matched fewer rows than nights the caller's transaction rolls back. The
+ * database row lock is held for that single statement, so concurrent holds never oversell and never wait on
+ * each other for longer than one update.
+ */
+@Service
+@Slf4j
+public class RoomInventoryServiceImpl implements RoomInventoryService {
+
+    private static final int PREPARE_ATTEMPTS = 3;
+
+    private final RoomInventoryRepository roomInventoryRepository;
+    private final TransactionTemplate newTransaction;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public RoomInventoryServiceImpl(RoomInventoryRepository roomInventoryRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    ApplicationEventPublisher eventPublisher) {
+        this.roomInventoryRepository = roomInventoryRepository;
+        this.eventPublisher = eventPublisher;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void prepareNights(UUID roomTypeId, int capacity, LocalDate from, LocalDate to) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                newTransaction.executeWithoutResult(status -> insertMissingNights(roomTypeId, capacity, from, to));
+                return;
+            } catch (DataIntegrityViolationException e) {
+                // Another booking created some of the same nights first; theirs are as good as ours
+                if (attempt == PREPARE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reserve(UUID roomTypeId, LocalDate from, LocalDate to, int rooms) {
+        long nights = ChronoUnit.DAYS.between(from, to);
+        int reserved = roomInventoryRepository.reserve(roomTypeId, from, to, rooms);
+        if (reserved != nights) {
+            throw new AppException(ErrorCode.INSUFFICIENT_ROOMS_AVAILABLE);
+        }
+        eventPublisher.publishEvent(new InventoryChangedEvent(roomTypeId, from, to));
+    }
+
+    @Override
+    @Transactional
+    public void release(UUID roomTypeId, LocalDate from, LocalDate to, int rooms) {
+        long nights = ChronoUnit.DAYS.between(from, to);
+        int released = roomInventoryRepository.release(roomTypeId, from, to, rooms);
+        if (released != nights) {
+            log.warn("Released {} of {} nights for room type {} from {}", released, nights, roomTypeId, from);
+        }
+        eventPublisher.publishEvent(new InventoryChangedEvent(roomTypeId, from, to));
+    }
+
+    @Override
+    @Transactional
+    public void resize(UUID roomTypeId, int capacity) {
+        roomInventoryRepository.resize(roomTypeId, LocalDate.now(), capacity);
+    }
+
+    @Override
+    @Transactional
+    public void removeAll(List<UUID> roomTypeIds) {
+        if (!roomTypeIds.isEmpty()) {
+            roomInventoryRepository.deleteByRoomTypeIds(roomTypeIds);
+        }
+    }
+
+    private void insertMissingNights(UUID roomTypeId, int capacity, LocalDate from, LocalDate to) {
+        Set<LocalDate> existing = new HashSet<>(roomInventoryRepository.findNights(roomTypeId, from, to));
+        List<RoomInventory> missing = from.datesUntil(to)
+                .filter(night -> !existing.contains(night))
+                .map(night -> RoomInventory.builder()
+                        .roomTypeId(roomTypeId)
+                        .night(night)
+                        .capacity(capacity)
+                        .reserved(0)
+                        .build())
+                .toList();
+        if (!missing.isEmpty()) {
+            roomInventoryRepository.saveAllAndFlush(missing);
+        }
+    }
+}
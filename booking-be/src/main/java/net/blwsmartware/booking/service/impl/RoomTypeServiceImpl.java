@@ -9,30 +9,39 @@ import net.blwsmartware.booking.dto.response.DataResponse;
 import net.blwsmartware.booking.dto.response.RoomTypeResponse;
 import net.blwsmartware.booking.entity.Hotel;
 import net.blwsmartware.booking.entity.RoomType;
-import net.blwsmartware.booking.entity.User;
+import net.blwsmartware.booking.event.RoomTypeChangedEvent;
 import net.blwsmartware.booking.exception.AppException;
 import net.blwsmartware.booking.exception.ErrorCode;
 import net.blwsmartware.booking.mapper.RoomTypeMapper;
+import net.blwsmartware.booking.repository.BookingRepository;
 import net.blwsmartware.booking.repository.HotelRepository;
 import net.blwsmartware.booking.repository.RoomTypeRepository;
-import net.blwsmartware.booking.repository.UserRepository;
+import net.blwsmartware.booking.repository.keyset.KeysetQueryExecutor;
+import net.blwsmartware.booking.repository.keyset.KeysetRequest;
+import net.blwsmartware.booking.repository.keyset.KeysetSlice;
+import net.blwsmartware.booking.search.CatalogSearchIndex;
+import net.blwsmartware.booking.search.SearchResults;
+import net.blwsmartware.booking.security.CurrentUserResolver;
+import net.blwsmartware.booking.service.HotelStatisticsService;
+import net.blwsmartware.booking.service.RoomInventoryService;
 import net.blwsmartware.booking.service.RoomTypeService;
 import net.blwsmartware.booking.util.DataResponseUtils;
 import net.blwsmartware.booking.validator.IsAdmin;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 
 @Service
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 @Slf4j
@@ -40,14 +49,29 @@ public class RoomTypeServiceImpl implements RoomTypeService {
     
     RoomTypeRepository roomTypeRepository;
     HotelRepository hotelRepository;
-    UserRepository userRepository;
+    CurrentUserResolver currentUserResolver;
     RoomTypeMapper roomTypeMapper;
+    HotelStatisticsService hotelStatisticsService;
+    CatalogSearchIndex catalogSearchIndex;
+    KeysetQueryExecutor keysetQueryExecutor;
+    ApplicationEventPublisher eventPublisher;
+    BookingRepository bookingRepository;
+    RoomInventoryService roomInventoryService;
     
     @Override
     @IsAdmin
-    public DataResponse<RoomTypeResponse> getAllRoomTypes(Integer pageNumber, Integer pageSize, String sortBy) {
+    public DataResponse<RoomTypeResponse> getAllRoomTypes(Integer pageNumber, Integer pageSize, String sortBy,
+                                                          String cursor, Boolean skipCount) {
         log.info("Getting all room types with pagination: page={}, size={}, sortBy={}", pageNumber, pageSize, sortBy);
         
+        KeysetRequest request = KeysetRequest.of(pageNumber, pageSize, sortBy, Sort.Direction.DESC, cursor, skipCount);
+        if (!request.isPlainPage()) {
+            KeysetSlice<RoomType> slice = keysetQueryExecutor.fetch(RoomType.class, null, null, request);
+            return DataResponseUtils.convertSliceInfo(slice, slice.getContent().stream()
+                    .map(roomTypeMapper::toResponse)
+                    .toList());
+        }
+        
         Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).descending());
         Page<RoomType> roomTypePage = roomTypeRepository.findAll(pageable);
         
@@ -105,11 +129,13 @@ public class RoomTypeServiceImpl implements RoomTypeService {
         // Convert request to entity
         RoomType roomType = roomTypeMapper.toEntity(request);
         roomType.setHotel(hotel);
-        roomType.setCreatedBy(getCurrentUserId());
-        roomType.setUpdatedBy(getCurrentUserId());
+        roomType.setCreatedBy(currentUserResolver.getUserId());
+        roomType.setUpdatedBy(currentUserResolver.getUserId());
         
         // Save room type
         RoomType savedRoomType = roomTypeRepository.save(roomType);
+        hotelStatisticsService.refreshRoomTotals(hotel.getId());
+        eventPublisher.publishEvent(new RoomTypeChangedEvent(savedRoomType.getId(), hotel.getId()));
         
         return roomTypeMapper.toResponse(savedRoomType);
     }
@@ -131,10 +157,17 @@ public class RoomTypeServiceImpl implements RoomTypeService {
         }
         
         // Update room type
+        Integer previousTotalRooms = roomType.getTotalRooms();
         roomTypeMapper.updateEntity(roomType, request);
-        roomType.setUpdatedBy(getCurrentUserId());
+        roomType.setUpdatedBy(currentUserResolver.getUserId());
         
         RoomType updatedRoomType = roomTypeRepository.save(roomType);
+        if (!Objects.equals(previousTotalRooms, updatedRoomType.getTotalRooms())) {
+            roomInventoryService.resize(updatedRoomType.getId(),
+                    updatedRoomType.getTotalRooms() != null ? updatedRoomType.getTotalRooms() : 0);
+        }
+        hotelStatisticsService.refreshRoomTotals(updatedRoomType.getHotel().getId());
+        eventPublisher.publishEvent(new RoomTypeChangedEvent(updatedRoomType.getId(), updatedRoomType.getHotel().getId()));
         
         return roomTypeMapper.toResponse(updatedRoomType);
     }
@@ -148,10 +181,14 @@ public class RoomTypeServiceImpl implements RoomTypeService {
         RoomType roomType = roomTypeRepository.findById(id)
                 .orElseThrow(() -> new AppException(ErrorCode.ROOM_TYPE_NOT_FOUND));
         
-        // TODO: Check if room type has any bookings when booking entity is implemented
-        // For now, we'll allow deletion
+        if (bookingRepository.existsByRoomTypeId(id)) {
+            throw new AppException(ErrorCode.ROOM_TYPE_HAS_BOOKINGS);
+        }
         
+        roomInventoryService.removeAll(List.of(id));
         roomTypeRepository.delete(roomType);
+        hotelStatisticsService.refreshRoomTotals(roomType.getHotel().getId());
+        eventPublisher.publishEvent(new RoomTypeChangedEvent(id, roomType.getHotel().getId()));
     }
     
     @Override
@@ -164,9 +201,11 @@ public class RoomTypeServiceImpl implements RoomTypeService {
                 .orElseThrow(() -> new AppException(ErrorCode.ROOM_TYPE_NOT_FOUND));
         
         roomType.setActive(!roomType.isActive());
-        roomType.setUpdatedBy(getCurrentUserId());
+        roomType.setUpdatedBy(currentUserResolver.getUserId());
         
         RoomType updatedRoomType = roomTypeRepository.save(roomType);
+        hotelStatisticsService.refreshRoomTotals(updatedRoomType.getHotel().getId());
+        eventPublisher.publishEvent(new RoomTypeChangedEvent(updatedRoomType.getId(), updatedRoomType.getHotel().getId()));
         
         return roomTypeMapper.toResponse(updatedRoomType);
     }
@@ -229,8 +268,19 @@ public class RoomTypeServiceImpl implements RoomTypeService {
     public DataResponse<RoomTypeResponse> searchRoomTypes(String keyword, Integer pageNumber, Integer pageSize, String sortBy) {
         log.info("Searching room types with keyword: {}", keyword);
         
-        Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).descending());
-        Page<RoomType> roomTypePage = roomTypeRepository.searchByNameOrDescription(keyword, pageable);
+        Page<RoomType> roomTypePage;
+        if (!catalogSearchIndex.isReady()) {
+            // Index still building, fall back to the LIKE scan
+            String sort = SearchResults.RELEVANCE.equals(sortBy) ? "name" : sortBy;
+            roomTypePage = roomTypeRepository.searchByNameOrDescription(keyword,
+                    PageRequest.of(pageNumber, pageSize, Sort.by(sort).descending()));
+        } else if (SearchResults.RELEVANCE.equals(sortBy)) {
+            roomTypePage = SearchResults.rankedPage(catalogSearchIndex.searchRoomTypes(keyword), pageNumber, pageSize,
+                    roomTypeRepository::findByIdIn, RoomType::getId);
+        } else {
+            roomTypePage = roomTypeRepository.findByIdIn(catalogSearchIndex.searchRoomTypes(keyword),
+                    PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).descending()));
+        }
         
         List<RoomTypeResponse> roomTypeResponses = roomTypePage.getContent().stream()
                 .map(roomTypeMapper::toResponse)
@@ -310,17 +360,4 @@ public class RoomTypeServiceImpl implements RoomTypeService {
                 .orElseThrow(() -> new AppException(ErrorCode.HOTEL_NOT_FOUND));
         return roomTypeRepository.existsByNameAndHotel(name, hotel);
     }
-    
-    // Helper methods
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String userId = authentication.getName();
-        return userRepository.findById(UUID.fromString(userId))
-                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_FOUND));
-    }
-    
-    private UUID getCurrentUserId() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return UUID.fromString(authentication.getName());
-    }
 } 
\ No newline at end of file
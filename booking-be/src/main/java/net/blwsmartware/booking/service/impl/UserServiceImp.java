@@ -10,15 +10,21 @@ import net.blwsmartware.booking.dto.response.UserResponse;
 import net.blwsmartware.booking.entity.Role;
 import net.blwsmartware.booking.entity.User;
 import net.blwsmartware.booking.enums.ErrorResponse;
+import net.blwsmartware.booking.event.UserChangedEvent;
 import net.blwsmartware.booking.exception.IdentityRuntimeException;
 import net.blwsmartware.booking.exception.JwtAuthException;
 import net.blwsmartware.booking.mapper.UserMapper;
+import net.blwsmartware.booking.repository.ReviewHelpfulVoteRepository;
 import net.blwsmartware.booking.repository.RoleRepository;
 import net.blwsmartware.booking.repository.UserRepository;
+import net.blwsmartware.booking.repository.keyset.KeysetQueryExecutor;
+import net.blwsmartware.booking.repository.keyset.KeysetRequest;
+import net.blwsmartware.booking.repository.keyset.KeysetSlice;
 import net.blwsmartware.booking.service.EmailService;
 import net.blwsmartware.booking.service.UserService;
 import net.blwsmartware.booking.util.DataResponseUtils;
 import net.blwsmartware.booking.validator.IsAdmin;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -26,6 +32,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.JwtException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.*;
@@ -40,6 +47,9 @@ public class UserServiceImp implements UserService {
     UserMapper userMapper;
     PasswordEncoder passwordEncoder;
     EmailService emailService;
+    KeysetQueryExecutor keysetQueryExecutor;
+    ApplicationEventPublisher eventPublisher;
+    ReviewHelpfulVoteRepository reviewHelpfulVoteRepository;
 
     public static String generateRandomString(int length) {
         String characters = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
@@ -55,6 +65,7 @@ public class UserServiceImp implements UserService {
     }
 
     @Override
+    @Transactional
     public UserResponse createUser(UserRequest request) {
 
         if(userRepository.findByEmail(request.getEmail()).isPresent() ) {
@@ -110,6 +121,7 @@ public class UserServiceImp implements UserService {
             user.setEmailVerified(true);
             user.setCodeExpr(null);
             userRepository.save(user) ;
+            eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
         }
         else throw new IdentityRuntimeException(ErrorResponse.CODE_NOT_FOUND);
 
@@ -117,6 +129,7 @@ public class UserServiceImp implements UserService {
     }
 
     @Override
+    @Transactional
     public UserResponse resendCodeMail(ResendEmailRequest request) {
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new IdentityRuntimeException(ErrorResponse.EMAIL_EXISTED) );
@@ -127,6 +140,7 @@ public class UserServiceImp implements UserService {
         user.setCodeExpr(new Date(System.currentTimeMillis() + ( 5 * 60 * 1000 ) ));
 
         user = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
 
         if(user.getId()!=null ) {
 
@@ -161,6 +175,7 @@ public class UserServiceImp implements UserService {
             user.setCodeExpr(null);
             user.setPassword(passwordEncoder.encode(request.getPassword()));
             userRepository.save(user) ;
+            eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
 
         }
         else throw new IdentityRuntimeException(ErrorResponse.CODE_NOT_FOUND);
@@ -169,7 +184,15 @@ public class UserServiceImp implements UserService {
     }
 
     @Override
-    public DataResponse<UserResponse> getAll(Integer pageNumber, Integer pageSize, String sortBy) {
+    public DataResponse<UserResponse> getAll(Integer pageNumber, Integer pageSize, String sortBy,
+                                             String cursor, Boolean skipCount) {
+
+        KeysetRequest request = KeysetRequest.of(pageNumber, pageSize, sortBy, Sort.Direction.ASC, cursor, skipCount);
+        if (!request.isPlainPage()) {
+            KeysetSlice<User> slice = keysetQueryExecutor.fetch(User.class, null, null, request);
+            return DataResponseUtils.convertSliceInfo(slice,
+                    slice.getContent().stream().map(userMapper::toUserResponse).toList());
+        }
 
         Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).ascending());
         Page<User> pageOfUsers = userRepository.findAll(pageable);
@@ -206,7 +229,9 @@ public class UserServiceImp implements UserService {
 
         userMapper.updateUser(request,old);
         
-        return userMapper.toUserResponse(userRepository.save(old));
+        old = userRepository.save(old);
+        eventPublisher.publishEvent(new UserChangedEvent(old.getId()));
+        return userMapper.toUserResponse(old);
     }
 
     @Override
@@ -216,7 +241,9 @@ public class UserServiceImp implements UserService {
 
         userMapper.updateProfile(request, user);
         
-        return userMapper.toUserResponse(userRepository.save(user));
+        user = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
+        return userMapper.toUserResponse(user);
     }
 
     @Override
@@ -232,7 +259,9 @@ public class UserServiceImp implements UserService {
         // Update password
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         
-        return userMapper.toUserResponse(userRepository.save(user));
+        user = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
+        return userMapper.toUserResponse(user);
     }
 
     @Override
@@ -244,7 +273,9 @@ public class UserServiceImp implements UserService {
         // Admin can update password without current password verification
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         
-        return userMapper.toUserResponse(userRepository.save(user));
+        user = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
+        return userMapper.toUserResponse(user);
     }
 
     @Override
@@ -254,7 +285,9 @@ public class UserServiceImp implements UserService {
                 .orElseThrow(() -> new IdentityRuntimeException(ErrorResponse.USER_NOT_FOUND));
         var roles = roleRepository.findAllById(request.getRoleIds());
         old.setRoles(new HashSet<>(roles));
-        return userMapper.toUserResponse(userRepository.save(old));
+        old = userRepository.save(old);
+        eventPublisher.publishEvent(new UserChangedEvent(old.getId()));
+        return userMapper.toUserResponse(old);
     }
 
     @Override
@@ -263,12 +296,18 @@ public class UserServiceImp implements UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new IdentityRuntimeException(ErrorResponse.USER_NOT_FOUND));
         user.setEmailVerified(!user.isEmailVerified());
-        return userMapper.toUserResponse(userRepository.save(user));
+        user = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
+        return userMapper.toUserResponse(user);
     }
 
     @Override
+    @Transactional
     public void deleteUser(UUID id) {
+        // review_helpful_votes has no foreign keys to cascade from
+        reviewHelpfulVoteRepository.deleteByUserId(id);
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(new UserChangedEvent(id));
     }
 
     @Override
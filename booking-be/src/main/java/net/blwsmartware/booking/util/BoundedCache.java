@@ -0,0 +1,124 @@
+package net.blwsmartware.booking.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Small LRU read-through cache with hit/miss/eviction counters.
+ * Loads run outside the lock; a load that overlaps an invalidation is returned to the caller
+ * but not stored, so an invalidation can never be undone by a slow reader.
+ * Entries matching the optional expiry predicate are dropped on access and treated as misses.
+ */
+public class BoundedCache<K, V> {
+
+    private final String name;
+    private final int maxEntries;
+    private final LinkedHashMap<K, V> entries;
+    private final Predicate<V> expired;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private long generation;
+
+    public BoundedCache(String name, int maxEntries) {
+        this(name, maxEntries, value -> false);
+    }
+
+    public BoundedCache(String name, int maxEntries, Predicate<V> expired) {
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.expired = expired;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() > BoundedCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            V cached = entries.get(key);
+            if (cached != null && !expired.test(cached)) {
+                hits.increment();
+                return cached;
+            }
+            if (cached != null) {
+                entries.remove(key);
+                evictions.increment();
+            }
+            loadGeneration = generation;
+        }
+        misses.increment();
+
+        V loaded = loader.get();
+        if (loaded != null) {
+            synchronized (this) {
+                if (loadGeneration == generation) {
+                    entries.put(key, loaded);
+                }
+            }
+        }
+        return loaded;
+    }
+
+    public synchronized void invalidate(K key) {
+        generation++;
+        entries.remove(key);
+    }
+
+    public synchronized void invalidateIf(BiPredicate<K, V> predicate) {
+        generation++;
+        entries.entrySet().removeIf(entry -> predicate.test(entry.getKey(), entry.getValue()));
+    }
+
+    public synchronized void purgeExpired() {
+        entries.values().removeIf(value -> {
+            if (expired.test(value)) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+}
@@ -0,0 +1,46 @@
+package net.blwsmartware.booking.util;
+
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs a bulk change one transaction per chunk, so locks are held briefly and a large change never becomes one
+ * huge undo log. Explicit ids are processed in slices; otherwise the next matches of a filter are taken until a
+ * chunk comes back short. A filter must exclude rows already in the target state, or it would match them forever.
+ */
+public final class BulkUpdates {
+
+    private BulkUpdates() {
+    }
+
+    public record Chunk(int matched, int updated) {
+        public static final Chunk EMPTY = new Chunk(0, 0);
+    }
+
+    public static long run(List<UUID> ids, int chunkSize, TransactionTemplate transaction,
+                           Function<List<UUID>, Chunk> byIds, Supplier<Chunk> nextMatches) {
+        long updated = 0;
+        if (ids != null && !ids.isEmpty()) {
+            List<UUID> distinct = ids.stream().distinct().toList();
+            for (int from = 0; from < distinct.size(); from += chunkSize) {
+                List<UUID> slice = distinct.subList(from, Math.min(distinct.size(), from + chunkSize));
+                Chunk chunk = transaction.execute(status -> byIds.apply(slice));
+                updated += chunk != null ? chunk.updated() : 0;
+            }
+            return updated;
+        }
+        Chunk chunk;
+        do {
+            chunk = transaction.execute(status -> nextMatches.get());
+            if (chunk == null) {
+                break;
+            }
+            updated += chunk.updated();
+        } while (chunk.matched() == chunkSize && chunk.updated() > 0);
+        return updated;
+    }
+}
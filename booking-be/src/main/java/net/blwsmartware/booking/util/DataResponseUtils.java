@@ -1,6 +1,7 @@
 package net.blwsmartware.booking.util;
 
 import net.blwsmartware.booking.dto.response.DataResponse;
+import net.blwsmartware.booking.repository.keyset.KeysetSlice;
 import org.springframework.data.domain.Page;
 
 import java.util.List;
@@ -13,7 +14,24 @@ public class DataResponseUtils {
                 page.getTotalElements(),
                 page.getTotalPages(),
                 page.isLast(),
-                data
+                data,
+                null,
+                null
+        );
+    }
+
+    // Totals are -1 when the count was skipped
+    public static <T> DataResponse<T> convertSliceInfo(KeysetSlice<?> slice, List<T> data) {
+        Long total = slice.getTotalElements();
+        return new DataResponse<>(
+                slice.getPageNumber(),
+                slice.getPageSize(),
+                total != null ? total : -1,
+                total != null ? (int) Math.ceil((double) total / slice.getPageSize()) : -1,
+                !slice.isHasNext(),
+                data,
+                slice.getNextCursor(),
+                null
         );
     }
 
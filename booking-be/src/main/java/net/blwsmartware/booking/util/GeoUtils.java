@@ -0,0 +1,57 @@
+package net.blwsmartware.booking.util;
+
+public final class GeoUtils {
+
+    public static final double EARTH_RADIUS_KM = 6371.0;
+    // Half the circumference: no two points are further apart
+    public static final double MAX_DISTANCE_KM = Math.PI * EARTH_RADIUS_KM;
+
+    private GeoUtils() {
+    }
+
+    // Great-circle distance (haversine), numerically stable for short distances unlike acos
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    // Inverse of the last step of distanceKm: the haversine term of a point exactly radiusKm away
+    public static double haversineTerm(double radiusKm) {
+        double half = Math.sin(Math.min(radiusKm, MAX_DISTANCE_KM) / (2 * EARTH_RADIUS_KM));
+        return half * half;
+    }
+
+    public static boolean isValid(Double latitude, Double longitude) {
+        return latitude != null && longitude != null
+                && latitude >= -90 && latitude <= 90
+                && longitude >= -180 && longitude <= 180;
+    }
+
+    // Smallest lat/lng rectangle containing the circle; falls back to the full longitude range
+    // near the poles and across the antimeridian
+    public static BoundingBox boundingBox(double latitude, double longitude, double radiusKm) {
+        double angular = radiusKm / EARTH_RADIUS_KM;
+        double dLat = Math.toDegrees(angular);
+        double minLat = latitude - dLat;
+        double maxLat = latitude + dLat;
+
+        if (minLat <= -90 || maxLat >= 90 || angular >= Math.PI / 2) {
+            return new BoundingBox(Math.max(minLat, -90), Math.min(maxLat, 90), -180, 180);
+        }
+
+        double dLng = Math.toDegrees(Math.asin(Math.sin(angular) / Math.cos(Math.toRadians(latitude))));
+        double minLng = longitude - dLng;
+        double maxLng = longitude + dLng;
+        if (minLng < -180 || maxLng > 180) {
+            return new BoundingBox(minLat, maxLat, -180, 180);
+        }
+        return new BoundingBox(minLat, maxLat, minLng, maxLng);
+    }
+
+    public record BoundingBox(double minLat, double maxLat, double minLng, double maxLng) {
+    }
+}
@@ -0,0 +1,127 @@
+package net.blwsmartware.booking.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel: deadlines are dropped into one of a fixed number of slots and a single thread visits one
+ * slot per tick, so scheduling and cancelling are O(1) however many timers are pending. Timers fire up to one
+ * tick late, never early. Expired keys are handed to the consumer on the wheel thread.
+ */
+@Slf4j
+public class TimingWheel<K> {
+
+    private final long tickMillis;
+    private final List<Map<K, Long>> slots;
+    private final Map<K, Integer> slotOfKey = new HashMap<>();
+    private final Consumer<K> onExpiry;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ScheduledExecutorService ticker;
+    private final long startMillis;
+
+    private long currentTick;
+
+    public TimingWheel(String name, long tickMillis, int slotCount, Consumer<K> onExpiry) {
+        this.tickMillis = tickMillis;
+        this.onExpiry = onExpiry;
+        this.slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            slots.add(new HashMap<>());
+        }
+        this.startMillis = System.currentTimeMillis();
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.ticker.scheduleAtFixedRate(this::advance, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Replaces any deadline already scheduled for the key
+    public void schedule(K key, long deadlineMillis) {
+        lock.lock();
+        try {
+            long tick = Math.max(currentTick + 1, ceilDiv(deadlineMillis - startMillis, tickMillis));
+            removeLocked(key);
+            int slot = (int) (tick % slots.size());
+            slots.get(slot).put(key, tick);
+            slotOfKey.put(key, slot);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void cancel(K key) {
+        lock.lock();
+        try {
+            removeLocked(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return slotOfKey.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void stop() {
+        ticker.shutdownNow();
+    }
+
+    // Catches up on every tick that has passed, a slow consumer only delays the following ticks
+    private void advance() {
+        long targetTick = (System.currentTimeMillis() - startMillis) / tickMillis;
+        while (true) {
+            List<K> expired = new ArrayList<>();
+            lock.lock();
+            try {
+                if (currentTick >= targetTick) {
+                    return;
+                }
+                currentTick++;
+                Iterator<Map.Entry<K, Long>> entries = slots.get((int) (currentTick % slots.size())).entrySet().iterator();
+                while (entries.hasNext()) {
+                    Map.Entry<K, Long> entry = entries.next();
+                    // Later rounds of the wheel stay in the slot
+                    if (entry.getValue() <= currentTick) {
+                        entries.remove();
+                        slotOfKey.remove(entry.getKey());
+                        expired.add(entry.getKey());
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+            for (K key : expired) {
+                try {
+                    onExpiry.accept(key);
+                } catch (RuntimeException e) {
+                    // The owner is expected to have a fallback sweep, one failure must not stop the wheel
+                    log.warn("Timer for {} failed: {}", key, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void removeLocked(K key) {
+        Integer slot = slotOfKey.remove(key);
+        if (slot != null) {
+            slots.get(slot).remove(key);
+        }
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -Math.floorDiv(-x, y);
+    }
+}
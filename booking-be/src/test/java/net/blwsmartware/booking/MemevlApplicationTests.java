@@ -1,8 +1,10 @@
 package net.blwsmartware.booking;
 
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
+@Tag("integration")
 @SpringBootTest
 class MemevlApplicationTests {
 
@@ -0,0 +1,89 @@
+package net.blwsmartware.booking.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(new ReadYourWritesTracker(60_000));
+
+    @AfterEach
+    void reset() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void noTransactionGoesToPrimary() {
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void readOnlyTransactionGoesToReplica() {
+        transaction(true);
+
+        assertEquals(ReadWriteRoutingDataSource.REPLICA, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void readWriteTransactionGoesToPrimary() {
+        transaction(false);
+
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void readsStayOnPrimaryAfterOwnWrite() {
+        signIn("alice");
+        transaction(false);
+        routing.determineCurrentLookupKey();
+
+        transaction(true);
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+
+        // Someone else's reads are not affected
+        signIn("bob");
+        assertEquals(ReadWriteRoutingDataSource.REPLICA, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void readsReturnToReplicaAfterTheWindow() throws InterruptedException {
+        ReadWriteRoutingDataSource shortWindow = new ReadWriteRoutingDataSource(new ReadYourWritesTracker(1));
+        signIn("alice");
+        transaction(false);
+        shortWindow.determineCurrentLookupKey();
+
+        Thread.sleep(5);
+        transaction(true);
+        assertEquals(ReadWriteRoutingDataSource.REPLICA, shortWindow.determineCurrentLookupKey());
+    }
+
+    @Test
+    void primaryReadsBypassTheReplica() {
+        signIn("bob");
+        transaction(true);
+
+        Object inside = ReadWriteRoutingDataSource.readFromPrimary(routing::determineCurrentLookupKey);
+
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, inside);
+        assertEquals(ReadWriteRoutingDataSource.REPLICA, routing.determineCurrentLookupKey());
+    }
+
+    private static void transaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private static void signIn(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+}
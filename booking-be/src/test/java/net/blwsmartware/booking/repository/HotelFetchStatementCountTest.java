@@ -0,0 +1,169 @@
+package net.blwsmartware.booking.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import net.blwsmartware.booking.dto.response.HotelResponse;
+import net.blwsmartware.booking.entity.Hotel;
+import net.blwsmartware.booking.entity.Review;
+import net.blwsmartware.booking.entity.RoomType;
+import net.blwsmartware.booking.entity.User;
+import net.blwsmartware.booking.mapper.HotelMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Counts the statements of the hotel fetch plans: a page or a detail view costs the same however many owners,
+// room types and reviewers it maps. Needs the MySQL database from application.yaml, run with mvn test -P integration-tests
+@Tag("integration")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class HotelFetchStatementCountTest {
+
+    private static final int HOTELS = 5;
+    // Larger than any page here, so Spring Data skips the count query
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    HotelRepository hotelRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    HotelMapper hotelMapper;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    TransactionTemplate transaction;
+    Statistics statistics;
+
+    final List<User> users = new ArrayList<>();
+    final List<UUID> hotelIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // Every hotel has its own owner, the last one has several room types and reviewers
+        transaction.executeWithoutResult(status -> {
+            for (int i = 0; i < HOTELS; i++) {
+                Hotel hotel = hotel(user());
+                int children = i == HOTELS - 1 ? 3 : 1;
+                for (int j = 0; j < children; j++) {
+                    hotel.getRoomTypes().add(roomType(hotel));
+                    hotel.getReviews().add(review(hotel, user()));
+                }
+                hotelIds.add(hotelRepository.save(hotel).getId());
+            }
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        transaction.executeWithoutResult(status -> {
+            hotelRepository.deleteAll(hotelRepository.findAllById(hotelIds));
+            userRepository.deleteAll(users);
+        });
+    }
+
+    @Test
+    void hotelPageCostsTheSameForOneOrManyOwners() {
+        long one = statements(() -> page(hotelIds.subList(0, 1)));
+        long many = statements(() -> page(hotelIds));
+
+        assertEquals(one, many);
+        // Only the page query, owners are joined into it
+        assertEquals(1, many);
+    }
+
+    @Test
+    void detailViewCostsTheSameForOneOrManyRoomTypesAndReviewers() {
+        long one = statements(() -> detail(hotelIds.get(0)));
+        long many = statements(() -> detail(hotelIds.get(HOTELS - 1)));
+
+        assertEquals(one, many);
+        // Hotel with owner and room types, then one batch each for reviews and their users
+        assertTrue(many <= 3, "detail view took " + many + " statements");
+    }
+
+    private List<HotelResponse> page(List<UUID> ids) {
+        return hotelRepository.findByIdIn(ids, PageRequest.of(0, PAGE_SIZE)).getContent().stream()
+                .map(hotelMapper::toResponseWithoutRelations)
+                .toList();
+    }
+
+    private HotelResponse detail(UUID id) {
+        return hotelMapper.toResponse(hotelRepository.findDetailById(id).orElseThrow());
+    }
+
+    // Mapping runs inside the transaction, so lazy loads it triggers are counted too
+    private long statements(Supplier<?> load) {
+        statistics.clear();
+        transaction.execute(status -> load.get());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private User user() {
+        String name = "fetch-plan-" + UUID.randomUUID();
+        User user = userRepository.save(User.builder()
+                .name(name)
+                .username(name)
+                .email(name + "@example.com")
+                .build());
+        users.add(user);
+        return user;
+    }
+
+    private static Hotel hotel(User owner) {
+        return Hotel.builder()
+                .name("Fetch plan hotel")
+                .address("1 Test Street")
+                .city("Test City")
+                .owner(owner)
+                .isActive(true)
+                .pricePerNight(BigDecimal.valueOf(100))
+                .roomTypes(new ArrayList<>())
+                .reviews(new ArrayList<>())
+                .build();
+    }
+
+    private static RoomType roomType(Hotel hotel) {
+        return RoomType.builder()
+                .name("Double")
+                .maxOccupancy(2)
+                .totalRooms(1)
+                .availableRooms(1)
+                .isActive(true)
+                .hotel(hotel)
+                .build();
+    }
+
+    private static Review review(Hotel hotel, User user) {
+        return Review.builder()
+                .rating(5)
+                .isApproved(true)
+                .helpfulCount(0)
+                .hotel(hotel)
+                .user(user)
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package net.blwsmartware.booking.repository;
+
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import net.blwsmartware.booking.entity.Hotel;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.jpa.repository.EntityGraph;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HotelRepositoryFetchPlanTest {
+
+    private static final Set<String> OWNER_GRAPHS = Set.of("Hotel.list", "Hotel.detail");
+
+    // Every listing maps the owner, a page without the graph costs one owner query per hotel
+    @Test
+    void everyHotelPageFetchesTheOwner() {
+        List<String> missing = Arrays.stream(HotelRepository.class.getDeclaredMethods())
+                .filter(method -> Page.class.equals(method.getReturnType()))
+                .filter(method -> isOfHotels(method.getGenericReturnType()))
+                .filter(method -> !fetchesOwner(method))
+                .map(Method::getName)
+                .toList();
+
+        assertEquals(List.of(), missing);
+    }
+
+    @Test
+    void ownerGraphsIncludeTheOwner() {
+        NamedEntityGraph[] graphs = Hotel.class.getAnnotationsByType(NamedEntityGraph.class);
+
+        assertEquals(OWNER_GRAPHS.size(), Arrays.stream(graphs)
+                .filter(graph -> OWNER_GRAPHS.contains(graph.name()))
+                .filter(graph -> Arrays.stream(graph.attributeNodes()).map(NamedAttributeNode::value)
+                        .anyMatch("owner"::equals))
+                .count());
+    }
+
+    private static boolean isOfHotels(Type type) {
+        return type instanceof ParameterizedType page && Hotel.class.equals(page.getActualTypeArguments()[0]);
+    }
+
+    private static boolean fetchesOwner(Method method) {
+        EntityGraph graph = method.getAnnotation(EntityGraph.class);
+        if (graph == null) {
+            return false;
+        }
+        boolean named = OWNER_GRAPHS.contains(graph.value());
+        assertTrue(named || Arrays.asList(graph.attributePaths()).contains("owner"),
+                method.getName() + " has an entity graph without the owner");
+        return true;
+    }
+}
@@ -0,0 +1,43 @@
+package net.blwsmartware.booking.repository.keyset;
+
+import net.blwsmartware.booking.entity.Review;
+import net.blwsmartware.booking.exception.AppException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetCursorTest {
+
+    // Seeking with the cursor is covered against the database by KeysetQueryExecutorTest
+    @Test
+    void cursorRoundTripsTheLastRow() {
+        Review last = Review.builder()
+                .id(UUID.randomUUID())
+                .createdAt(LocalDateTime.of(2024, 5, 1, 10, 15, 30, 123_456_000))
+                .build();
+
+        KeysetCursor cursor = KeysetCursor.decode(KeysetQueryExecutor.cursorFor(last, "createdAt"));
+
+        assertEquals("createdAt", cursor.getSortBy());
+        assertEquals(last.getId(), cursor.getId());
+        assertEquals(last.getCreatedAt(), KeysetQueryExecutor.cursorValue(cursor.getValue(), LocalDateTime.class));
+    }
+
+    @Test
+    void convertsOtherSortTypes() {
+        assertEquals(new BigDecimal("1250000.50"), KeysetQueryExecutor.cursorValue("1250000.50", BigDecimal.class));
+        assertEquals(4, KeysetQueryExecutor.cursorValue("4", Integer.class));
+        assertEquals("Hà Nội", KeysetQueryExecutor.cursorValue("Hà Nội", String.class));
+    }
+
+    @Test
+    void rejectsUnreadableValues() {
+        assertThrows(AppException.class, () -> KeysetQueryExecutor.cursorValue("yesterday", LocalDateTime.class));
+        assertThrows(AppException.class, () -> KeysetCursor.decode("not a cursor"));
+    }
+}
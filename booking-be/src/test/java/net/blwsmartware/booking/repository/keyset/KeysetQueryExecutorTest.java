@@ -0,0 +1,108 @@
+package net.blwsmartware.booking.repository.keyset;
+
+import jakarta.persistence.EntityManager;
+import net.blwsmartware.booking.entity.RoomType;
+import net.blwsmartware.booking.repository.RoomTypeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Walks cursor pages over runs of equal and null sort values, so every page boundary is decided by the id tie-break
+// in the database's own order. Needs the MySQL database from application.yaml, run with mvn test -P integration-tests
+@Tag("integration")
+@SpringBootTest
+class KeysetQueryExecutorTest {
+
+    private static final int PAGE_SIZE = 2;
+    private static final List<BigDecimal> PRICES = Arrays.asList(
+            new BigDecimal("100.00"), new BigDecimal("100.00"), new BigDecimal("100.00"),
+            new BigDecimal("50.00"), new BigDecimal("50.00"), null, null);
+
+    @Autowired
+    KeysetQueryExecutor keysetQueryExecutor;
+
+    @Autowired
+    RoomTypeRepository roomTypeRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    final String marker = "keyset-" + UUID.randomUUID();
+    final List<RoomType> roomTypes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (BigDecimal price : PRICES) {
+            roomTypes.add(roomTypeRepository.save(RoomType.builder()
+                    .name(marker)
+                    .maxOccupancy(2)
+                    .pricePerNight(price)
+                    .build()));
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        roomTypeRepository.deleteAll(roomTypes);
+    }
+
+    @Test
+    void descendingCursorPagesMatchTheDatabaseOrder() {
+        assertEquals(ordered("DESC"), walk(Sort.Direction.DESC));
+    }
+
+    @Test
+    void ascendingCursorPagesMatchTheDatabaseOrder() {
+        assertEquals(ordered("ASC"), walk(Sort.Direction.ASC));
+    }
+
+    @Test
+    void firstCursorPageMatchesTheFirstOffsetPage() {
+        KeysetSlice<RoomType> cursorPage = fetch(Sort.Direction.DESC, "");
+        KeysetSlice<RoomType> offsetPage = fetch(Sort.Direction.DESC, null);
+
+        assertEquals(ids(offsetPage.getContent()), ids(cursorPage.getContent()));
+    }
+
+    private List<UUID> walk(Sort.Direction direction) {
+        List<UUID> seen = new ArrayList<>();
+        String cursor = "";
+        do {
+            KeysetSlice<RoomType> slice = fetch(direction, cursor);
+            seen.addAll(ids(slice.getContent()));
+            cursor = slice.getNextCursor();
+        } while (cursor != null && seen.size() <= PRICES.size());
+        return seen;
+    }
+
+    private KeysetSlice<RoomType> fetch(Sort.Direction direction, String cursor) {
+        Specification<RoomType> ours = (root, query, cb) -> cb.equal(root.get("name"), marker);
+        return keysetQueryExecutor.fetch(RoomType.class, ours, null,
+                KeysetRequest.of(0, PAGE_SIZE, "pricePerNight", direction, cursor, true));
+    }
+
+    // The order MySQL itself gives (pricePerNight, id), ids compared as stored rather than as Java UUIDs
+    private List<UUID> ordered(String direction) {
+        return entityManager.createQuery("SELECT rt.id FROM RoomType rt WHERE rt.name = :marker " +
+                        "ORDER BY rt.pricePerNight " + direction + ", rt.id " + direction, UUID.class)
+                .setParameter("marker", marker)
+                .getResultList();
+    }
+
+    private static List<UUID> ids(List<RoomType> rows) {
+        return rows.stream().map(RoomType::getId).toList();
+    }
+}
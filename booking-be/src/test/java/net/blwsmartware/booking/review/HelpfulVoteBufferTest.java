@@ -0,0 +1,159 @@
+package net.blwsmartware.booking.review;
+
+import net.blwsmartware.booking.entity.ReviewHelpfulVote;
+import net.blwsmartware.booking.repository.ReviewHelpfulVoteRepository;
+import net.blwsmartware.booking.repository.ReviewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HelpfulVoteBufferTest {
+
+    private static final int BATCH_SIZE = 100;
+    private static final int MAX_PENDING = 1000;
+    private static final int THREADS = 16;
+
+    @Mock
+    ReviewRepository reviewRepository;
+
+    @Mock
+    ReviewHelpfulVoteRepository voteRepository;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    HelpfulVoteBuffer buffer;
+
+    final UUID reviewId = UUID.randomUUID();
+    // Every row handed to saveAll, across flushes
+    final List<ReviewHelpfulVote> saved = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        buffer = new HelpfulVoteBuffer(reviewRepository, voteRepository, transactionManager, BATCH_SIZE, MAX_PENDING);
+    }
+
+    @Test
+    void concurrentDuplicateVotesCountOnce() throws Exception {
+        UUID userId = UUID.randomUUID();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Boolean>> votes = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            votes.add(executor.submit(() -> {
+                start.await();
+                return buffer.vote(reviewId, userId);
+            }));
+        }
+        start.countDown();
+        int accepted = 0;
+        for (Future<Boolean> vote : votes) {
+            accepted += vote.get(10, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        executor.shutdown();
+
+        assertEquals(1, accepted);
+        assertEquals(1, buffer.unflushed(reviewId));
+    }
+
+    @Test
+    void voteRacingAFlushIsWrittenOnce() throws Exception {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        reviewsExist();
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        when(voteRepository.saveAll(anyCollection())).thenAnswer(invocation -> {
+            writing.countDown();
+            resume.await(10, TimeUnit.SECONDS);
+            saved.addAll(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        assertTrue(buffer.vote(reviewId, first));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> flush = executor.submit(buffer::flush);
+        assertTrue(writing.await(10, TimeUnit.SECONDS));
+        // The first vote is being written but still pending, the second arrives mid-flush
+        assertFalse(buffer.vote(reviewId, first));
+        assertTrue(buffer.vote(reviewId, second));
+        resume.countDown();
+        flush.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertEquals(List.of(first, second), saved.stream().map(ReviewHelpfulVote::getUserId).toList());
+        assertEquals(0, buffer.unflushed(reviewId));
+    }
+
+    @Test
+    void failedFlushKeepsVotesPending() {
+        UUID userId = UUID.randomUUID();
+        reviewsExist();
+        when(voteRepository.saveAll(anyCollection()))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenAnswer(invocation -> {
+                    saved.addAll(invocation.getArgument(0));
+                    return invocation.getArgument(0);
+                });
+        assertTrue(buffer.vote(reviewId, userId));
+
+        buffer.flush();
+
+        assertEquals(1, buffer.unflushed(reviewId));
+        // Still pending, so a repeat is refused without asking the database
+        assertFalse(buffer.vote(reviewId, userId));
+        verify(reviewRepository, never()).addHelpfulVotes(anyCollection(), anyInt());
+
+        buffer.flush();
+
+        assertEquals(1, saved.size());
+        assertEquals(0, buffer.unflushed(reviewId));
+        verify(voteRepository, times(1)).existsByReviewIdAndUserId(reviewId, userId);
+    }
+
+    @Test
+    void unflushedReturnsToZeroOnceSettled() {
+        reviewsExist();
+        when(voteRepository.saveAll(anyCollection())).thenAnswer(invocation -> invocation.getArgument(0));
+        for (int i = 0; i < 3; i++) {
+            assertTrue(buffer.vote(reviewId, UUID.randomUUID()));
+        }
+        assertEquals(3, buffer.unflushed(reviewId));
+
+        buffer.flush();
+
+        assertEquals(0, buffer.unflushed(reviewId));
+        verify(reviewRepository).addHelpfulVotes(List.of(reviewId), 3);
+    }
+
+    // Nothing is stored yet and every voted review exists
+    private void reviewsExist() {
+        when(reviewRepository.findExistingIds(anyCollection()))
+                .thenAnswer(invocation -> new ArrayList<>(invocation.<Collection<UUID>>getArgument(0)));
+    }
+}
@@ -0,0 +1,100 @@
+package net.blwsmartware.booking.service;
+
+import net.blwsmartware.booking.entity.RoomInventory;
+import net.blwsmartware.booking.exception.AppException;
+import net.blwsmartware.booking.repository.RoomInventoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Needs the MySQL database from application.yaml; skipped by mvn test, run with mvn test -P integration-tests
+@Tag("integration")
+@SpringBootTest
+class RoomInventoryStressTest {
+
+    private static final int CAPACITY = 25;
+    private static final int ATTEMPTS = 2000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    RoomInventoryService roomInventoryService;
+
+    @Autowired
+    RoomInventoryRepository roomInventoryRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    final UUID roomTypeId = UUID.randomUUID();
+
+    @AfterEach
+    void cleanUp() {
+        roomInventoryService.removeAll(List.of(roomTypeId));
+    }
+
+    @Test
+    void concurrentHoldsNeverOversell() throws Exception {
+        LocalDate checkIn = LocalDate.now().plusDays(30);
+        LocalDate checkOut = checkIn.plusDays(3);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger soldOut = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            // Stays start on either of the first two nights and all of them include the second one
+            LocalDate from = checkIn.plusDays(i % 2);
+            LocalDate to = i % 3 == 0 ? checkOut : checkOut.minusDays(1);
+            futures.add(executor.submit(() -> {
+                start.await();
+                roomInventoryService.prepareNights(roomTypeId, CAPACITY, from, to);
+                try {
+                    transaction.executeWithoutResult(status -> roomInventoryService.reserve(roomTypeId, from, to, 1));
+                    succeeded.incrementAndGet();
+                } catch (AppException e) {
+                    soldOut.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(ATTEMPTS, succeeded.get() + soldOut.get());
+        List<RoomInventory> nights = roomInventoryRepository.findAll().stream()
+                .filter(night -> night.getRoomTypeId().equals(roomTypeId))
+                .toList();
+        assertEquals(3, nights.size());
+        for (RoomInventory night : nights) {
+            assertTrue(night.getReserved() <= night.getCapacity(), "night " + night.getNight() + " oversold");
+        }
+        RoomInventory sharedNight = nights.stream()
+                .filter(night -> night.getNight().equals(checkIn.plusDays(1)))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(CAPACITY, sharedNight.getReserved());
+        assertEquals(CAPACITY, succeeded.get());
+    }
+}
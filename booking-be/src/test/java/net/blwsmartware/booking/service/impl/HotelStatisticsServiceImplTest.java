@@ -0,0 +1,109 @@
+package net.blwsmartware.booking.service.impl;
+
+import jakarta.persistence.EntityManager;
+import net.blwsmartware.booking.entity.HotelStatistics;
+import net.blwsmartware.booking.exception.AppException;
+import net.blwsmartware.booking.repository.HotelRepository;
+import net.blwsmartware.booking.repository.HotelStatisticsRepository;
+import net.blwsmartware.booking.repository.ReviewRepository;
+import net.blwsmartware.booking.repository.RoomTypeRepository;
+import net.blwsmartware.booking.repository.projection.RoomTypeAggregate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class HotelStatisticsServiceImplTest {
+
+    private final UUID hotelId = UUID.randomUUID();
+
+    private HotelStatisticsRepository statisticsRepository;
+    private ReviewRepository reviewRepository;
+    private RoomTypeRepository roomTypeRepository;
+    private HotelStatisticsServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        statisticsRepository = mock(HotelStatisticsRepository.class);
+        reviewRepository = mock(ReviewRepository.class);
+        roomTypeRepository = mock(RoomTypeRepository.class);
+        service = new HotelStatisticsServiceImpl(statisticsRepository, mock(HotelRepository.class), roomTypeRepository,
+                reviewRepository, mock(TransactionTemplate.class), mock(EntityManager.class));
+        when(statisticsRepository.applyReviewDelta(any(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(),
+                anyLong(), anyLong())).thenReturn(1);
+    }
+
+    @Test
+    void approvalAddsOneReviewAndItsStars() {
+        service.reviewApproved(hotelId, 4);
+
+        verify(statisticsRepository).applyReviewDelta(hotelId, 1, 4, 0, 0, 0, 1, 0);
+    }
+
+    @Test
+    void withdrawalTakesThemBack() {
+        service.reviewWithdrawn(hotelId, 2);
+
+        verify(statisticsRepository).applyReviewDelta(hotelId, -1, -2, 0, -1, 0, 0, 0);
+    }
+
+    @Test
+    void ratingChangeMovesOneReviewBetweenBuckets() {
+        service.reviewRatingChanged(hotelId, 1, 5);
+
+        verify(statisticsRepository).applyReviewDelta(hotelId, 0, 4, -1, 0, 0, 0, 1);
+    }
+
+    @Test
+    void unchangedRatingWritesNothing() {
+        service.reviewRatingChanged(hotelId, 3, 3);
+        service.reviewsChanged(hotelId, new long[5]);
+
+        verifyNoInteractions(statisticsRepository);
+    }
+
+    @Test
+    void bulkDeltasSumPerBucket() {
+        // Two one-star reviews approved, one five-star withdrawn
+        service.reviewsChanged(hotelId, new long[]{2, 0, 0, 0, -1});
+
+        verify(statisticsRepository).applyReviewDelta(hotelId, 1, -3, 2, 0, 0, 0, -1);
+    }
+
+    @Test
+    void ratingOutsideOneToFiveIsRejected() {
+        assertThrows(AppException.class, () -> service.reviewApproved(hotelId, 0));
+        assertThrows(AppException.class, () -> service.reviewWithdrawn(hotelId, 6));
+
+        verifyNoInteractions(statisticsRepository);
+    }
+
+    @Test
+    void missingRowIsRecomputedInsteadOfUpdated() {
+        when(statisticsRepository.applyReviewDelta(eq(hotelId), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(),
+                anyLong(), anyLong())).thenReturn(0);
+        when(reviewRepository.aggregateApprovedByHotel(hotelId)).thenReturn(Optional.empty());
+        when(roomTypeRepository.aggregateByHotel(hotelId)).thenReturn(mock(RoomTypeAggregate.class));
+
+        service.reviewApproved(hotelId, 5);
+
+        ArgumentCaptor<HotelStatistics> saved = ArgumentCaptor.forClass(HotelStatistics.class);
+        verify(statisticsRepository).save(saved.capture());
+        assertEquals(hotelId, saved.getValue().getHotelId());
+        verify(statisticsRepository, never()).applyRoomTotals(any(), anyLong(), anyLong(), anyLong(), any(), any());
+    }
+}
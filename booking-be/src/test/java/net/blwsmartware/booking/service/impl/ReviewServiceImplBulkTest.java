@@ -0,0 +1,87 @@
+package net.blwsmartware.booking.service.impl;
+
+import net.blwsmartware.booking.dto.request.BulkReviewRequest;
+import net.blwsmartware.booking.exception.AppException;
+import net.blwsmartware.booking.exception.ErrorCode;
+import net.blwsmartware.booking.mapper.ReviewMapper;
+import net.blwsmartware.booking.repository.HotelRepository;
+import net.blwsmartware.booking.repository.ReviewHelpfulVoteRepository;
+import net.blwsmartware.booking.repository.ReviewRepository;
+import net.blwsmartware.booking.repository.UserRepository;
+import net.blwsmartware.booking.repository.keyset.KeysetQueryExecutor;
+import net.blwsmartware.booking.review.HelpfulVoteBuffer;
+import net.blwsmartware.booking.search.CatalogSearchIndex;
+import net.blwsmartware.booking.security.CurrentUserResolver;
+import net.blwsmartware.booking.service.HotelStatisticsService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+// A filter the action ignores must not pass as criteria, it would let the action match every review
+@ExtendWith(MockitoExtension.class)
+class ReviewServiceImplBulkTest {
+
+    @Mock
+    ReviewRepository reviewRepository;
+    @Mock
+    ReviewHelpfulVoteRepository reviewHelpfulVoteRepository;
+    @Mock
+    HotelRepository hotelRepository;
+    @Mock
+    UserRepository userRepository;
+    @Mock
+    CurrentUserResolver currentUserResolver;
+    @Mock
+    ReviewMapper reviewMapper;
+    @Mock
+    HotelStatisticsService hotelStatisticsService;
+    @Mock
+    CatalogSearchIndex catalogSearchIndex;
+    @Mock
+    KeysetQueryExecutor keysetQueryExecutor;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+    @Mock
+    TransactionTemplate transactionTemplate;
+    @Mock
+    HelpfulVoteBuffer helpfulVoteBuffer;
+
+    @InjectMocks
+    ReviewServiceImpl reviewService;
+
+    @Test
+    void approveWithOnlyIsApprovedIsRejected() {
+        BulkReviewRequest request = BulkReviewRequest.builder().isApproved(true).build();
+
+        assertRejected(() -> reviewService.bulkApproveReviews(request));
+    }
+
+    @Test
+    void disapproveWithOnlyIsApprovedIsRejected() {
+        BulkReviewRequest request = BulkReviewRequest.builder().isApproved(false).build();
+
+        assertRejected(() -> reviewService.bulkDisapproveReviews(request));
+    }
+
+    @Test
+    void verifyWithOnlyIsVerifiedIsRejected() {
+        BulkReviewRequest request = BulkReviewRequest.builder().isVerified(true).build();
+
+        assertRejected(() -> reviewService.bulkVerifyReviews(request));
+    }
+
+    private void assertRejected(Runnable action) {
+        AppException e = assertThrows(AppException.class, action::run);
+
+        assertEquals(ErrorCode.BULK_CRITERIA_REQUIRED, e.getErrorCode());
+        verifyNoInteractions(reviewRepository, transactionTemplate, hotelStatisticsService, eventPublisher);
+    }
+}